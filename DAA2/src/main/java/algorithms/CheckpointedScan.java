@@ -0,0 +1,171 @@
+package algorithms;
+
+import models.KadaneSummary;
+import models.LongSubarrayResult;
+import storage.ScanCheckpoint;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Restartable Kadane scan over a little-endian int32 file or stream.
+ * Every {@code checkpointInterval} elements the running {@link KadaneState}
+ * and byte offset are saved to a {@link ScanCheckpoint}; a later scan of the
+ * same input resumes from the newest checkpoint instead of from byte 0.
+ */
+public class CheckpointedScan {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path checkpointFile;
+    private final long checkpointInterval;
+    private final ScanCheckpoint.SyncMode syncMode;
+    private long resumedFromOffset;
+
+    /**
+     * @param checkpointInterval number of elements between checkpoints
+     */
+    public CheckpointedScan(Path checkpointFile, long checkpointInterval, ScanCheckpoint.SyncMode syncMode) {
+        if (checkpointFile == null || syncMode == null) {
+            throw new IllegalArgumentException("Checkpoint file and sync mode cannot be null");
+        }
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.checkpointFile = checkpointFile;
+        this.checkpointInterval = checkpointInterval;
+        this.syncMode = syncMode;
+    }
+
+    /**
+     * Scans a file, resuming if the checkpoint belongs to the same (unmodified) file
+     */
+    public LongSubarrayResult scanFile(Path input) throws IOException {
+        long size = Files.size(input);
+        if (size % Integer.BYTES != 0) {
+            throw new IOException("File size is not a multiple of 4 bytes: " + input);
+        }
+        long modified = Files.getLastModifiedTime(input).toMillis();
+
+        try (ScanCheckpoint checkpoint = ScanCheckpoint.open(checkpointFile, syncMode);
+             FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            ScanCheckpoint.Snapshot snapshot = checkpoint.load();
+            KadaneState state = resume(snapshot, size, modified);
+            if (snapshot != null && snapshot.complete && resumedFromOffset == size) {
+                return snapshot.summary.toResult();
+            }
+
+            long position = resumedFromOffset;
+            ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            int[] block = new int[BUFFER_BYTES / Integer.BYTES];
+            long nextCheckpoint = state.getCount() + checkpointInterval;
+
+            while (position < size) {
+                bytes.clear();
+                bytes.limit((int) Math.min(BUFFER_BYTES, size - position));
+                while (bytes.hasRemaining()) {
+                    if (channel.read(bytes, position + bytes.position()) < 0) {
+                        throw new EOFException("Input truncated during scan: " + input);
+                    }
+                }
+                bytes.flip();
+                int count = bytes.remaining() / Integer.BYTES;
+                bytes.asIntBuffer().get(block, 0, count);
+                state.accept(block, 0, count);
+                position += (long) count * Integer.BYTES;
+
+                if (state.getCount() >= nextCheckpoint) {
+                    checkpoint.save(size, modified, position, false, state.toSummary());
+                    nextCheckpoint = state.getCount() + checkpointInterval;
+                }
+            }
+
+            KadaneSummary summary = state.toSummary();
+            checkpoint.save(size, modified, position, true, summary);
+            return summary.toResult();
+        }
+    }
+
+    /**
+     * Scans a stream that always starts at the beginning of the same data; on
+     * resume the already-checkpointed prefix is skipped rather than re-scanned.
+     */
+    public LongSubarrayResult scanStream(InputStream in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream cannot be null");
+        }
+        try (ScanCheckpoint checkpoint = ScanCheckpoint.open(checkpointFile, syncMode)) {
+            ScanCheckpoint.Snapshot snapshot = checkpoint.load();
+            // streams carry no size/mtime, so -1 marks a stream checkpoint
+            KadaneState state = resume(snapshot, -1, -1);
+            if (snapshot != null && snapshot.complete && resumedFromOffset > 0) {
+                return snapshot.summary.toResult();
+            }
+            skipFully(in, resumedFromOffset);
+
+            long position = resumedFromOffset;
+            ByteBuffer bytes = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            int[] block = new int[BUFFER_BYTES / Integer.BYTES];
+            long nextCheckpoint = state.getCount() + checkpointInterval;
+
+            int read;
+            while ((read = in.read(bytes.array(), bytes.position(), bytes.remaining())) != -1) {
+                bytes.position(bytes.position() + read);
+                bytes.flip();
+                int count = bytes.remaining() / Integer.BYTES;
+                bytes.asIntBuffer().get(block, 0, count);
+                bytes.position(count * Integer.BYTES);
+                bytes.compact();
+                state.accept(block, 0, count);
+                position += (long) count * Integer.BYTES;
+
+                if (state.getCount() >= nextCheckpoint) {
+                    checkpoint.save(-1, -1, position, false, state.toSummary());
+                    nextCheckpoint = state.getCount() + checkpointInterval;
+                }
+            }
+            if (bytes.position() != 0) {
+                throw new IOException("Stream ended with a partial element (" + bytes.position() + " bytes)");
+            }
+
+            KadaneSummary summary = state.toSummary();
+            checkpoint.save(-1, -1, position, true, summary);
+            return summary.toResult();
+        }
+    }
+
+    private KadaneState resume(ScanCheckpoint.Snapshot snapshot, long size, long modified) {
+        resumedFromOffset = 0;
+        if (snapshot == null || snapshot.inputSize != size || snapshot.inputModified != modified) {
+            return new KadaneState(0);
+        }
+        resumedFromOffset = snapshot.byteOffset;
+        return KadaneState.resume(snapshot.summary);
+    }
+
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        while (bytes > 0) {
+            long skipped = in.skip(bytes);
+            if (skipped <= 0) {
+                if (in.read() == -1) {
+                    throw new EOFException("Stream shorter than checkpoint offset");
+                }
+                skipped = 1;
+            }
+            bytes -= skipped;
+        }
+    }
+
+    /**
+     * @return byte offset the last scan resumed from (0 for a fresh scan)
+     */
+    public long getResumedFromOffset() {
+        return resumedFromOffset;
+    }
+}
@@ -0,0 +1,222 @@
+package algorithms;
+
+import metrics.AllocationMeter;
+import metrics.PerformanceTracker;
+import metrics.SubarrayExecutionEvent;
+import models.KadaneSummary;
+import models.LongSubarrayResult;
+import storage.DeltaVarintFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Kadane's Algorithm over {@link DeltaVarintFile} series.
+ *
+ * Blocks lying entirely inside the queried range are merged straight from
+ * their header summaries without touching the payload; only the (at most two)
+ * partially covered boundary blocks are decoded, and decoding feeds each value
+ * into the scan as it is produced rather than materializing an array.
+ * The decoding scans re-derive every block summary from the payload and can
+ * run block-parallel.
+ *
+ * Time Complexity: O(b + s) for b blocks and s values in partial blocks;
+ *                  Θ(n) for the decoding scans
+ * Space Complexity: O(b) for the block index plus one payload buffer per worker
+ */
+public class CompactKadane {
+    private final PerformanceTracker performanceTracker;
+
+    public CompactKadane() {
+        this.performanceTracker = new PerformanceTracker("CompactKadane");
+    }
+
+    /**
+     * Maximum subarray of the whole series, from block headers alone
+     */
+    public LongSubarrayResult findMaximumSubarray(DeltaVarintFile file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Input file cannot be null");
+        }
+        return findMaximumSubarray(file, 0, file.length());
+    }
+
+    /**
+     * Maximum subarray of values [from, to): whole blocks are skip-merged,
+     * boundary blocks are decoded and scanned
+     */
+    public LongSubarrayResult findMaximumSubarray(DeltaVarintFile file, long from, long to) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Input file cannot be null");
+        }
+        if (from < 0 || to > file.length() || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ")");
+        }
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        KadaneSummary summary = KadaneSummary.empty(from);
+        if (from < to) {
+            // only boundary blocks are decoded; block-aligned ranges never need the buffer
+            ByteBuffer scratch = null;
+            int firstBlock = (int) (from / file.getBlockSize());
+            int lastBlock = (int) ((to - 1) / file.getBlockSize());
+            for (int b = firstBlock; b <= lastBlock; b++) {
+                long blockStart = file.getBlockStart(b);
+                long blockEnd = blockStart + file.getBlockLength(b);
+                if (from <= blockStart && blockEnd <= to) {
+                    summary = summary.merge(file.getBlockSummary(b));
+                } else {
+                    if (scratch == null) {
+                        scratch = ByteBuffer.allocate(file.maxPayloadBytes());
+                    }
+                    summary = summary.merge(scanBlock(file, b, Math.max(from, blockStart),
+                            Math.min(to, blockEnd), scratch));
+                }
+            }
+        }
+
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        record(to - from, executionTime, allocated, "compact", event, summary);
+        return summary.toResult();
+    }
+
+    /**
+     * Decodes and scans every block sequentially, ignoring stored summaries
+     */
+    public LongSubarrayResult findMaximumSubarrayDecoding(DeltaVarintFile file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Input file cannot be null");
+        }
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        ByteBuffer scratch = ByteBuffer.allocate(file.maxPayloadBytes());
+        KadaneSummary summary = KadaneSummary.empty(0);
+        for (int b = 0; b < file.getBlockCount(); b++) {
+            long blockStart = file.getBlockStart(b);
+            summary = summary.merge(scanBlock(file, b, blockStart, blockStart + file.getBlockLength(b), scratch));
+        }
+
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        record(file.length(), executionTime, allocated, "compact-decoding", event, summary);
+        return summary.toResult();
+    }
+
+    /**
+     * Decodes and scans blocks in parallel, merging their summaries in order
+     *
+     * @param parallelism number of worker threads
+     */
+    public LongSubarrayResult findMaximumSubarrayParallel(DeltaVarintFile file, int parallelism) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Input file cannot be null");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+
+        KadaneSummary summary;
+        try {
+            summary = WorkerPools.forParallelism(parallelism).invoke(new BlockTask(file, 0, file.getBlockCount()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // workers allocate on their own threads, out of reach of the per-thread counter
+        record(file.length(), System.nanoTime() - startTime, -1, "compact-parallel", event, summary);
+        return summary.toResult();
+    }
+
+    /**
+     * Fused decode-and-scan of values [from, to) of one block; values before
+     * {@code from} are decoded only to advance the delta chain
+     */
+    static KadaneSummary scanBlock(DeltaVarintFile file, int block, long from, long to,
+                                   ByteBuffer scratch) throws IOException {
+        ByteBuffer payload = file.readPayload(block, scratch);
+        long blockStart = file.getBlockStart(block);
+        int skip = (int) (from - blockStart);
+        int end = (int) (to - blockStart);
+
+        long previous = 0;
+        for (int i = 0; i < skip; i++) {
+            previous += DeltaVarintFile.unzigzag(DeltaVarintFile.readVarLong(payload));
+        }
+        KadaneState state = new KadaneState(from);
+        for (int i = skip; i < end; i++) {
+            previous += DeltaVarintFile.unzigzag(DeltaVarintFile.readVarLong(payload));
+            state.accept((int) previous);
+        }
+        return state.toSummary();
+    }
+
+    private static class BlockTask extends RecursiveTask<KadaneSummary> {
+        private static final long serialVersionUID = 1L;
+        /** Blocks per leaf task */
+        private static final int LEAF_BLOCKS = 4;
+
+        private final DeltaVarintFile file;
+        private final int fromBlock;
+        private final int toBlock;
+
+        BlockTask(DeltaVarintFile file, int fromBlock, int toBlock) {
+            this.file = file;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected KadaneSummary compute() {
+            if (toBlock - fromBlock <= LEAF_BLOCKS) {
+                ByteBuffer scratch = ByteBuffer.allocate(file.maxPayloadBytes());
+                KadaneSummary summary = KadaneSummary.empty(file.getBlockStart(fromBlock));
+                try {
+                    for (int b = fromBlock; b < toBlock; b++) {
+                        long blockStart = file.getBlockStart(b);
+                        summary = summary.merge(scanBlock(file, b, blockStart,
+                                blockStart + file.getBlockLength(b), scratch));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return summary;
+            }
+            int mid = (fromBlock + toBlock) >>> 1;
+            BlockTask left = new BlockTask(file, fromBlock, mid);
+            BlockTask right = new BlockTask(file, mid, toBlock);
+            left.fork();
+            KadaneSummary rightSummary = right.compute();
+            return left.join().merge(rightSummary);
+        }
+    }
+
+    private void record(long length, long executionTime, long allocated, String engine,
+                        SubarrayExecutionEvent event, KadaneSummary summary) {
+        int size = (int) Math.min(length, Integer.MAX_VALUE);
+        performanceTracker.recordExecution(size, executionTime, 0, 0, allocated, engine);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = length;
+            event.resultLength = summary.toResult().getSubarrayLength();
+            event.commit();
+        }
+    }
+
+    public PerformanceTracker getPerformanceTracker() {
+        return performanceTracker;
+    }
+}
@@ -0,0 +1,231 @@
+package algorithms;
+
+import metrics.AllocationMeter;
+import metrics.PerformanceTracker;
+import metrics.SubarrayExecutionEvent;
+import models.DeletionSubarrayResult;
+
+import java.util.Arrays;
+
+/**
+ * Maximum subarray when up to K elements inside the segment may be skipped.
+ *
+ * best[k] is the best sum of a segment ending at the current element using at
+ * most k deletions; it either extends best[k] by keeping the element, starts a
+ * new segment at it, or extends best[k-1] by deleting it. Only the previous row
+ * is needed, so the DP rolls over two O(K) primitive arrays. Once the winning
+ * segment is known, its optimal deletions are simply its K most negative
+ * elements, which a bounded heap recovers in O(len log K).
+ *
+ * Time Complexity: Θ(n·K)
+ * Space Complexity: O(K)
+ */
+public class DeletionKadane {
+    /** "No segment yet"; far enough from Long.MIN_VALUE that adding an int cannot wrap */
+    private static final long NONE = Long.MIN_VALUE / 4;
+
+    private final PerformanceTracker performanceTracker;
+
+    public DeletionKadane() {
+        this.performanceTracker = new PerformanceTracker("DeletionKadane");
+    }
+
+    /**
+     * Finds the maximum sum segment allowing up to {@code maxDeletions} skipped elements.
+     * At least one element is always kept, so any budget beyond n - 1 deletions
+     * is clamped to n - 1 and never sizes the DP rows.
+     *
+     * @throws ArithmeticException if the best sum does not fit in an int
+     */
+    public DeletionSubarrayResult findMaximumSubarray(int[] nums, int maxDeletions) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (maxDeletions < 0) {
+            throw new IllegalArgumentException("Number of deletions cannot be negative");
+        }
+        if (nums.length == 0) {
+            return new DeletionSubarrayResult(0, -1, -1, 0, 0, new int[0]);
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        int k = Math.min(maxDeletions, nums.length - 1);
+        long[] segment = k == 1 ? scanOneDeletion(nums) : scan(nums, k);
+        int start = (int) segment[1];
+        int end = (int) segment[2];
+        int[] deleted = mostNegative(nums, start, end, k);
+
+        int comparisons = (int) Math.min((long) nums.length * (2 + 2L * k), Integer.MAX_VALUE);
+        int arrayAccesses = nums.length + (end - start + 1);
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        // one label for every K above 1 keeps the tracker's engine set bounded
+        String engine = k <= 1 ? "deletions-" + k : "deletions-k";
+        performanceTracker.recordExecution(nums.length, executionTime, comparisons, arrayAccesses, allocated, engine);
+
+        DeletionSubarrayResult result = new DeletionSubarrayResult(Math.toIntExact(segment[0]), start, end,
+                comparisons, arrayAccesses, deleted);
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = nums.length;
+            event.comparisons = comparisons;
+            event.arrayAccesses = arrayAccesses;
+            event.resultLength = result.getSubarrayLength();
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * General O(n·K) DP; returns {bestSum, start, end}
+     */
+    private static long[] scan(int[] nums, int maxDeletions) {
+        long[] best = new long[maxDeletions + 1];
+        int[] start = new int[maxDeletions + 1];
+        Arrays.fill(best, NONE);
+
+        long maxSoFar = Long.MIN_VALUE;
+        int bestStart = -1;
+        int bestEnd = -1;
+
+        for (int i = 0; i < nums.length; i++) {
+            long x = nums[i];
+            // descending k so best[k - 1] still holds the previous element's value
+            for (int k = maxDeletions; k >= 0; k--) {
+                long value = best[k] + x;
+                int from = start[k];
+                if (value < x) {
+                    value = x;
+                    from = i;
+                }
+                if (k > 0 && best[k - 1] > value) {
+                    value = best[k - 1];
+                    from = start[k - 1];
+                }
+                best[k] = value;
+                start[k] = from;
+            }
+            if (best[maxDeletions] > maxSoFar) {
+                maxSoFar = best[maxDeletions];
+                bestStart = start[maxDeletions];
+                bestEnd = i;
+            }
+        }
+        return new long[]{maxSoFar, bestStart, bestEnd};
+    }
+
+    /**
+     * K = 1 specialization: the two DP rows collapse into scalars
+     */
+    private static long[] scanOneDeletion(int[] nums) {
+        long keep = NONE;      // at most 0 deletions, ends at i
+        int keepStart = 0;
+        long skip = NONE;      // at most 1 deletion, ends at i
+        int skipStart = 0;
+
+        long maxSoFar = Long.MIN_VALUE;
+        int bestStart = -1;
+        int bestEnd = -1;
+
+        for (int i = 0; i < nums.length; i++) {
+            long x = nums[i];
+
+            long nextSkip = skip + x;
+            int nextSkipStart = skipStart;
+            if (nextSkip < x) {
+                nextSkip = x;
+                nextSkipStart = i;
+            }
+            if (keep > nextSkip) {
+                nextSkip = keep;
+                nextSkipStart = keepStart;
+            }
+
+            if (keep + x < x) {
+                keep = x;
+                keepStart = i;
+            } else {
+                keep += x;
+            }
+
+            skip = nextSkip;
+            skipStart = nextSkipStart;
+            if (skip > maxSoFar) {
+                maxSoFar = skip;
+                bestStart = skipStart;
+                bestEnd = i;
+            }
+        }
+        return new long[]{maxSoFar, bestStart, bestEnd};
+    }
+
+    /**
+     * Positions of up to k most negative elements in [start, end], ascending.
+     * Uses a bounded max-heap on (value, index) held in two int arrays.
+     */
+    static int[] mostNegative(int[] nums, int start, int end, int k) {
+        if (k == 0 || start == end) {
+            return new int[0];
+        }
+        int[] heapValues = new int[k];
+        int[] heapIndices = new int[k];
+        int size = 0;
+
+        for (int i = start; i <= end; i++) {
+            int value = nums[i];
+            if (value >= 0) continue;
+            if (size < k) {
+                heapValues[size] = value;
+                heapIndices[size] = i;
+                siftUp(heapValues, heapIndices, size++);
+            } else if (value < heapValues[0]) {
+                heapValues[0] = value;
+                heapIndices[0] = i;
+                siftDown(heapValues, heapIndices, size);
+            }
+        }
+
+        int[] deleted = Arrays.copyOf(heapIndices, size);
+        Arrays.sort(deleted);
+        return deleted;
+    }
+
+    private static void siftUp(int[] values, int[] indices, int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (values[parent] >= values[pos]) break;
+            swap(values, indices, parent, pos);
+            pos = parent;
+        }
+    }
+
+    private static void siftDown(int[] values, int[] indices, int size) {
+        int pos = 0;
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) break;
+            int largest = left + 1 < size && values[left + 1] > values[left] ? left + 1 : left;
+            if (values[pos] >= values[largest]) break;
+            swap(values, indices, pos, largest);
+            pos = largest;
+        }
+    }
+
+    private static void swap(int[] values, int[] indices, int a, int b) {
+        int v = values[a];
+        values[a] = values[b];
+        values[b] = v;
+        int idx = indices[a];
+        indices[a] = indices[b];
+        indices[b] = idx;
+    }
+
+    public PerformanceTracker getPerformanceTracker() {
+        return performanceTracker;
+    }
+}
@@ -0,0 +1,261 @@
+package algorithms;
+
+import metrics.AllocationMeter;
+import metrics.PerformanceTracker;
+import metrics.SubarrayExecutionEvent;
+import models.DoubleSubarrayResult;
+
+/**
+ * Kadane's Algorithm specialized for {@code double[]} and {@code float[]} series.
+ * Each element type has its own hand-written loop (no boxing or generic
+ * dispatch), and operation counts are derived after the loop rather than
+ * incremented per element.
+ *
+ * Non-finite values:
+ * - NaN never belongs to a result; it ends the current segment.
+ * - +Infinity makes any segment containing it sum to +Infinity.
+ * - A running sum that becomes NaN (+Infinity meeting -Infinity) restarts the segment.
+ * - An input with no NaN-free maximum (e.g. all -Infinity) returns its first
+ *   non-NaN element; an all-NaN input returns an empty subarray with a NaN sum.
+ *
+ * The Kahan variants carry a compensation term for the running segment sum,
+ * trading ~4 extra flops per element for error independent of segment length.
+ *
+ * Time Complexity: Θ(n)
+ * Space Complexity: O(1) auxiliary space
+ */
+public class FloatingPointKadane {
+    private final PerformanceTracker performanceTracker;
+
+    public FloatingPointKadane() {
+        this.performanceTracker = new PerformanceTracker("FloatingPointKadane");
+    }
+
+    /**
+     * Finds the contiguous subarray with maximum sum
+     */
+    public DoubleSubarrayResult findMaximumSubarray(double[] nums) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (nums.length == 0) {
+            return new DoubleSubarrayResult(0, -1, -1, 0, 0);
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        double maxSoFar = Double.NEGATIVE_INFINITY;
+        double maxEndingHere = Double.NEGATIVE_INFINITY;
+        int start = -1;
+        int end = -1;
+        int tempStart = 0;
+
+        for (int i = 0; i < nums.length; i++) {
+            double x = nums[i];
+            double candidate = maxEndingHere + x;
+            // written as >= so that a NaN candidate restarts the segment
+            if (candidate >= x) {
+                maxEndingHere = candidate;
+            } else {
+                maxEndingHere = x;
+                tempStart = i;
+            }
+            if (maxEndingHere > maxSoFar) {
+                maxSoFar = maxEndingHere;
+                start = tempStart;
+                end = i;
+            }
+        }
+
+        return finish(nums.length, start, end, maxSoFar, firstNonNaN(nums), allocatedBefore, startTime, event,
+                "double");
+    }
+
+    /**
+     * Same as {@link #findMaximumSubarray(double[])} with Kahan-compensated segment sums
+     */
+    public DoubleSubarrayResult findMaximumSubarrayKahan(double[] nums) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (nums.length == 0) {
+            return new DoubleSubarrayResult(0, -1, -1, 0, 0);
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        double maxSoFar = Double.NEGATIVE_INFINITY;
+        double maxEndingHere = Double.NEGATIVE_INFINITY;
+        double compensation = 0;
+        int start = -1;
+        int end = -1;
+        int tempStart = 0;
+
+        for (int i = 0; i < nums.length; i++) {
+            double x = nums[i];
+            double y = x - compensation;
+            double candidate = maxEndingHere + y;
+            if (candidate >= x) {
+                compensation = (candidate - maxEndingHere) - y;
+                maxEndingHere = candidate;
+            } else {
+                maxEndingHere = x;
+                compensation = 0;
+                tempStart = i;
+            }
+            if (maxEndingHere > maxSoFar) {
+                maxSoFar = maxEndingHere;
+                start = tempStart;
+                end = i;
+            }
+        }
+
+        return finish(nums.length, start, end, maxSoFar, firstNonNaN(nums), allocatedBefore, startTime, event,
+                "double-kahan");
+    }
+
+    /**
+     * Finds the contiguous subarray with maximum sum, accumulating in {@code float}
+     */
+    public DoubleSubarrayResult findMaximumSubarray(float[] nums) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (nums.length == 0) {
+            return new DoubleSubarrayResult(0, -1, -1, 0, 0);
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        float maxSoFar = Float.NEGATIVE_INFINITY;
+        float maxEndingHere = Float.NEGATIVE_INFINITY;
+        int start = -1;
+        int end = -1;
+        int tempStart = 0;
+
+        for (int i = 0; i < nums.length; i++) {
+            float x = nums[i];
+            float candidate = maxEndingHere + x;
+            if (candidate >= x) {
+                maxEndingHere = candidate;
+            } else {
+                maxEndingHere = x;
+                tempStart = i;
+            }
+            if (maxEndingHere > maxSoFar) {
+                maxSoFar = maxEndingHere;
+                start = tempStart;
+                end = i;
+            }
+        }
+
+        return finish(nums.length, start, end, maxSoFar, firstNonNaN(nums), allocatedBefore, startTime, event,
+                "float");
+    }
+
+    /**
+     * Same as {@link #findMaximumSubarray(float[])} with Kahan-compensated segment sums
+     */
+    public DoubleSubarrayResult findMaximumSubarrayKahan(float[] nums) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (nums.length == 0) {
+            return new DoubleSubarrayResult(0, -1, -1, 0, 0);
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        float maxSoFar = Float.NEGATIVE_INFINITY;
+        float maxEndingHere = Float.NEGATIVE_INFINITY;
+        float compensation = 0;
+        int start = -1;
+        int end = -1;
+        int tempStart = 0;
+
+        for (int i = 0; i < nums.length; i++) {
+            float x = nums[i];
+            float y = x - compensation;
+            float candidate = maxEndingHere + y;
+            if (candidate >= x) {
+                compensation = (candidate - maxEndingHere) - y;
+                maxEndingHere = candidate;
+            } else {
+                maxEndingHere = x;
+                compensation = 0;
+                tempStart = i;
+            }
+            if (maxEndingHere > maxSoFar) {
+                maxSoFar = maxEndingHere;
+                start = tempStart;
+                end = i;
+            }
+        }
+
+        return finish(nums.length, start, end, maxSoFar, firstNonNaN(nums), allocatedBefore, startTime, event,
+                "float-kahan");
+    }
+
+    private DoubleSubarrayResult finish(int n, int start, int end, double maxSoFar, int firstNonNaN,
+                                        long allocatedBefore, long startTime, SubarrayExecutionEvent event,
+                                        String engine) {
+        if (end == -1) {
+            // no segment beat -Infinity: every element is NaN or -Infinity
+            if (firstNonNaN == -1) {
+                maxSoFar = Double.NaN;
+            } else {
+                start = firstNonNaN;
+                end = firstNonNaN;
+            }
+        }
+
+        // Same counting convention as KadaneAlgorithm: two comparisons and two reads per element
+        int comparisons = 2 * n;
+        int arrayAccesses = 2 * n;
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        performanceTracker.recordExecution(n, executionTime, comparisons, arrayAccesses, allocated, engine);
+
+        DoubleSubarrayResult result = new DoubleSubarrayResult(maxSoFar, start, end, comparisons, arrayAccesses);
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = n;
+            event.comparisons = comparisons;
+            event.arrayAccesses = arrayAccesses;
+            event.resultLength = result.getSubarrayLength();
+            event.commit();
+        }
+        return result;
+    }
+
+    private static int firstNonNaN(double[] nums) {
+        for (int i = 0; i < nums.length; i++) {
+            if (!Double.isNaN(nums[i])) return i;
+        }
+        return -1;
+    }
+
+    private static int firstNonNaN(float[] nums) {
+        for (int i = 0; i < nums.length; i++) {
+            if (!Float.isNaN(nums[i])) return i;
+        }
+        return -1;
+    }
+
+    public PerformanceTracker getPerformanceTracker() {
+        return performanceTracker;
+    }
+}
@@ -1,7 +1,13 @@
 package algorithms;
 
+import models.LongSubarrayResult;
 import models.SubarrayResult;
+import metrics.AllocationMeter;
 import metrics.PerformanceTracker;
+import metrics.SubarrayExecutionEvent;
+import storage.IntSource;
+
+import java.io.IOException;
 
 /**
  * Implementation of Kadane's Algorithm for finding maximum subarray sum
@@ -11,12 +17,25 @@ import metrics.PerformanceTracker;
  * Space Complexity: O(1) auxiliary space
  */
 public class KadaneAlgorithm {
+    /** 4,096 ints = 16 KiB chunk for {@link IntSource} scans, sized to stay in L1 */
+    static final int SOURCE_CHUNK = 4096;
+
     private int comparisons;
     private int arrayAccesses;
     private PerformanceTracker performanceTracker;
 
     public KadaneAlgorithm() {
-        this.performanceTracker = new PerformanceTracker("KadaneAlgorithm");
+        this(new PerformanceTracker("KadaneAlgorithm"));
+    }
+
+    /**
+     * Creates an engine that reports into a shared tracker, e.g. one per server
+     */
+    public KadaneAlgorithm(PerformanceTracker performanceTracker) {
+        if (performanceTracker == null) {
+            throw new IllegalArgumentException("Performance tracker cannot be null");
+        }
+        this.performanceTracker = performanceTracker;
     }
 
     /**
@@ -33,6 +52,9 @@ public class KadaneAlgorithm {
         comparisons = 0;
         arrayAccesses = 0;
 
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
         long startTime = System.nanoTime();
 
         int maxSoFar = nums[0];
@@ -65,11 +87,14 @@ public class KadaneAlgorithm {
 
         long endTime = System.nanoTime();
         long executionTime = endTime - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
 
         performanceTracker.recordExecution(nums.length, executionTime, comparisons,
-                arrayAccesses, 0, "standard");
+                arrayAccesses, allocated, "standard");
 
-        return new SubarrayResult(maxSoFar, start, end, comparisons, arrayAccesses);
+        SubarrayResult result = new SubarrayResult(maxSoFar, start, end, comparisons, arrayAccesses);
+        commitEvent(event, "standard", nums.length, result);
+        return result;
     }
 
     /**
@@ -86,6 +111,9 @@ public class KadaneAlgorithm {
         comparisons = 0;
         arrayAccesses = 0;
 
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
         long startTime = System.nanoTime();
 
         int maxSoFar = nums[0];
@@ -122,11 +150,14 @@ public class KadaneAlgorithm {
 
         long endTime = System.nanoTime();
         long executionTime = endTime - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
 
         performanceTracker.recordExecution(nums.length, executionTime, comparisons,
-                arrayAccesses, 0, "detailed");
+                arrayAccesses, allocated, "detailed");
 
-        return new SubarrayResult(maxSoFar, start, end, comparisons, arrayAccesses);
+        SubarrayResult result = new SubarrayResult(maxSoFar, start, end, comparisons, arrayAccesses);
+        commitEvent(event, "detailed", nums.length, result);
+        return result;
     }
 
     /**
@@ -140,6 +171,9 @@ public class KadaneAlgorithm {
         comparisons = 0;
         arrayAccesses = 0;
 
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+
         int maxSoFar = 0;
         int maxEndingHere = 0;
         int start = -1;
@@ -166,7 +200,123 @@ public class KadaneAlgorithm {
             }
         }
 
-        return new SubarrayResult(maxSoFar, start, end, comparisons, arrayAccesses);
+        SubarrayResult result = new SubarrayResult(maxSoFar, start, end, comparisons, arrayAccesses);
+        commitEvent(event, "allowEmpty", nums.length, result);
+        return result;
+    }
+
+    /**
+     * Finds the maximum subarray of any {@link IntSource} (buffer, mapped file,
+     * stream, generator) without materializing it: values are pulled in
+     * L1-sized chunks into one reused scratch array and fed to a {@link KadaneState}.
+     * Sums and indices are 64-bit, so sources longer than an int[] work too.
+     */
+    public LongSubarrayResult findMaximumSubarrayFrom(IntSource source) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("Input source cannot be null");
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        KadaneState state = new KadaneState(0);
+        int[] chunk = new int[SOURCE_CHUNK];
+        int count;
+        while ((count = source.read(chunk, 0, SOURCE_CHUNK)) > 0) {
+            state.accept(chunk, 0, count);
+        }
+        LongSubarrayResult result = state.toSummary().toResult();
+
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        long values = state.getCount();
+        recordSource(event, "source", values, KadaneState.COMPARISONS_PER_VALUE * values, values,
+                executionTime, allocated, result);
+        return result;
+    }
+
+    /**
+     * {@link #findMaximumSubarrayAllowEmpty} over an {@link IntSource}: returns
+     * sum 0 with indices -1 when no segment is positive, and breaks ties the
+     * same way as the array version
+     */
+    public LongSubarrayResult findMaximumSubarrayAllowEmptyFrom(IntSource source) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("Input source cannot be null");
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        long maxSoFar = 0;
+        long maxEndingHere = 0;
+        long start = -1;
+        long end = -1;
+        long tempStart = 0;
+        long index = 0;
+        int[] chunk = new int[SOURCE_CHUNK];
+        int count;
+        while ((count = source.read(chunk, 0, SOURCE_CHUNK)) > 0) {
+            for (int k = 0; k < count; k++, index++) {
+                long value = chunk[k];
+                if (maxEndingHere + value <= 0) {
+                    maxEndingHere = 0;
+                    tempStart = index + 1;
+                } else {
+                    maxEndingHere += value;
+                }
+                if (maxEndingHere > maxSoFar) {
+                    maxSoFar = maxEndingHere;
+                    start = tempStart;
+                    end = index;
+                }
+            }
+        }
+        LongSubarrayResult result = new LongSubarrayResult(maxSoFar, start, end);
+
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        recordSource(event, "allowEmpty-source", index, 2 * index, index, executionTime, allocated, result);
+        return result;
+    }
+
+    private void recordSource(SubarrayExecutionEvent event, String engine, long values, long valueComparisons,
+                              long valueAccesses, long executionTime, long allocated, LongSubarrayResult result) {
+        // PerformanceRecord counts are int; longer sources saturate
+        int size = (int) Math.min(values, Integer.MAX_VALUE);
+        comparisons = (int) Math.min(valueComparisons, Integer.MAX_VALUE);
+        arrayAccesses = (int) Math.min(valueAccesses, Integer.MAX_VALUE);
+        performanceTracker.recordExecution(size, executionTime, comparisons, arrayAccesses, allocated, engine);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = values;
+            event.comparisons = valueComparisons;
+            event.arrayAccesses = valueAccesses;
+            event.resultLength = result.getSubarrayLength();
+            event.commit();
+        }
+    }
+
+    /**
+     * Ends the JFR event and commits it only when a recording has it enabled
+     */
+    private static void commitEvent(SubarrayExecutionEvent event, String engine,
+                                    int inputSize, SubarrayResult result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = inputSize;
+            event.comparisons = result.getComparisons();
+            event.arrayAccesses = result.getArrayAccesses();
+            event.resultLength = result.getSubarrayLength();
+            event.commit();
+        }
     }
 
     /**
@@ -0,0 +1,144 @@
+package algorithms;
+
+import models.KadaneSummary;
+
+/**
+ * Mutable O(1) Kadane scan state with 64-bit sums and indices.
+ * Values are fed in order, either one by one or in blocks; the state can be
+ * snapshotted to a {@link KadaneSummary} at any point and resumed from one later,
+ * so chunked, streaming and restartable scans all share this loop.
+ */
+public class KadaneState {
+    /** Prefix, restart and best checks made for every accepted value */
+    public static final int COMPARISONS_PER_VALUE = 3;
+
+    private final long offset;
+    private long count;
+    private long total;
+    private long bestPrefix;
+    private long prefixEnd;
+    private long maxEndingHere;
+    private long currentStart;
+    private long best;
+    private long bestStart;
+    private long bestEnd;
+
+    /**
+     * Starts an empty scan whose first value has absolute index {@code offset}
+     */
+    public KadaneState(long offset) {
+        this.offset = offset;
+        this.bestPrefix = Long.MIN_VALUE;
+        this.prefixEnd = -1;
+        this.currentStart = offset;
+        this.best = Long.MIN_VALUE;
+        this.bestStart = -1;
+        this.bestEnd = -1;
+    }
+
+    /**
+     * Resumes a scan from a previously taken snapshot
+     */
+    public static KadaneState resume(KadaneSummary summary) {
+        KadaneState state = new KadaneState(summary.offset);
+        if (!summary.isEmpty()) {
+            state.count = summary.length;
+            state.total = summary.total;
+            state.bestPrefix = summary.bestPrefix;
+            state.prefixEnd = summary.prefixEnd;
+            // the best suffix is exactly Kadane's running maxEndingHere
+            state.maxEndingHere = summary.bestSuffix;
+            state.currentStart = summary.suffixStart;
+            state.best = summary.best;
+            state.bestStart = summary.bestStart;
+            state.bestEnd = summary.bestEnd;
+        }
+        return state;
+    }
+
+    public void accept(long value) {
+        long index = offset + count;
+        count++;
+        total += value;
+        if (total > bestPrefix) {
+            bestPrefix = total;
+            prefixEnd = index;
+        }
+        if (maxEndingHere < 0) {
+            maxEndingHere = value;
+            currentStart = index;
+        } else {
+            maxEndingHere += value;
+        }
+        if (maxEndingHere > best) {
+            best = maxEndingHere;
+            bestStart = currentStart;
+            bestEnd = index;
+        }
+    }
+
+    /**
+     * Feeds {@code len} values from {@code block} starting at {@code off}
+     */
+    public void accept(int[] block, int off, int len) {
+        long index = offset + count;
+        long total = this.total;
+        long bestPrefix = this.bestPrefix;
+        long prefixEnd = this.prefixEnd;
+        long maxEndingHere = this.maxEndingHere;
+        long currentStart = this.currentStart;
+        long best = this.best;
+        long bestStart = this.bestStart;
+        long bestEnd = this.bestEnd;
+
+        int end = off + len;
+        for (int k = off; k < end; k++, index++) {
+            long value = block[k];
+            total += value;
+            if (total > bestPrefix) {
+                bestPrefix = total;
+                prefixEnd = index;
+            }
+            if (maxEndingHere < 0) {
+                maxEndingHere = value;
+                currentStart = index;
+            } else {
+                maxEndingHere += value;
+            }
+            if (maxEndingHere > best) {
+                best = maxEndingHere;
+                bestStart = currentStart;
+                bestEnd = index;
+            }
+        }
+
+        this.count += len;
+        this.total = total;
+        this.bestPrefix = bestPrefix;
+        this.prefixEnd = prefixEnd;
+        this.maxEndingHere = maxEndingHere;
+        this.currentStart = currentStart;
+        this.best = best;
+        this.bestStart = bestStart;
+        this.bestEnd = bestEnd;
+    }
+
+    public KadaneSummary toSummary() {
+        if (count == 0) {
+            return KadaneSummary.empty(offset);
+        }
+        return new KadaneSummary(offset, count, total, bestPrefix, prefixEnd,
+                maxEndingHere, currentStart, best, bestStart, bestEnd);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return absolute index of the next value to be accepted
+     */
+    public long getNextIndex() {
+        return offset + count;
+    }
+}
@@ -0,0 +1,200 @@
+package algorithms;
+
+import models.LongSubarrayResult;
+
+/**
+ * Open-addressing hash table from {@code long} keys to running Kadane state,
+ * laid out as parallel primitive arrays (struct of arrays) with linear probing.
+ * Each slot holds seven longs and a boolean, 57 bytes; since the table doubles
+ * at 0.6 load and so runs between 0.3 and 0.6 full, a key costs about 95 to
+ * 190 bytes of table space instead of an engine object, a tracker and their
+ * boxed map entry.
+ *
+ * Not thread-safe; {@link KeyedKadane} stripes several tables behind locks.
+ */
+public class KadaneStateTable {
+    private static final float MAX_LOAD = 0.6f;
+
+    private long[] keys;
+    private boolean[] used;
+    /** Values seen per key, i.e. the next per-key index */
+    private long[] counts;
+    private long[] endingHere;
+    private long[] currentStarts;
+    private long[] bests;
+    private long[] bestStarts;
+    private long[] bestEnds;
+    private int mask;
+    private int size;
+
+    public KadaneStateTable(int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("Expected key count cannot be negative");
+        }
+        int capacity = Integer.highestOneBit(Math.max(8, (int) Math.min(1 << 30, expectedKeys / MAX_LOAD)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Feeds the next value of series {@code key}, creating it on first use
+     */
+    public void accept(long key, long value) {
+        int slot = findOrInsert(key);
+        long index = counts[slot]++;
+        if (index == 0 || endingHere[slot] < 0) {
+            endingHere[slot] = value;
+            currentStarts[slot] = index;
+        } else {
+            endingHere[slot] += value;
+        }
+        if (index == 0 || endingHere[slot] > bests[slot]) {
+            bests[slot] = endingHere[slot];
+            bestStarts[slot] = currentStarts[slot];
+            bestEnds[slot] = index;
+        }
+    }
+
+    /**
+     * Current best segment of {@code key}, indices counted within that series;
+     * null if the key has not been seen
+     */
+    public LongSubarrayResult query(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        return new LongSubarrayResult(bests[slot], bestStarts[slot], bestEnds[slot]);
+    }
+
+    /**
+     * Number of values seen for {@code key}, 0 if unknown
+     */
+    public long count(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    public boolean remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        used[slot] = false;
+        size--;
+        // backward-shift deletion keeps probe chains intact without tombstones
+        int hole = slot;
+        for (int next = (slot + 1) & mask; used[next]; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                move(next, hole);
+                hole = next;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    private int find(long key) {
+        for (int slot = hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int findOrInsert(long key) {
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size + 1 > keys.length * MAX_LOAD) {
+            grow();
+            return findOrInsert(key);
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        counts[slot] = 0;
+        size++;
+        return slot;
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        used[to] = true;
+        used[from] = false;
+        counts[to] = counts[from];
+        endingHere[to] = endingHere[from];
+        currentStarts[to] = currentStarts[from];
+        bests[to] = bests[from];
+        bestStarts[to] = bestStarts[from];
+        bestEnds[to] = bestEnds[from];
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        long[] oldCounts = counts;
+        long[] oldEndingHere = endingHere;
+        long[] oldCurrentStarts = currentStarts;
+        long[] oldBests = bests;
+        long[] oldBestStarts = bestStarts;
+        long[] oldBestEnds = bestEnds;
+        allocate(oldKeys.length * 2);
+
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (!oldUsed[old]) continue;
+            int slot = hash(oldKeys[old]) & mask;
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = oldKeys[old];
+            counts[slot] = oldCounts[old];
+            endingHere[slot] = oldEndingHere[old];
+            currentStarts[slot] = oldCurrentStarts[old];
+            bests[slot] = oldBests[old];
+            bestStarts[slot] = oldBestStarts[old];
+            bestEnds[slot] = oldBestEnds[old];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        counts = new long[capacity];
+        endingHere = new long[capacity];
+        currentStarts = new long[capacity];
+        bests = new long[capacity];
+        bestStarts = new long[capacity];
+        bestEnds = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * MurmurHash3 finalizer; sequential sensor IDs would otherwise cluster
+     */
+    static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    @Override
+    public String toString() {
+        return "KadaneStateTable[size=" + size + ", capacity=" + keys.length + "]";
+    }
+}
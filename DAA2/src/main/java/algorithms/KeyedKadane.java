@@ -0,0 +1,162 @@
+package algorithms;
+
+import metrics.AllocationMeter;
+import metrics.PerformanceTracker;
+import models.LongSubarrayResult;
+
+/**
+ * Running maximum subarray for many independent series, one per {@code long}
+ * key. State lives in {@link KadaneStateTable} stripes selected by key hash;
+ * each stripe has its own lock, so threads ingesting different keys rarely
+ * contend. Batches are bucketed by stripe first (a stable counting sort, so
+ * per-key order is preserved) and each stripe is locked once per batch.
+ *
+ * Time Complexity: O(1) expected per update and query
+ * Space Complexity: O(k) for k keys
+ */
+public class KeyedKadane {
+    private final KadaneStateTable[] stripes;
+    private final int stripeShift;
+    private final PerformanceTracker performanceTracker;
+
+    /**
+     * @param stripes      number of independently locked tables, rounded up to a power of two
+     * @param expectedKeys total keys to presize for
+     */
+    public KeyedKadane(int stripes, int expectedKeys) {
+        if (stripes <= 0 || stripes > 1 << 16) {
+            throw new IllegalArgumentException("Stripe count must be in [1, 65536]");
+        }
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("Expected key count cannot be negative");
+        }
+        int count = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new KadaneStateTable[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new KadaneStateTable(expectedKeys / count);
+        }
+        // stripe from the top hash bits; the tables index with the bottom bits
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(count);
+        this.performanceTracker = new PerformanceTracker("KeyedKadane");
+    }
+
+    public KeyedKadane() {
+        this(Runtime.getRuntime().availableProcessors() * 4, 1024);
+    }
+
+    /**
+     * Feeds one value to series {@code key}
+     */
+    public void accept(long key, int value) {
+        KadaneStateTable stripe = stripes[stripeOf(key)];
+        synchronized (stripe) {
+            stripe.accept(key, value);
+        }
+    }
+
+    /**
+     * Feeds {@code len} (key, value) pairs; values of the same key are applied in batch order
+     */
+    public void accept(long[] keys, int[] values, int off, int len) {
+        if (keys == null || values == null) {
+            throw new IllegalArgumentException("Batch arrays cannot be null");
+        }
+        if (off < 0 || len < 0 || off + len > keys.length || off + len > values.length) {
+            throw new IndexOutOfBoundsException("Invalid batch range");
+        }
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+        if (stripes.length == 1) {
+            KadaneStateTable stripe = stripes[0];
+            synchronized (stripe) {
+                for (int i = off; i < off + len; i++) {
+                    stripe.accept(keys[i], values[i]);
+                }
+            }
+        } else {
+            int[] starts = new int[stripes.length + 1];
+            int[] stripeIds = new int[len];
+            for (int i = 0; i < len; i++) {
+                stripeIds[i] = stripeOf(keys[off + i]);
+                starts[stripeIds[i] + 1]++;
+            }
+            for (int s = 0; s < stripes.length; s++) {
+                starts[s + 1] += starts[s];
+            }
+            int[] order = new int[len];
+            int[] fill = starts.clone();
+            for (int i = 0; i < len; i++) {
+                order[fill[stripeIds[i]]++] = off + i;
+            }
+            for (int s = 0; s < stripes.length; s++) {
+                if (starts[s] == starts[s + 1]) continue;
+                KadaneStateTable stripe = stripes[s];
+                synchronized (stripe) {
+                    for (int k = starts[s]; k < starts[s + 1]; k++) {
+                        int i = order[k];
+                        stripe.accept(keys[i], values[i]);
+                    }
+                }
+            }
+        }
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        performanceTracker.recordExecution(len, executionTime, 0, 2 * len, allocated, "keyed-batch");
+    }
+
+    /**
+     * Current best segment of series {@code key} (indices within that series),
+     * or null if the key is unknown
+     */
+    public LongSubarrayResult query(long key) {
+        KadaneStateTable stripe = stripes[stripeOf(key)];
+        synchronized (stripe) {
+            return stripe.query(key);
+        }
+    }
+
+    /**
+     * Values received so far for {@code key}
+     */
+    public long count(long key) {
+        KadaneStateTable stripe = stripes[stripeOf(key)];
+        synchronized (stripe) {
+            return stripe.count(key);
+        }
+    }
+
+    /**
+     * Forgets a series, e.g. a decommissioned sensor
+     */
+    public boolean remove(long key) {
+        KadaneStateTable stripe = stripes[stripeOf(key)];
+        synchronized (stripe) {
+            return stripe.remove(key);
+        }
+    }
+
+    /**
+     * Number of keys; a moment-in-time sum across stripes
+     */
+    public long size() {
+        long size = 0;
+        for (KadaneStateTable stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    private int stripeOf(long key) {
+        return stripes.length == 1 ? 0 : KadaneStateTable.hash(key) >>> stripeShift;
+    }
+
+    public PerformanceTracker getPerformanceTracker() {
+        return performanceTracker;
+    }
+}
@@ -0,0 +1,474 @@
+package algorithms;
+
+import metrics.AllocationMeter;
+import metrics.PerformanceTracker;
+import metrics.SubarrayExecutionEvent;
+import models.SubarrayResult;
+import storage.PrefixSumIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Maximum subarray whose length lies in [minLength, maxLength].
+ *
+ * With prefix sums P, the best segment ending before position j is
+ * P[j] - min{P[i] : j - maxLength <= i <= j - minLength}. The sliding window
+ * minimum is kept in a monotonic deque stored in a primitive int[] ring
+ * buffer, so every index is pushed and popped at most once.
+ *
+ * Every query also accepts a prebuilt {@link PrefixSumIndex}, so repeated
+ * queries over one dataset skip the O(n) prefix-sum setup.
+ *
+ * The parallel variant splits end positions into chunks. Narrow windows
+ * re-read up to maxLength prefix values per chunk to warm a private deque;
+ * windows too wide for that use van Herk/Gil-Werman block minima instead:
+ * start indices are cut into blocks of the window width, each block gets
+ * prefix and suffix argmin arrays, and any window minimum is one suffix
+ * entry combined with one prefix entry. Chunks then need no warm-up and can
+ * be far smaller than maxLength, at the cost of two int arrays of length n.
+ *
+ * Time Complexity: Θ(n)
+ * Space Complexity: O(n) for prefix sums + O(maxLength - minLength) for the deque
+ */
+public class LengthConstrainedKadane {
+    private final PerformanceTracker performanceTracker;
+    private int comparisons;
+    private int arrayAccesses;
+
+    public LengthConstrainedKadane() {
+        this.performanceTracker = new PerformanceTracker("LengthConstrainedKadane");
+    }
+
+    /**
+     * Finds the maximum sum segment with minLength <= length <= maxLength.
+     * Returns an empty result if the array is shorter than minLength.
+     *
+     * @throws ArithmeticException if the best sum does not fit in an int
+     */
+    public SubarrayResult findMaximumSubarray(int[] nums, int minLength, int maxLength) {
+        validate(nums, minLength, maxLength);
+        if (nums.length < minLength) {
+            return new SubarrayResult(0, -1, -1, 0, 0);
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        long[] prefix = prefixSums(nums);
+        return search(prefix, nums.length, minLength, maxLength, nums.length, allocatedBefore,
+                startTime, event, "length-constrained");
+    }
+
+    /**
+     * Same query over a prebuilt index; no prefix sums are recomputed
+     *
+     * @throws ArithmeticException if the best sum does not fit in an int
+     */
+    public SubarrayResult findMaximumSubarray(PrefixSumIndex index, int minLength, int maxLength) {
+        validate(index, minLength, maxLength);
+        if (index.length() < minLength) {
+            return new SubarrayResult(0, -1, -1, 0, 0);
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        return search(index.getPrefixArray(), index.length(), minLength, maxLength, 0, allocatedBefore,
+                startTime, event, "length-constrained-indexed");
+    }
+
+    /**
+     * @param setupReads prefix-sum build reads to include in the access count
+     */
+    private SubarrayResult search(long[] prefix, int n, int minLength, int maxLength, int setupReads,
+                                  long allocatedBefore, long startTime, SubarrayExecutionEvent event,
+                                  String engine) {
+        int upper = Math.min(maxLength, n);
+        long[] best = {Long.MIN_VALUE, -1, -1, 0, 0};
+        scan(prefix, minLength, n + 1, minLength, upper, best);
+
+        comparisons = (int) best[3];
+        arrayAccesses = (int) best[4] + setupReads;
+        return finish(n, best, allocatedBefore, startTime, event, engine);
+    }
+
+    /**
+     * Parallel variant: segment end positions are split into about
+     * 4 · parallelism chunks that are scanned independently on a shared pool
+     *
+     * @throws ArithmeticException if the best sum does not fit in an int
+     */
+    public SubarrayResult findMaximumSubarrayParallel(int[] nums, int minLength, int maxLength,
+                                                      int parallelism) {
+        validate(nums, minLength, maxLength);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        return findMaximumSubarrayParallel(nums, minLength, maxLength, parallelism,
+                defaultChunk(nums.length, minLength, parallelism));
+    }
+
+    /**
+     * Parallel query with an explicit chunk size, for tuning and for
+     * exercising chunk boundaries on small inputs
+     *
+     * @param chunkSize end positions per task; chunks narrower than four
+     *                  windows switch to block minima
+     * @throws ArithmeticException if the best sum does not fit in an int
+     */
+    public SubarrayResult findMaximumSubarrayParallel(int[] nums, int minLength, int maxLength,
+                                                      int parallelism, int chunkSize) {
+        validate(nums, minLength, maxLength);
+        if (parallelism <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
+        if (nums.length < minLength) {
+            return new SubarrayResult(0, -1, -1, 0, 0);
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+
+        ForkJoinPool pool = WorkerPools.forParallelism(parallelism);
+        long[] prefix = new long[nums.length + 1];
+        // Arrays' parallel operations fork into the pool of the calling worker,
+        // so running them inside a pool task keeps them off the common pool
+        pool.submit(() -> {
+            Arrays.parallelSetAll(prefix, i -> i == 0 ? 0 : nums[i - 1]);
+            Arrays.parallelPrefix(prefix, Long::sum);
+        }).join();
+        return searchParallel(prefix, nums.length, minLength, maxLength, pool, chunkSize, nums.length,
+                startTime, event, "length-constrained-parallel");
+    }
+
+    /**
+     * Parallel query over a prebuilt index
+     *
+     * @throws ArithmeticException if the best sum does not fit in an int
+     */
+    public SubarrayResult findMaximumSubarrayParallel(PrefixSumIndex index, int minLength, int maxLength,
+                                                      int parallelism) {
+        validate(index, minLength, maxLength);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (index.length() < minLength) {
+            return new SubarrayResult(0, -1, -1, 0, 0);
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+
+        return searchParallel(index.getPrefixArray(), index.length(), minLength, maxLength,
+                WorkerPools.forParallelism(parallelism), defaultChunk(index.length(), minLength, parallelism), 0,
+                startTime, event, "length-constrained-indexed-parallel");
+    }
+
+    private static int defaultChunk(int n, int minLength, int parallelism) {
+        long ends = (long) n + 1 - minLength;
+        return (int) Math.max(1, (ends + parallelism * 4L - 1) / (parallelism * 4L));
+    }
+
+    private SubarrayResult searchParallel(long[] prefix, int n, int minLength, int maxLength, ForkJoinPool pool,
+                                          int chunk, int setupReads, long startTime, SubarrayExecutionEvent event,
+                                          String engine) {
+        if (chunk <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        int upper = Math.min(maxLength, n);
+        int firstEnd = minLength;
+        int lastEnd = n + 1;
+        long[] best = {Long.MIN_VALUE, -1, -1, 0, 0};
+
+        // a deque warm-up of up to maxLength re-reads is fine while it stays below ~25% of the chunk
+        boolean wide = upper * 4L > chunk;
+        int[] left = null;
+        int[] right = null;
+        if (wide) {
+            int starts = n - minLength + 1;
+            int window = upper - minLength + 1;
+            left = new int[starts];
+            right = new int[starts];
+            int[] leftMin = left;
+            int[] rightMin = right;
+            long blocksPerTask = Math.max(1, (long) chunk / window);
+            List<Callable<long[]>> builds = new ArrayList<>();
+            for (long from = 0; from < starts; from += blocksPerTask * window) {
+                final int iFrom = (int) from;
+                final int iTo = (int) Math.min(from + blocksPerTask * window, starts);
+                builds.add(() -> blockMinima(prefix, iFrom, iTo, window, leftMin, rightMin));
+            }
+            collect(pool, builds, best);
+        }
+
+        int[] leftMin = left;
+        int[] rightMin = right;
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        for (long from = firstEnd; from < lastEnd; from += chunk) {
+            final int jFrom = (int) from;
+            final int jTo = (int) Math.min(from + chunk, lastEnd);
+            tasks.add(() -> {
+                long[] local = {Long.MIN_VALUE, -1, -1, 0, 0};
+                if (leftMin != null) {
+                    scanBlocks(prefix, jFrom, jTo, minLength, upper, leftMin, rightMin, local);
+                } else {
+                    scan(prefix, jFrom, jTo, minLength, upper, local);
+                }
+                return local;
+            });
+        }
+        collect(pool, tasks, best);
+
+        comparisons = (int) Math.min(best[3], Integer.MAX_VALUE);
+        arrayAccesses = (int) Math.min(best[4] + setupReads, Integer.MAX_VALUE);
+        // workers allocate on their own threads, out of reach of the per-thread counter
+        return finish(n, best, -1, startTime, event, engine);
+    }
+
+    /**
+     * Runs tasks on the pool and folds their {bestSum, start, end, comparisons,
+     * prefixReads} results into {@code best}; tasks are in order, so strict >
+     * keeps the earliest segment on ties
+     */
+    private static void collect(ForkJoinPool pool, List<Callable<long[]>> tasks, long[] best) {
+        try {
+            for (Future<long[]> future : pool.invokeAll(tasks)) {
+                long[] local = future.get();
+                if (local[0] > best[0]) {
+                    best[0] = local[0];
+                    best[1] = local[1];
+                    best[2] = local[2];
+                }
+                best[3] += local[3];
+                best[4] += local[4];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during parallel scan", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel scan failed", e.getCause());
+        }
+    }
+
+    /**
+     * Fills, for the start indices [iFrom, iTo) (whole blocks of {@code window}),
+     * left[i] = argmin of prefix over [blockStart, i] and right[i] = argmin over
+     * [i, blockEnd]. Ties pick the later index, matching the deque in {@link #scan}.
+     *
+     * @return {MIN_VALUE, -1, -1, comparisons, prefixReads}
+     */
+    static long[] blockMinima(long[] prefix, int iFrom, int iTo, int window, int[] left, int[] right) {
+        for (int blockStart = iFrom; blockStart < iTo; blockStart += window) {
+            int blockEnd = Math.min(blockStart + window, iTo) - 1;
+            left[blockStart] = blockStart;
+            for (int i = blockStart + 1; i <= blockEnd; i++) {
+                left[i] = prefix[i] <= prefix[left[i - 1]] ? i : left[i - 1];
+            }
+            right[blockEnd] = blockEnd;
+            for (int i = blockEnd - 1; i >= blockStart; i--) {
+                right[i] = prefix[i] < prefix[right[i + 1]] ? i : right[i + 1];
+            }
+        }
+        long count = iTo - iFrom;
+        return new long[]{Long.MIN_VALUE, -1, -1, 2 * count, 4 * count};
+    }
+
+    /**
+     * Scans end positions j in [jFrom, jTo) using block minima from
+     * {@link #blockMinima}: the start window [j - maxLength, j - minLength]
+     * is a block prefix when it starts on a block edge, otherwise the suffix
+     * of one block followed by a prefix of the next.
+     * out = {bestSum, start, end, comparisons, prefixReads}
+     */
+    static void scanBlocks(long[] prefix, int jFrom, int jTo, int minLength, int maxLength,
+                           int[] left, int[] right, long[] out) {
+        int window = maxLength - minLength + 1;
+        long best = out[0];
+        int bestStart = (int) out[1];
+        int bestEnd = (int) out[2];
+        long comparisons = 0;
+        long reads = 0;
+
+        for (int j = jFrom; j < jTo; j++) {
+            int a = Math.max(0, j - maxLength);
+            int startIdx = left[j - minLength];
+            if (a % window != 0) {
+                int suffixMin = right[a];
+                // the prefix part holds the later indices, so it wins ties
+                if (prefix[suffixMin] < prefix[startIdx]) {
+                    startIdx = suffixMin;
+                }
+                comparisons++;
+                reads += 2;
+            }
+            long candidate = prefix[j] - prefix[startIdx];
+            comparisons++;
+            reads += 2;
+            if (candidate > best) {
+                best = candidate;
+                bestStart = startIdx;
+                bestEnd = j - 1;
+            }
+        }
+
+        out[0] = best;
+        out[1] = bestStart;
+        out[2] = bestEnd;
+        out[3] += comparisons;
+        out[4] += reads;
+    }
+
+    /**
+     * Checks whether some segment of at least {@code minLength} values has
+     * average ≥ {@code average}: with Q[i] = P[i] - average·i that is
+     * Q[j] ≥ min{Q[i] : i ≤ j - minLength}, a single pass over the index.
+     * Binary searching on {@code average} gives the maximum average.
+     */
+    public boolean hasAverageAtLeast(PrefixSumIndex index, int minLength, double average) {
+        validate(index, minLength, minLength);
+        long[] prefix = index.getPrefixArray();
+        double minShifted = Double.POSITIVE_INFINITY;
+        for (int j = minLength; j <= index.length(); j++) {
+            int i = j - minLength;
+            minShifted = Math.min(minShifted, prefix[i] - average * i);
+            if (prefix[j] - average * j >= minShifted) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void validate(int[] nums, int minLength, int maxLength) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (minLength < 1 || maxLength < minLength) {
+            throw new IllegalArgumentException("Require 1 <= minLength <= maxLength, got ["
+                    + minLength + ", " + maxLength + "]");
+        }
+    }
+
+    private static void validate(PrefixSumIndex index, int minLength, int maxLength) {
+        if (index == null) {
+            throw new IllegalArgumentException("Prefix-sum index cannot be null");
+        }
+        if (minLength < 1 || maxLength < minLength) {
+            throw new IllegalArgumentException("Require 1 <= minLength <= maxLength, got ["
+                    + minLength + ", " + maxLength + "]");
+        }
+    }
+
+    static long[] prefixSums(int[] nums) {
+        long[] prefix = new long[nums.length + 1];
+        for (int i = 0; i < nums.length; i++) {
+            prefix[i + 1] = prefix[i] + nums[i];
+        }
+        return prefix;
+    }
+
+    /**
+     * Scans segment end positions j in [jFrom, jTo) (segment is nums[i..j-1]).
+     * out = {bestSum, start, end, comparisons, prefixReads}
+     */
+    static void scan(long[] prefix, int jFrom, int jTo, int minLength, int maxLength, long[] out) {
+        int[] ring = new int[Integer.highestOneBit(Math.max(2, maxLength - minLength + 2) - 1) << 1];
+        int mask = ring.length - 1;
+        int head = 0;
+        int tail = 0;
+        long best = out[0];
+        int bestStart = (int) out[1];
+        int bestEnd = (int) out[2];
+        long comparisons = 0;
+        long reads = 0;
+
+        // warm the window with start candidates preceding the first end position
+        for (int j = Math.max(minLength, jFrom - (maxLength - minLength)); j < jFrom; j++) {
+            int i = j - minLength;
+            long pi = prefix[i];
+            while (tail != head && prefix[ring[(tail - 1) & mask]] >= pi) {
+                tail--;
+                comparisons++;
+            }
+            ring[tail++ & mask] = i;
+            reads++;
+        }
+
+        for (int j = jFrom; j < jTo; j++) {
+            int i = j - minLength;
+            long pi = prefix[i];
+            while (tail != head && prefix[ring[(tail - 1) & mask]] >= pi) {
+                tail--;
+                comparisons++;
+            }
+            ring[tail++ & mask] = i;
+
+            int oldest = j - maxLength;
+            while (ring[head & mask] < oldest) {
+                head++;
+            }
+
+            int startIdx = ring[head & mask];
+            long candidate = prefix[j] - prefix[startIdx];
+            comparisons += 2;
+            reads += 3;
+            if (candidate > best) {
+                best = candidate;
+                bestStart = startIdx;
+                bestEnd = j - 1;
+            }
+        }
+
+        out[0] = best;
+        out[1] = bestStart;
+        out[2] = bestEnd;
+        out[3] += comparisons;
+        out[4] += reads;
+    }
+
+    /**
+     * @param allocatedBefore thread allocation counter at the start, -1 if not measured
+     */
+    private SubarrayResult finish(int n, long[] best, long allocatedBefore, long startTime,
+                                  SubarrayExecutionEvent event, String engine) {
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        performanceTracker.recordExecution(n, executionTime, comparisons, arrayAccesses, allocated, engine);
+
+        SubarrayResult result = new SubarrayResult(Math.toIntExact(best[0]), (int) best[1], (int) best[2],
+                comparisons, arrayAccesses);
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = n;
+            event.comparisons = comparisons;
+            event.arrayAccesses = arrayAccesses;
+            event.resultLength = result.getSubarrayLength();
+            event.commit();
+        }
+        return result;
+    }
+
+    public PerformanceTracker getPerformanceTracker() {
+        return performanceTracker;
+    }
+
+    public int getLastComparisons() {
+        return comparisons;
+    }
+
+    public int getLastArrayAccesses() {
+        return arrayAccesses;
+    }
+}
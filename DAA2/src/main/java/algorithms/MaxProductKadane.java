@@ -0,0 +1,259 @@
+package algorithms;
+
+import metrics.AllocationMeter;
+import metrics.PerformanceTracker;
+import metrics.SubarrayExecutionEvent;
+import models.ProductSubarrayResult;
+
+/**
+ * Maximum product subarray, tracking the running maximum and minimum product
+ * ending at each position (a negative element swaps their roles).
+ *
+ * The common case runs on exact {@code long} products; overflow is detected
+ * with a single magnitude test per element, falling back to
+ * {@link Math#multiplyHigh} only for large operands. A stretch that does
+ * overflow switches to a sign + log2 magnitude representation until the
+ * running products become exact again (e.g. after a zero).
+ *
+ * Time Complexity: Θ(n)
+ * Space Complexity: O(1) auxiliary space
+ */
+public class MaxProductKadane {
+    /** |a| at or below this times any int cannot overflow a long */
+    private static final long SAFE_MAGNITUDE = Integer.MAX_VALUE;
+    private static final double LN2 = Math.log(2);
+
+    private final PerformanceTracker performanceTracker;
+
+    public MaxProductKadane() {
+        this.performanceTracker = new PerformanceTracker("MaxProductKadane");
+    }
+
+    /**
+     * A product held either exactly or as sign and log2 magnitude
+     */
+    private static final class Product {
+        boolean log;
+        long exact;
+        int sign;
+        double log2;
+
+        void setExact(long value) {
+            log = false;
+            exact = value;
+        }
+
+        void set(Product other) {
+            log = other.log;
+            exact = other.exact;
+            sign = other.sign;
+            log2 = other.log2;
+        }
+
+        int signum() {
+            return log ? sign : Long.signum(exact);
+        }
+
+        double magnitude() {
+            return log ? log2 : Math.log(Math.abs((double) exact)) / LN2;
+        }
+
+        /**
+         * this = source * x, switching to log form on overflow
+         */
+        void multiply(Product source, int x) {
+            if (x == 0) {
+                setExact(0);
+            } else if (!source.log) {
+                long a = source.exact;
+                long low = a * x;
+                if (isSmall(a) || Math.multiplyHigh(a, x) == (low >> 63)) {
+                    setExact(low);
+                } else {
+                    log = true;
+                    sign = Long.signum(a) * Integer.signum(x);
+                    log2 = Math.log(Math.abs((double) a)) / LN2 + Math.log(Math.abs((double) x)) / LN2;
+                }
+            } else {
+                log = true;
+                sign = source.sign * Integer.signum(x);
+                log2 = source.log2 + Math.log(Math.abs((double) x)) / LN2;
+            }
+        }
+
+        static int compare(Product a, Product b) {
+            if (!a.log && !b.log) {
+                return Long.compare(a.exact, b.exact);
+            }
+            int signA = a.signum();
+            int signB = b.signum();
+            if (signA != signB) {
+                return Integer.compare(signA, signB);
+            }
+            if (signA == 0) return 0;
+            int byMagnitude = Double.compare(a.magnitude(), b.magnitude());
+            return signA > 0 ? byMagnitude : -byMagnitude;
+        }
+    }
+
+    /**
+     * Finds the contiguous subarray with maximum product
+     */
+    public ProductSubarrayResult findMaximumProductSubarray(int[] nums) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (nums.length == 0) {
+            return new ProductSubarrayResult(true, 0, 0, 0, -1, -1, 0, 0);
+        }
+
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        // exact fast-path state
+        long maxEnding = nums[0];
+        long minEnding = nums[0];
+        int maxStart = 0;
+        int minStart = 0;
+        boolean slow = false;
+
+        // slow-path state, only touched after an overflow
+        Product maxP = new Product();
+        Product minP = new Product();
+        Product best = new Product();
+        Product candMax = new Product();
+        Product candMin = new Product();
+        Product single = new Product();
+        best.setExact(nums[0]);
+        int bestStart = 0;
+        int bestEnd = 0;
+        int overflowStretches = 0;
+
+        for (int i = 1; i < nums.length; i++) {
+            int x = nums[i];
+
+            if (!slow) {
+                long a = maxEnding * x;
+                long b = minEnding * x;
+                boolean safe = (isSmall(maxEnding) || Math.multiplyHigh(maxEnding, x) == (a >> 63))
+                        && (isSmall(minEnding) || Math.multiplyHigh(minEnding, x) == (b >> 63));
+                if (safe) {
+                    long newMax = a;
+                    int newMaxStart = maxStart;
+                    long newMin = a;
+                    int newMinStart = maxStart;
+                    if (b > newMax) {
+                        newMax = b;
+                        newMaxStart = minStart;
+                    }
+                    if (b < newMin) {
+                        newMin = b;
+                        newMinStart = minStart;
+                    }
+                    if (x > newMax) {
+                        newMax = x;
+                        newMaxStart = i;
+                    }
+                    if (x < newMin) {
+                        newMin = x;
+                        newMinStart = i;
+                    }
+                    maxEnding = newMax;
+                    maxStart = newMaxStart;
+                    minEnding = newMin;
+                    minStart = newMinStart;
+
+                    if (best.log ? Product.compare(exactTemp(candMax, newMax), best) > 0 : newMax > best.exact) {
+                        best.setExact(newMax);
+                        bestStart = maxStart;
+                        bestEnd = i;
+                    }
+                    continue;
+                }
+                slow = true;
+                overflowStretches++;
+                maxP.setExact(maxEnding);
+                minP.setExact(minEnding);
+            }
+
+            // slow path: mixed exact / log products
+            candMax.multiply(maxP, x);
+            candMin.multiply(minP, x);
+            single.setExact(x);
+
+            int newMaxStart = maxStart;
+            int newMinStart = maxStart;
+            Product newMax = candMax;
+            Product newMin = candMax;
+            if (Product.compare(candMin, newMax) > 0) {
+                newMax = candMin;
+                newMaxStart = minStart;
+            }
+            if (Product.compare(candMin, newMin) < 0) {
+                newMin = candMin;
+                newMinStart = minStart;
+            }
+            if (Product.compare(single, newMax) > 0) {
+                newMax = single;
+                newMaxStart = i;
+            }
+            if (Product.compare(single, newMin) < 0) {
+                newMin = single;
+                newMinStart = i;
+            }
+            // newMax/newMin point at candidate holders, never at maxP/minP
+            maxP.set(newMax);
+            minP.set(newMin);
+            maxStart = newMaxStart;
+            minStart = newMinStart;
+
+            if (Product.compare(maxP, best) > 0) {
+                best.set(maxP);
+                bestStart = maxStart;
+                bestEnd = i;
+            }
+
+            if (!maxP.log && !minP.log) {
+                // both running products are exact again: resume the fast path
+                slow = false;
+                maxEnding = maxP.exact;
+                minEnding = minP.exact;
+            }
+        }
+
+        int comparisons = 5 * (nums.length - 1);
+        int arrayAccesses = nums.length;
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        String engine = overflowStretches > 0 ? "max-product-log" : "max-product";
+        performanceTracker.recordExecution(nums.length, executionTime, comparisons, arrayAccesses, allocated, engine);
+
+        ProductSubarrayResult result = new ProductSubarrayResult(!best.log, best.exact, best.sign, best.log2,
+                bestStart, bestEnd, comparisons, arrayAccesses);
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = nums.length;
+            event.comparisons = comparisons;
+            event.arrayAccesses = arrayAccesses;
+            event.resultLength = result.getSubarrayLength();
+            event.commit();
+        }
+        return result;
+    }
+
+    private static boolean isSmall(long value) {
+        return value >= -SAFE_MAGNITUDE && value <= SAFE_MAGNITUDE;
+    }
+
+    private static Product exactTemp(Product holder, long value) {
+        holder.setExact(value);
+        return holder;
+    }
+
+    public PerformanceTracker getPerformanceTracker() {
+        return performanceTracker;
+    }
+}
@@ -0,0 +1,160 @@
+package algorithms;
+
+import metrics.AllocationMeter;
+import metrics.PerformanceTracker;
+import metrics.SubarrayExecutionEvent;
+import models.KadaneSummary;
+import models.LongSubarrayResult;
+import storage.OffHeapIntArray;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Kadane's Algorithm over {@link OffHeapIntArray} inputs with 64-bit indices and sums.
+ * Data is streamed through a small on-heap block so the scan stays cache resident
+ * and allocation free; the parallel variant splits the range into independent
+ * {@link KadaneSummary} pieces and merges them in O(1) each.
+ *
+ * Time Complexity: Θ(n) work, O(n/p + log n) span
+ * Space Complexity: O(1) per worker (one scratch block)
+ */
+public class OffHeapKadane {
+    /** 4,096 ints = 16 KiB scratch block, sized to stay in L1 */
+    static final int BLOCK_SIZE = 4096;
+    /** Ranges at or below this many elements are scanned sequentially */
+    static final long PARALLEL_THRESHOLD = 1L << 20;
+
+    private final PerformanceTracker performanceTracker;
+
+    public OffHeapKadane() {
+        this.performanceTracker = new PerformanceTracker("OffHeapKadane");
+    }
+
+    /**
+     * Finds the maximum subarray with a single sequential pass
+     */
+    public LongSubarrayResult findMaximumSubarray(OffHeapIntArray data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        KadaneSummary summary = summarize(data, 0, data.length());
+
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        record(data.length(), executionTime, allocated, "offheap", event, summary);
+        return summary.toResult();
+    }
+
+    /**
+     * Finds the maximum subarray by scanning disjoint ranges in parallel
+     *
+     * @param parallelism number of worker threads
+     */
+    public LongSubarrayResult findMaximumSubarrayParallel(OffHeapIntArray data, int parallelism) {
+        if (data == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        long threshold = Math.max(PARALLEL_THRESHOLD, data.length() / (parallelism * 4L));
+        return findMaximumSubarrayParallel(data, parallelism, threshold);
+    }
+
+    /**
+     * Parallel scan with an explicit split threshold, for tuning and for
+     * exercising the merge on small inputs
+     *
+     * @param threshold ranges at or below this many elements are scanned sequentially
+     */
+    public LongSubarrayResult findMaximumSubarrayParallel(OffHeapIntArray data, int parallelism, long threshold) {
+        if (data == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (parallelism <= 0 || threshold <= 0) {
+            throw new IllegalArgumentException("Parallelism and threshold must be positive");
+        }
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+
+        KadaneSummary summary = WorkerPools.forParallelism(parallelism)
+                .invoke(new SummaryTask(data, 0, data.length(), threshold));
+
+        // workers allocate on their own threads, out of reach of the per-thread counter
+        record(data.length(), System.nanoTime() - startTime, -1, "offheap-parallel", event, summary);
+        return summary.toResult();
+    }
+
+    /**
+     * Sequentially summarizes the range [from, to)
+     */
+    public static KadaneSummary summarize(OffHeapIntArray data, long from, long to) {
+        if (from < 0 || to > data.length() || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ")");
+        }
+        KadaneState state = new KadaneState(from);
+        int[] block = new int[BLOCK_SIZE];
+        long index = from;
+        while (index < to) {
+            int count = data.read(index, block, 0, (int) Math.min(BLOCK_SIZE, to - index));
+            state.accept(block, 0, count);
+            index += count;
+        }
+        return state.toSummary();
+    }
+
+    private static class SummaryTask extends RecursiveTask<KadaneSummary> {
+        private static final long serialVersionUID = 1L;
+
+        private final OffHeapIntArray data;
+        private final long from;
+        private final long to;
+        private final long threshold;
+
+        SummaryTask(OffHeapIntArray data, long from, long to, long threshold) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected KadaneSummary compute() {
+            if (to - from <= threshold) {
+                return summarize(data, from, to);
+            }
+            long mid = from + (to - from) / 2;
+            SummaryTask left = new SummaryTask(data, from, mid, threshold);
+            SummaryTask right = new SummaryTask(data, mid, to, threshold);
+            left.fork();
+            KadaneSummary rightSummary = right.compute();
+            return left.join().merge(rightSummary);
+        }
+    }
+
+    private void record(long length, long executionTime, long allocated, String engine,
+                        SubarrayExecutionEvent event, KadaneSummary summary) {
+        // PerformanceRecord sizes are int; inputs beyond 2^31-1 saturate
+        int size = (int) Math.min(length, Integer.MAX_VALUE);
+        performanceTracker.recordExecution(size, executionTime, 0, 0, allocated, engine);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = length;
+            event.arrayAccesses = length;
+            event.resultLength = summary.toResult().getSubarrayLength();
+            event.commit();
+        }
+    }
+
+    public PerformanceTracker getPerformanceTracker() {
+        return performanceTracker;
+    }
+}
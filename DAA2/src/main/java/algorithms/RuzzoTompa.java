@@ -0,0 +1,209 @@
+package algorithms;
+
+import metrics.AllocationMeter;
+import metrics.PerformanceTracker;
+import metrics.SubarrayExecutionEvent;
+
+import java.util.Arrays;
+
+/**
+ * All maximal scoring segments (Ruzzo &amp; Tompa, 1999) in one linear pass.
+ *
+ * Every positive element opens a candidate segment k with cumulative scores
+ * L (before it) and R (after it). The candidate list is searched right to left
+ * for the nearest segment j with L_j &lt; L_k: if none exists, every listed
+ * segment is final; if R_j &gt;= R_k, k is appended; otherwise j..k merge into
+ * one segment and the search repeats. Each listed segment keeps a link to the
+ * segment its own search stopped at, so skipped segments are never revisited.
+ *
+ * The list lives in parallel primitive arrays and segments are emitted through
+ * {@link SegmentCallback} or packed as int triples; no object is created per
+ * segment.
+ *
+ * Time Complexity: Θ(n) amortized
+ * Space Complexity: O(s) for s open candidate segments
+ */
+public class RuzzoTompa {
+    private final PerformanceTracker performanceTracker;
+
+    /**
+     * Receives maximal segments in left-to-right order
+     */
+    public interface SegmentCallback {
+        void segment(long start, long end, long sum);
+    }
+
+    public RuzzoTompa() {
+        this.performanceTracker = new PerformanceTracker("RuzzoTompa");
+    }
+
+    /**
+     * Streams every maximal segment of {@code nums} to {@code callback}
+     *
+     * @return number of segments emitted
+     */
+    public int findMaximalSegments(int[] nums, SegmentCallback callback) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("Callback cannot be null");
+        }
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        Scanner scanner = new Scanner(callback);
+        scanner.accept(nums, 0, nums.length);
+        scanner.finish();
+
+        long executionTime = System.nanoTime() - startTime;
+        // includes whatever the callback allocates, since it runs on this thread
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        performanceTracker.recordExecution(nums.length, executionTime, scanner.comparisons,
+                nums.length, allocated, "ruzzo-tompa");
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = "ruzzo-tompa";
+            event.inputSize = nums.length;
+            event.comparisons = scanner.comparisons;
+            event.arrayAccesses = nums.length;
+            event.resultLength = scanner.emitted;
+            event.commit();
+        }
+        return scanner.emitted;
+    }
+
+    /**
+     * @return maximal segments packed as {start, end, sum} triples, left to right
+     * @throws ArithmeticException if a segment sum does not fit in an int
+     */
+    public int[] findMaximalSegments(int[] nums) {
+        PackedCollector collector = new PackedCollector();
+        findMaximalSegments(nums, collector);
+        return Arrays.copyOf(collector.packed, collector.size);
+    }
+
+    private static class PackedCollector implements SegmentCallback {
+        private int[] packed = new int[48];
+        private int size;
+
+        @Override
+        public void segment(long start, long end, long sum) {
+            if (size + 3 > packed.length) {
+                packed = Arrays.copyOf(packed, packed.length * 2);
+            }
+            packed[size++] = (int) start;
+            packed[size++] = (int) end;
+            packed[size++] = Math.toIntExact(sum);
+        }
+    }
+
+    /**
+     * Incremental scanner for unbounded streams. A segment is emitted as soon
+     * as it can no longer merge with later ones: when a new candidate has a
+     * lower starting score than everything listed, or on {@link #finish()}.
+     */
+    public static class Scanner {
+        private final SegmentCallback callback;
+        private long index;
+        private long cumulative;
+        private long[] starts = new long[16];
+        private long[] ends = new long[16];
+        private long[] lows = new long[16];
+        private long[] highs = new long[16];
+        private int[] links = new int[16];
+        private int size;
+        int comparisons;
+        int emitted;
+
+        public Scanner(SegmentCallback callback) {
+            if (callback == null) {
+                throw new IllegalArgumentException("Callback cannot be null");
+            }
+            this.callback = callback;
+        }
+
+        public void accept(int value) {
+            long i = index++;
+            long low = cumulative;
+            cumulative += value;
+            comparisons++;
+            if (value <= 0) {
+                return;
+            }
+            long start = i;
+            long high = cumulative;
+            while (true) {
+                int j = size - 1;
+                while (j >= 0 && lows[j] >= low) {
+                    comparisons++;
+                    j = links[j];
+                }
+                if (j < 0) {
+                    flush();
+                    push(start, i, low, high, -1);
+                    return;
+                }
+                comparisons++;
+                if (highs[j] >= high) {
+                    push(start, i, low, high, j);
+                    return;
+                }
+                // j's right end is below ours: extend this segment back over j
+                start = starts[j];
+                low = lows[j];
+                size = j;
+            }
+        }
+
+        public void accept(int[] values, int off, int len) {
+            for (int k = off; k < off + len; k++) {
+                accept(values[k]);
+            }
+        }
+
+        /**
+         * Emits all remaining segments; the scanner may continue afterwards
+         * only as if a new stream had started at the current index
+         */
+        public void finish() {
+            flush();
+        }
+
+        private void flush() {
+            for (int k = 0; k < size; k++) {
+                callback.segment(starts[k], ends[k], highs[k] - lows[k]);
+            }
+            emitted += size;
+            size = 0;
+        }
+
+        private void push(long start, long end, long low, long high, int link) {
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                lows = Arrays.copyOf(lows, capacity);
+                highs = Arrays.copyOf(highs, capacity);
+                links = Arrays.copyOf(links, capacity);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            lows[size] = low;
+            highs[size] = high;
+            links[size] = link;
+            size++;
+        }
+
+        /** Segments emitted so far */
+        public int getEmittedCount() {
+            return emitted;
+        }
+    }
+
+    public PerformanceTracker getPerformanceTracker() {
+        return performanceTracker;
+    }
+}
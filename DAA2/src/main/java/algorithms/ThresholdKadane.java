@@ -0,0 +1,281 @@
+package algorithms;
+
+import metrics.AllocationMeter;
+import metrics.PerformanceTracker;
+import metrics.SubarrayExecutionEvent;
+import models.KadaneSummary;
+import models.LongSubarrayResult;
+import storage.IntSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Threshold query: "is there a contiguous segment with sum ≥ T?", stopping as
+ * soon as one is found.
+ *
+ * Among all segments ending at index i, Kadane's running maxEndingHere is the
+ * largest, so the first i where it reaches T is the earliest end of any
+ * qualifying segment. The scan stops there instead of running to n.
+ *
+ * The parallel variant scans chunks independently and cancels the rest as soon
+ * as one succeeds. Segments spanning chunk boundaries are caught by folding
+ * completed chunk summaries left to right: the running suffix of the chunks
+ * before k plus the best prefix of chunk k reaching T is a hit.
+ *
+ * Time Complexity: Θ(e) for a sequential answer ending at index e, O(n) when absent
+ * Space Complexity: O(1) sequential, O(n / chunk) summaries in parallel
+ */
+public class ThresholdKadane {
+    /** Elements scanned between cancellation checks */
+    static final int BLOCK_SIZE = 4096;
+    /** Smallest chunk worth handing to a worker */
+    static final int MIN_CHUNK = 1 << 16;
+
+    private final PerformanceTracker performanceTracker;
+
+    public ThresholdKadane() {
+        this.performanceTracker = new PerformanceTracker("ThresholdKadane");
+    }
+
+    /**
+     * Finds the segment with sum ≥ threshold that ends earliest
+     *
+     * @return the segment, or an empty result (indices -1) when none exists
+     */
+    public LongSubarrayResult findSegmentAtLeast(int[] nums, long threshold) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        LongSubarrayResult result = notFound();
+        long maxEndingHere = 0;
+        int currentStart = 0;
+        int scanned = 0;
+        for (int i = 0; i < nums.length; i++) {
+            scanned++;
+            if (i == 0 || maxEndingHere < 0) {
+                maxEndingHere = nums[i];
+                currentStart = i;
+            } else {
+                maxEndingHere += nums[i];
+            }
+            if (maxEndingHere >= threshold) {
+                result = new LongSubarrayResult(maxEndingHere, currentStart, i);
+                break;
+            }
+        }
+
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        record(nums.length, scanned, executionTime, allocated, "threshold", event, result);
+        return result;
+    }
+
+    /**
+     * Earliest-ending segment with sum ≥ threshold from an {@link IntSource},
+     * pulled in {@link #BLOCK_SIZE} chunks; reading stops at the answer, so
+     * the rest of a stream or file is never touched
+     */
+    public LongSubarrayResult findSegmentAtLeastFrom(IntSource source, long threshold) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("Input source cannot be null");
+        }
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        LongSubarrayResult result = notFound();
+        int[] chunk = new int[BLOCK_SIZE];
+        long maxEndingHere = 0;
+        long currentStart = 0;
+        long index = 0;
+        int count;
+        scan:
+        while ((count = source.read(chunk, 0, BLOCK_SIZE)) > 0) {
+            for (int k = 0; k < count; k++, index++) {
+                if (index == 0 || maxEndingHere < 0) {
+                    maxEndingHere = chunk[k];
+                    currentStart = index;
+                } else {
+                    maxEndingHere += chunk[k];
+                }
+                if (maxEndingHere >= threshold) {
+                    result = new LongSubarrayResult(maxEndingHere, currentStart, index);
+                    index++;
+                    break scan;
+                }
+            }
+        }
+
+        int scanned = (int) Math.min(index, Integer.MAX_VALUE);
+        long executionTime = System.nanoTime() - startTime;
+        long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+        record(scanned, scanned, executionTime, allocated, "threshold-source", event, result);
+        return result;
+    }
+
+    /**
+     * Finds some segment with sum ≥ threshold using {@code parallelism} workers.
+     * Which qualifying segment is returned depends on scheduling.
+     *
+     * @return a qualifying segment, or an empty result when none exists
+     */
+    public LongSubarrayResult findSegmentAtLeastParallel(int[] nums, long threshold, int parallelism) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        int chunkSize = (int) Math.max(MIN_CHUNK, ((long) nums.length + parallelism * 4L - 1) / (parallelism * 4L));
+        return findSegmentAtLeastParallel(nums, threshold, parallelism, chunkSize);
+    }
+
+    /**
+     * Parallel search with an explicit chunk size, for tuning and for
+     * exercising the cross-chunk fold on small inputs
+     *
+     * @param chunkSize elements per worker task
+     */
+    public LongSubarrayResult findSegmentAtLeastParallel(int[] nums, long threshold, int parallelism,
+                                                         int chunkSize) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (parallelism <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
+        SubarrayExecutionEvent event = new SubarrayExecutionEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+
+        int chunks = (int) (((long) nums.length + chunkSize - 1) / chunkSize);
+        Search search = new Search(nums, threshold, chunkSize, chunks);
+        ForkJoinPool pool = WorkerPools.forParallelism(parallelism);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            tasks.add(pool.submit(() -> search.scanChunk(chunk)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        LongSubarrayResult result = search.hit.get();
+        if (result == null) {
+            result = notFound();
+        }
+        int scanned = (int) Math.min(search.scanned(), Integer.MAX_VALUE);
+        // workers allocate on their own threads, out of reach of the per-thread counter
+        record(nums.length, scanned, System.nanoTime() - startTime, -1, "threshold-parallel", event, result);
+        return result;
+    }
+
+    public boolean exists(int[] nums, long threshold) {
+        return !findSegmentAtLeast(nums, threshold).isEmptySubarray();
+    }
+
+    /**
+     * Shared state of one parallel search: the first hit wins and every
+     * worker polls it between blocks
+     */
+    private static class Search {
+        private final int[] nums;
+        private final long threshold;
+        private final int chunkSize;
+        private final KadaneSummary[] completed;
+        private final long[] scannedPerChunk;
+        final AtomicReference<LongSubarrayResult> hit = new AtomicReference<>();
+        private int frontier;
+        private KadaneSummary folded = KadaneSummary.empty(0);
+
+        Search(int[] nums, long threshold, int chunkSize, int chunks) {
+            this.nums = nums;
+            this.threshold = threshold;
+            this.chunkSize = chunkSize;
+            this.completed = new KadaneSummary[chunks];
+            this.scannedPerChunk = new long[chunks];
+        }
+
+        void scanChunk(int chunk) {
+            int from = chunk * chunkSize;
+            int to = (int) Math.min((long) from + chunkSize, nums.length);
+            KadaneState state = new KadaneState(from);
+            for (int index = from; index < to; index += BLOCK_SIZE) {
+                if (hit.get() != null) {
+                    scannedPerChunk[chunk] = state.getCount();
+                    return;
+                }
+                state.accept(nums, index, Math.min(BLOCK_SIZE, to - index));
+                KadaneSummary summary = state.toSummary();
+                if (summary.best >= threshold) {
+                    // the best segment so far qualifies even if it is not the earliest
+                    hit.compareAndSet(null, summary.toResult());
+                    scannedPerChunk[chunk] = state.getCount();
+                    return;
+                }
+            }
+            scannedPerChunk[chunk] = state.getCount();
+            complete(chunk, state.toSummary());
+        }
+
+        /**
+         * Folds completed chunks in order, checking the segments that span
+         * into each newly folded chunk
+         */
+        private synchronized void complete(int chunk, KadaneSummary summary) {
+            completed[chunk] = summary;
+            while (frontier < completed.length && completed[frontier] != null && hit.get() == null) {
+                KadaneSummary next = completed[frontier];
+                if (!folded.isEmpty() && folded.bestSuffix + next.bestPrefix >= threshold) {
+                    hit.compareAndSet(null, new LongSubarrayResult(folded.bestSuffix + next.bestPrefix,
+                            folded.suffixStart, next.prefixEnd));
+                }
+                folded = folded.merge(next);
+                frontier++;
+            }
+        }
+
+        long scanned() {
+            long total = 0;
+            for (long count : scannedPerChunk) {
+                total += count;
+            }
+            return total;
+        }
+    }
+
+    private static LongSubarrayResult notFound() {
+        return new LongSubarrayResult(0, -1, -1);
+    }
+
+    private void record(int length, int scanned, long executionTime, long allocated, String engine,
+                        SubarrayExecutionEvent event, LongSubarrayResult result) {
+        // array accesses count the elements actually read before stopping
+        performanceTracker.recordExecution(length, executionTime, scanned, scanned, allocated, engine);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = length;
+            event.comparisons = scanned;
+            event.arrayAccesses = scanned;
+            event.resultLength = result.getSubarrayLength();
+            event.commit();
+        }
+    }
+
+    public PerformanceTracker getPerformanceTracker() {
+        return performanceTracker;
+    }
+}
@@ -0,0 +1,46 @@
+package algorithms;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * ForkJoin pools shared by the parallel engines, one per requested parallelism.
+ * A pool per query pays thread start-up on every call; these live for the JVM,
+ * and their daemon workers retire when idle. Requests are capped at the
+ * processor count, so at most that many pools are ever created.
+ */
+final class WorkerPools {
+    static final int MAX_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private static final ConcurrentMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private WorkerPools() {
+    }
+
+    /**
+     * @return the common pool if its parallelism matches, otherwise a shared pool
+     *         of that size, at most {@link #MAX_PARALLELISM}
+     */
+    static ForkJoinPool forParallelism(int requested) {
+        if (requested <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        int parallelism = Math.min(requested, MAX_PARALLELISM);
+        ForkJoinPool common = ForkJoinPool.commonPool();
+        if (parallelism == common.getParallelism()) {
+            return common;
+        }
+        ForkJoinPool pool = POOLS.get(parallelism);
+        if (pool == null) {
+            ForkJoinPool created = new ForkJoinPool(parallelism);
+            pool = POOLS.putIfAbsent(parallelism, created);
+            if (pool == null) {
+                pool = created;
+            } else {
+                created.shutdown();
+            }
+        }
+        return pool;
+    }
+}
@@ -2,8 +2,13 @@ package cli;
 
 import algorithms.KadaneAlgorithm;
 import models.SubarrayResult;
+import metrics.BenchmarkPhaseEvent;
+import metrics.ConcurrencyScalingBenchmark;
+import metrics.FlightRecording;
 import metrics.PerformanceTracker;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Random;
 import java.util.Scanner;
 
@@ -14,11 +19,13 @@ public class BenchmarkRunner {
     private final KadaneAlgorithm kadane;
     private final Scanner scanner;
     private final Random random;
+    private final FlightRecording flightRecording;
 
     public BenchmarkRunner() {
         this.kadane = new KadaneAlgorithm();
         this.scanner = new Scanner(System.in);
         this.random = new Random();
+        this.flightRecording = new FlightRecording();
     }
 
     public void run() {
@@ -42,6 +49,15 @@ public class BenchmarkRunner {
                     compareWithNaive();
                     break;
                 case 5:
+                    toggleFlightRecording(null);
+                    break;
+                case 6:
+                    runConcurrencyScaling();
+                    break;
+                case 7:
+                    if (flightRecording.isRunning()) {
+                        toggleFlightRecording(null);
+                    }
                     System.out.println("Exiting...");
                     return;
                 default:
@@ -56,7 +72,11 @@ public class BenchmarkRunner {
         System.out.println("2. Run predefined tests");
         System.out.println("3. Run quick benchmark");
         System.out.println("4. Compare with naive O(n²) algorithm");
-        System.out.println("5. Exit");
+        System.out.println("5. " + (flightRecording.isRunning()
+                ? "Stop JFR recording (" + flightRecording.getDestination() + ")"
+                : "Start JFR recording"));
+        System.out.println("6. Run concurrency scaling benchmark");
+        System.out.println("7. Exit");
     }
 
     private void testWithCustomInput() {
@@ -112,6 +132,8 @@ public class BenchmarkRunner {
 
         for (int size : sizes) {
             System.out.printf("%n--- Testing size: %,d ---%n", size);
+            BenchmarkPhaseEvent phaseEvent = PerformanceTracker.beginPhase("quick", "measurement",
+                    size, iterations);
 
             long totalTime = 0;
             int totalComparisons = 0;
@@ -129,6 +151,7 @@ public class BenchmarkRunner {
                 totalComparisons += result.getComparisons();
                 totalAccesses += result.getArrayAccesses();
             }
+            PerformanceTracker.endPhase(phaseEvent);
 
             long avgTime = totalTime / iterations;
             int avgComparisons = totalComparisons / iterations;
@@ -149,6 +172,8 @@ public class BenchmarkRunner {
         for (int size : sizes) {
             System.out.printf("%n--- Array size: %,d ---%n", size);
             int[] nums = generateRandomArray(size, -100, 100);
+            BenchmarkPhaseEvent phaseEvent = PerformanceTracker.beginPhase("naive-comparison",
+                    "measurement", size, 1);
 
             // Time Kadane's algorithm
             long startTime = System.nanoTime();
@@ -164,10 +189,27 @@ public class BenchmarkRunner {
                 System.out.printf("Kadane: %,d ns | Naive: %,d ns | Speedup: %.1fx%n",
                         kadaneTime, naiveTime, (double)naiveTime / kadaneTime);
             }
+            PerformanceTracker.endPhase(phaseEvent);
+        }
+    }
+
+    private void runConcurrencyScaling() {
+        int maxThreads = 2 * Runtime.getRuntime().availableProcessors();
+        System.out.printf("%n--- Concurrency Scaling (1..%d threads) ---%n", maxThreads);
+        try {
+            new ConcurrencyScalingBenchmark(new int[]{1_000, 10_000, 100_000}, 500)
+                    .run(maxThreads, ConcurrencyScalingBenchmark.ThreadMode.PLATFORM,
+                            ConcurrencyScalingBenchmark.ThreadMode.VIRTUAL)
+                    .print();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
-    private SubarrayResult naiveMaximumSubarray(int[] nums) {
+    /**
+     * Reference O(n²) implementation, also used as a fuzzing oracle
+     */
+    public static SubarrayResult naiveMaximumSubarray(int[] nums) {
         if (nums == null || nums.length == 0) {
             return new SubarrayResult(0, -1, -1, 0, 0);
         }
@@ -195,6 +237,26 @@ public class BenchmarkRunner {
         return new SubarrayResult(maxSum, start, end, comparisons, accesses);
     }
 
+    /**
+     * Starts a JFR recording, or stops the running one and reports the dump file
+     */
+    private void toggleFlightRecording(String filename) {
+        try {
+            if (flightRecording.isRunning()) {
+                Path dump = flightRecording.stop();
+                System.out.println("JFR recording written to: " + dump.toAbsolutePath());
+            } else {
+                if (filename == null) {
+                    filename = "kadane-" + System.currentTimeMillis() + ".jfr";
+                }
+                flightRecording.start(filename);
+                System.out.println("JFR recording started -> " + filename);
+            }
+        } catch (IOException | IllegalStateException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
     private void executeAndPrintResult(int[] nums) {
         try {
             long startTime = System.nanoTime();
@@ -248,6 +310,13 @@ public class BenchmarkRunner {
 
     public static void main(String[] args) {
         BenchmarkRunner runner = new BenchmarkRunner();
+        for (int i = 0; i < args.length; i++) {
+            if ("--jfr".equals(args[i])) {
+                // the filename is optional: do not swallow a following flag
+                boolean hasFilename = i + 1 < args.length && !args[i + 1].startsWith("-");
+                runner.toggleFlightRecording(hasFilename ? args[++i] : null);
+            }
+        }
         runner.run();
     }
 }
\ No newline at end of file
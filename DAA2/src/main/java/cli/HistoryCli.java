@@ -0,0 +1,118 @@
+package cli;
+
+import storage.BenchmarkHistory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command-line queries over a {@link BenchmarkHistory} file
+ */
+public class HistoryCli {
+    static final int DEFAULT_RUNS = 20;
+
+    private final BenchmarkHistory history;
+    private final PrintStream out;
+
+    public HistoryCli(BenchmarkHistory history, PrintStream out) {
+        this.history = history;
+        this.out = out;
+    }
+
+    /**
+     * Executes one command; returns false if it was not recognized
+     */
+    public boolean execute(String[] args) {
+        String command = args.length > 0 ? args[0] : "series";
+        switch (command) {
+            case "series":
+                for (String series : history.series()) {
+                    out.printf("%-28s %5d runs%n", series, history.lastRuns(series, Integer.MAX_VALUE).size());
+                }
+                return true;
+            case "trend":
+                requireSeries(args);
+                BenchmarkHistory.Trend trend = history.trend(args[1], count(args, 2));
+                out.println(trend);
+                print(trend.runs);
+                return true;
+            case "best":
+                requireSeries(args);
+                print(history.best(args[1], count(args, 2)));
+                return true;
+            case "worst":
+                requireSeries(args);
+                print(history.worst(args[1], count(args, 2)));
+                return true;
+            case "drift":
+                for (BenchmarkHistory.Trend t : history.drift(count(args, 1))) {
+                    out.println(t);
+                }
+                return true;
+            case "commit":
+                if (args.length < 2) {
+                    throw new IllegalArgumentException("Usage: commit <hash>");
+                }
+                print(history.byCommit(args[1]));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void print(List<BenchmarkHistory.Run> runs) {
+        for (BenchmarkHistory.Run run : runs) {
+            out.println("  " + run);
+        }
+    }
+
+    private static void requireSeries(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: " + args[0] + " <engine/distribution/n=size> [runs]");
+        }
+    }
+
+    private static int count(String[] args, int index) {
+        return args.length > index ? Integer.parseInt(args[index]) : DEFAULT_RUNS;
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: HistoryCli [--file path] <command>");
+        System.out.println("  series                      list series and run counts");
+        System.out.println("  trend <series> [n]          fitted trend over the last n runs");
+        System.out.println("  best <series> [n]           n fastest runs");
+        System.out.println("  worst <series> [n]          n slowest runs");
+        System.out.println("  drift [n]                   every series by drift over the last n runs");
+        System.out.println("  commit <hash>               runs recorded at a commit");
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(BenchmarkHistory.DEFAULT_FILE);
+        if (args.length >= 2 && "--file".equals(args[0])) {
+            file = Paths.get(args[1]);
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+
+        if (!Files.exists(file)) {
+            System.out.println("No benchmark history at " + file);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (BenchmarkHistory history = BenchmarkHistory.openReadOnly(file)) {
+            System.out.printf("Loaded %,d runs from %s in %.2f ms%n", history.size(), file,
+                    (System.nanoTime() - start) / 1e6);
+            if (history.skippedBytes() > 0) {
+                System.out.printf("Skipped %,d bytes of corrupt records%n", history.skippedBytes());
+            }
+            if (!new HistoryCli(history, System.out).execute(args)) {
+                printUsage();
+            }
+        }
+    }
+}
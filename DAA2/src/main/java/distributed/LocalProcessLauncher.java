@@ -0,0 +1,80 @@
+package distributed;
+
+import models.KadaneSummary;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs each range in a fresh local JVM via {@link ProcessBuilder}
+ */
+public class LocalProcessLauncher implements WorkerLauncher {
+    private final String javaExecutable;
+    private final String classpath;
+    private final List<String> jvmOptions;
+    private final long timeoutMillis;
+
+    /**
+     * Launcher reusing the current JVM binary and classpath
+     */
+    public LocalProcessLauncher(List<String> jvmOptions, long timeoutMillis) {
+        this(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                System.getProperty("java.class.path"), jvmOptions, timeoutMillis);
+    }
+
+    public LocalProcessLauncher(String javaExecutable, String classpath,
+                                List<String> jvmOptions, long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        this.javaExecutable = javaExecutable;
+        this.classpath = classpath;
+        this.jvmOptions = new ArrayList<>(jvmOptions);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public KadaneSummary summarize(Path file, long from, long to) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(javaExecutable);
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(PartitionWorker.class.getName());
+        command.add(file.toAbsolutePath().toString());
+        command.add(Long.toString(from));
+        command.add(Long.toString(to));
+
+        // stdout goes to a file so a hung worker cannot block us past the timeout
+        Path output = Files.createTempFile("kadane-worker-", ".out");
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(output.toFile())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            if (!process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Worker for [" + from + ", " + to + ") timed out");
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("Worker for [" + from + ", " + to + ") exited with " + process.exitValue());
+            }
+            for (String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+                if (line.startsWith(PartitionWorker.OUTPUT_PREFIX)) {
+                    return KadaneSummary.parse(line.substring(PartitionWorker.OUTPUT_PREFIX.length()));
+                }
+            }
+            throw new IOException("Worker for [" + from + ", " + to + ") produced no summary");
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed worker output", e);
+        } finally {
+            process.destroyForcibly();
+            Files.deleteIfExists(output);
+        }
+    }
+}
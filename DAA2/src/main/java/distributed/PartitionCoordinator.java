@@ -0,0 +1,143 @@
+package distributed;
+
+import models.KadaneSummary;
+import models.LongSubarrayResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a little-endian int32 file into contiguous ranges, summarizes each
+ * range with a {@link WorkerLauncher} and merges the summaries left to right
+ * into the global maximum subarray. Failed workers are retried.
+ */
+public class PartitionCoordinator {
+    private final WorkerLauncher launcher;
+    private final int partitions;
+    private final int maxConcurrentWorkers;
+    private final int maxAttempts;
+
+    public PartitionCoordinator(WorkerLauncher launcher, int partitions,
+                                int maxConcurrentWorkers, int maxAttempts) {
+        if (launcher == null) {
+            throw new IllegalArgumentException("Launcher cannot be null");
+        }
+        if (partitions <= 0 || maxConcurrentWorkers <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Partitions, workers and attempts must be positive");
+        }
+        this.launcher = launcher;
+        this.partitions = partitions;
+        this.maxConcurrentWorkers = maxConcurrentWorkers;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Computes the maximum subarray of the whole file
+     */
+    public LongSubarrayResult findMaximumSubarray(Path file) throws IOException, InterruptedException {
+        return summarize(file).toResult();
+    }
+
+    /**
+     * Computes the merged summary of the whole file
+     */
+    public KadaneSummary summarize(Path file) throws IOException, InterruptedException {
+        long size = Files.size(file);
+        if (size % Integer.BYTES != 0) {
+            throw new IOException("File size is not a multiple of 4 bytes: " + file);
+        }
+        long length = size / Integer.BYTES;
+        List<long[]> ranges = split(length, partitions);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrentWorkers, ranges.size()));
+        try {
+            List<Callable<KadaneSummary>> tasks = new ArrayList<>();
+            for (long[] range : ranges) {
+                tasks.add(() -> summarizeWithRetry(file, range[0], range[1]));
+            }
+            KadaneSummary merged = KadaneSummary.empty(0);
+            for (Future<KadaneSummary> future : executor.invokeAll(tasks)) {
+                merged = merged.merge(future.get());
+            }
+            return merged;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Partition failed", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private KadaneSummary summarizeWithRetry(Path file, long from, long to)
+            throws IOException, InterruptedException {
+        IOException last = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                KadaneSummary summary = launcher.summarize(file, from, to);
+                if (summary.offset != from || summary.length != to - from) {
+                    throw new IOException("Worker returned summary for wrong range: " + summary);
+                }
+                return summary;
+            } catch (IOException e) {
+                last = e;
+                System.err.printf("Partition [%d, %d) attempt %d/%d failed: %s%n",
+                        from, to, attempt, maxAttempts, e.getMessage());
+            }
+        }
+        throw new IOException("Partition [" + from + ", " + to + ") failed after "
+                + maxAttempts + " attempts", last);
+    }
+
+    /**
+     * Splits [0, length) into up to {@code parts} near-equal non-empty ranges
+     */
+    static List<long[]> split(long length, int parts) {
+        if (length == 0) {
+            return Collections.singletonList(new long[]{0, 0});
+        }
+        int count = (int) Math.min(parts, length);
+        List<long[]> ranges = new ArrayList<>(count);
+        long base = length / count;
+        long extra = length % count;
+        long from = 0;
+        for (int i = 0; i < count; i++) {
+            long to = from + base + (i < extra ? 1 : 0);
+            ranges.add(new long[]{from, to});
+            from = to;
+        }
+        return ranges;
+    }
+
+    /**
+     * Usage: PartitionCoordinator &lt;file&gt; [partitions] [workers] [attempts]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: PartitionCoordinator <file> [partitions] [workers] [attempts]");
+            System.exit(2);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        int partitions = args.length > 1 ? Integer.parseInt(args[1]) : cores;
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : cores;
+        int attempts = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        PartitionCoordinator coordinator = new PartitionCoordinator(
+                new LocalProcessLauncher(Collections.emptyList(), 10 * 60 * 1000L),
+                partitions, workers, attempts);
+        long start = System.nanoTime();
+        LongSubarrayResult result = coordinator.findMaximumSubarray(Paths.get(args[0]));
+        System.out.println("Result: " + result);
+        System.out.printf("Elapsed: %,d ms%n", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,35 @@
+package distributed;
+
+import algorithms.OffHeapKadane;
+import models.KadaneSummary;
+import storage.OffHeapIntArray;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Worker process entry point: maps the input file, summarizes one range and
+ * prints a single {@link #OUTPUT_PREFIX} line on stdout.
+ *
+ * Usage: PartitionWorker &lt;file&gt; &lt;from&gt; &lt;to&gt;
+ */
+public class PartitionWorker {
+    public static final String OUTPUT_PREFIX = "KADANE-SUMMARY ";
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: PartitionWorker <file> <from> <to>");
+            System.exit(2);
+        }
+        try {
+            OffHeapIntArray data = OffHeapIntArray.map(Paths.get(args[0]));
+            long from = Long.parseLong(args[1]);
+            long to = Long.parseLong(args[2]);
+            KadaneSummary summary = OffHeapKadane.summarize(data, from, to);
+            System.out.println(OUTPUT_PREFIX + summary.toCompactString());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Worker failed: " + e);
+            System.exit(1);
+        }
+    }
+}
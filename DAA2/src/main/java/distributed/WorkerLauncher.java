@@ -0,0 +1,21 @@
+package distributed;
+
+import models.KadaneSummary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Computes the Kadane summary of one range of a binary input file.
+ * {@link LocalProcessLauncher} forks a local JVM; other implementations can
+ * dispatch the same request to remote workers.
+ */
+public interface WorkerLauncher {
+    /**
+     * @param file  little-endian int32 input file
+     * @param from  first element index (inclusive)
+     * @param to    last element index (exclusive)
+     * @throws IOException if the worker failed or returned no summary
+     */
+    KadaneSummary summarize(Path file, long from, long to) throws IOException, InterruptedException;
+}
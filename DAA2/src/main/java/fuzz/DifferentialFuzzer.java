@@ -0,0 +1,598 @@
+package fuzz;
+
+import algorithms.CompactKadane;
+import algorithms.DeletionKadane;
+import algorithms.FloatingPointKadane;
+import algorithms.KadaneAlgorithm;
+import algorithms.KadaneState;
+import algorithms.KeyedKadane;
+import algorithms.LengthConstrainedKadane;
+import algorithms.OffHeapKadane;
+import algorithms.RunLengthKadane;
+import algorithms.RuzzoTompa;
+import algorithms.ThresholdKadane;
+import cli.BenchmarkRunner;
+import models.DeletionSubarrayResult;
+import models.DoubleSubarrayResult;
+import models.LongSubarrayResult;
+import models.SubarrayResult;
+import storage.DeltaVarintFile;
+import storage.DeltaVarintWriter;
+import storage.OffHeapIntArray;
+import storage.StreamIntSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Differential fuzzer: runs every maximum subarray engine on random and
+ * adversarial inputs in parallel and checks each answer against an oracle
+ * ({@link BenchmarkRunner#naiveMaximumSubarray} for small inputs, a prefix-sum
+ * scan for large ones). Failing inputs are shrunk to a minimal counterexample.
+ *
+ * Engines may pick any optimal segment, so a result is accepted when its sum
+ * equals the oracle's and its [start, end] range really sums to that value.
+ * Engines answering a different question (deletions) bring their own check.
+ * Parallel engines run with tiny chunks so fuzz-sized inputs really split.
+ */
+public class DifferentialFuzzer {
+    /** Inputs up to this length are checked against the O(n²) oracle */
+    static final int NAIVE_ORACLE_LIMIT = 64;
+
+    /**
+     * An engine under test
+     */
+    public interface Engine {
+        String name();
+
+        LongSubarrayResult run(int[] nums);
+
+        /**
+         * Expected maximum given the oracle's (non-empty) maximum
+         */
+        default long expected(long oracleBest) {
+            return oracleBest;
+        }
+
+        /**
+         * @return null if {@code result} is correct for {@code nums}, otherwise a description
+         */
+        default String verify(int[] nums, LongSubarrayResult result) {
+            return verifyMaximum(this, nums, result);
+        }
+    }
+
+    /**
+     * A minimized failing input
+     */
+    public static class Failure {
+        public final String engine;
+        public final long seed;
+        public final int[] input;
+        public final String message;
+
+        Failure(String engine, long seed, int[] input, String message) {
+            this.engine = engine;
+            this.seed = seed;
+            this.input = input;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return engine + " (seed " + seed + "): " + message + " on " + Arrays.toString(input);
+        }
+    }
+
+    /**
+     * Outcome of a fuzzing campaign
+     */
+    public static class Report {
+        public final long iterations;
+        public final long elapsedMillis;
+        public final List<Failure> failures;
+
+        Report(long iterations, long elapsedMillis, List<Failure> failures) {
+            this.iterations = iterations;
+            this.elapsedMillis = elapsedMillis;
+            this.failures = failures;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Fuzzed %,d inputs in %,d ms, %d failure(s)%s", iterations, elapsedMillis,
+                    failures.size(), failures.isEmpty() ? "" : "\n  " + failures);
+        }
+    }
+
+    private final Supplier<List<Engine>> engineFactory;
+    private final int threads;
+    private final int maxLength;
+
+    /**
+     * @param engineFactory creates a fresh engine set per worker thread
+     * @param maxLength     largest generated input
+     */
+    public DifferentialFuzzer(Supplier<List<Engine>> engineFactory, int threads, int maxLength) {
+        if (engineFactory == null || threads <= 0 || maxLength <= 0) {
+            throw new IllegalArgumentException("Invalid fuzzer configuration");
+        }
+        this.engineFactory = engineFactory;
+        this.threads = threads;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Fuzzes until {@code maxIterations} inputs were checked or the time budget runs out.
+     * Stops early after the first failure.
+     */
+    public Report run(long seed, long maxIterations, long timeBudgetMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        AtomicLong iterations = new AtomicLong();
+        List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+        long start = System.currentTimeMillis();
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final long workerSeed = seed + t * 0x9E3779B97F4A7C15L;
+            workers[t] = new Thread(() -> {
+                List<Engine> engines = engineFactory.get();
+                Random random = new Random(workerSeed);
+                while (failures.isEmpty() && System.nanoTime() < deadline) {
+                    long iteration = iterations.getAndIncrement();
+                    if (iteration >= maxIterations) break;
+                    long inputSeed = random.nextLong();
+                    int[] nums = generate(new Random(inputSeed), maxLength);
+                    for (Engine engine : engines) {
+                        String error = check(engine, nums);
+                        if (error != null) {
+                            int[] minimal = shrink(engine, nums);
+                            failures.add(new Failure(engine.name(), inputSeed, minimal, check(engine, minimal)));
+                            return;
+                        }
+                    }
+                }
+            }, "kadane-fuzz-" + t);
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return new Report(Math.min(iterations.get(), maxIterations),
+                System.currentTimeMillis() - start, new ArrayList<>(failures));
+    }
+
+    /**
+     * @return null if the engine agrees with the oracle, otherwise a description
+     */
+    public static String check(Engine engine, int[] nums) {
+        LongSubarrayResult result;
+        try {
+            result = engine.run(nums);
+        } catch (RuntimeException e) {
+            return "threw " + e;
+        }
+        return engine.verify(nums, result);
+    }
+
+    /**
+     * Checks a maximum subarray answer against {@link #oracle} and its own range
+     */
+    static String verifyMaximum(Engine engine, int[] nums, LongSubarrayResult result) {
+        if (nums.length == 0) {
+            return result.isEmptySubarray() ? null : "non-empty result for empty input: " + result;
+        }
+
+        long expected = engine.expected(oracle(nums));
+        if (result.getMaxSum() != expected) {
+            return "sum " + result.getMaxSum() + " != expected " + expected;
+        }
+        if (result.isEmptySubarray()) {
+            return expected == 0 ? null : "empty result but expected " + expected;
+        }
+        long start = result.getStartIndex();
+        long end = result.getEndIndex();
+        if (start < 0 || end >= nums.length || start > end) {
+            return "invalid range [" + start + ":" + end + "]";
+        }
+        long rangeSum = 0;
+        for (int i = (int) start; i <= end; i++) rangeSum += nums[i];
+        if (rangeSum != result.getMaxSum()) {
+            return "range [" + start + ":" + end + "] sums to " + rangeSum + ", reported " + result.getMaxSum();
+        }
+        return null;
+    }
+
+    /**
+     * Best non-empty subarray sum
+     */
+    static long oracle(int[] nums) {
+        if (nums.length <= NAIVE_ORACLE_LIMIT) {
+            return BenchmarkRunner.naiveMaximumSubarray(nums).getMaxSum();
+        }
+        long prefix = 0;
+        long minPrefix = 0;
+        long best = Long.MIN_VALUE;
+        for (int value : nums) {
+            prefix += value;
+            best = Math.max(best, prefix - minPrefix);
+            minPrefix = Math.min(minPrefix, prefix);
+        }
+        return best;
+    }
+
+    /**
+     * Mix of uniform and adversarial shapes; magnitudes are bounded so every
+     * partial sum fits in an int (the int engines do not guard overflow).
+     */
+    static int[] generate(Random random, int maxLength) {
+        int n = random.nextInt(4) == 0 ? random.nextInt(maxLength + 1) : random.nextInt(Math.min(maxLength, 48) + 1);
+        int bound = Math.max(1, Math.min(1 << (1 + random.nextInt(20)), Integer.MAX_VALUE / Math.max(1, n) / 2));
+        int[] nums = new int[n];
+        switch (random.nextInt(8)) {
+            case 0: // all negative
+                for (int i = 0; i < n; i++) nums[i] = -1 - random.nextInt(bound);
+                break;
+            case 1: // all non-negative
+                for (int i = 0; i < n; i++) nums[i] = random.nextInt(bound);
+                break;
+            case 2: // alternating signs
+                for (int i = 0; i < n; i++) nums[i] = (i % 2 == 0 ? 1 : -1) * random.nextInt(bound);
+                break;
+            case 3: // runs of equal values (ties everywhere)
+                for (int i = 0; i < n; ) {
+                    int value = random.nextInt(2 * bound + 1) - bound;
+                    int run = 1 + random.nextInt(8);
+                    for (int k = 0; k < run && i < n; k++) nums[i++] = value;
+                }
+                break;
+            case 4: // mostly zeros with a few spikes
+                for (int i = 0; i < n; i++) {
+                    nums[i] = random.nextInt(6) == 0 ? random.nextInt(2 * bound + 1) - bound : 0;
+                }
+                break;
+            case 5: // tiny values, many ties
+                for (int i = 0; i < n; i++) nums[i] = random.nextInt(3) - 1;
+                break;
+            case 6: // sawtooth
+                for (int i = 0; i < n; i++) nums[i] = (i % 5) - 2;
+                break;
+            default: // uniform
+                for (int i = 0; i < n; i++) nums[i] = random.nextInt(2 * bound + 1) - bound;
+        }
+        return nums;
+    }
+
+    /**
+     * Greedy delta-debugging: drop chunks of decreasing size, then pull values
+     * toward zero, while the engine keeps failing
+     */
+    public static int[] shrink(Engine engine, int[] failing) {
+        int[] current = failing.clone();
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (int chunk = Math.max(1, current.length / 2); chunk >= 1; chunk /= 2) {
+                for (int from = 0; from + chunk <= current.length; ) {
+                    int[] candidate = new int[current.length - chunk];
+                    System.arraycopy(current, 0, candidate, 0, from);
+                    System.arraycopy(current, from + chunk, candidate, from, current.length - from - chunk);
+                    if (check(engine, candidate) != null) {
+                        current = candidate;
+                        progress = true;
+                    } else {
+                        from++;
+                    }
+                }
+                if (chunk == 1) break;
+            }
+            for (int i = 0; i < current.length; i++) {
+                for (int value : new int[]{0, Integer.signum(current[i]), current[i] / 2}) {
+                    if (value == current[i]) continue;
+                    int previous = current[i];
+                    current[i] = value;
+                    if (check(engine, current) != null) {
+                        progress = true;
+                        break;
+                    }
+                    current[i] = previous;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Every int-input maximum subarray engine in the project
+     */
+    public static List<Engine> defaultEngines() {
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        OffHeapKadane offHeap = new OffHeapKadane();
+        LengthConstrainedKadane constrained = new LengthConstrainedKadane();
+        DeletionKadane deletion = new DeletionKadane();
+        FloatingPointKadane floating = new FloatingPointKadane();
+        RunLengthKadane runLength = new RunLengthKadane();
+        ThresholdKadane threshold = new ThresholdKadane();
+        CompactKadane compact = new CompactKadane();
+        RuzzoTompa ruzzoTompa = new RuzzoTompa();
+        KeyedKadane keyed = new KeyedKadane(4, 2);
+
+        List<Engine> engines = new ArrayList<>();
+        engines.add(engine("standard", nums -> widen(kadane.findMaximumSubarray(nums))));
+        engines.add(engine("detailed", nums -> widen(kadane.findMaximumSubarrayWithMetrics(nums))));
+        engines.add(new Engine() {
+            public String name() { return "allowEmpty"; }
+            public LongSubarrayResult run(int[] nums) { return widen(kadane.findMaximumSubarrayAllowEmpty(nums)); }
+            public long expected(long oracleBest) { return Math.max(0, oracleBest); }
+        });
+        engines.add(engine("offheap", nums -> offHeap.findMaximumSubarray(OffHeapIntArray.fromArray(nums, 3))));
+        // 8-int chunks and 5-element leaves: splits land on and off chunk edges
+        engines.add(engine("offheap-parallel",
+                nums -> offHeap.findMaximumSubarrayParallel(OffHeapIntArray.fromArray(nums, 3), 2, 5)));
+        engines.add(engine("kadane-state", nums -> {
+            KadaneState state = new KadaneState(0);
+            int half = nums.length / 2;
+            state.accept(nums, 0, half);
+            KadaneState resumed = KadaneState.resume(state.toSummary());
+            resumed.accept(nums, half, nums.length - half);
+            return resumed.toSummary().toResult();
+        }));
+        engines.add(engine("length-constrained", nums -> nums.length == 0
+                ? new LongSubarrayResult(0, -1, -1)
+                : widen(constrained.findMaximumSubarray(nums, 1, nums.length))));
+        engines.add(engine("length-constrained-parallel", nums -> nums.length == 0
+                ? new LongSubarrayResult(0, -1, -1)
+                : widen(constrained.findMaximumSubarrayParallel(nums, 1, nums.length, 2, 3))));
+        engines.add(engine("deletions-0", nums -> widen(deletion.findMaximumSubarray(nums, 0))));
+        engines.add(new DeletionEngine(deletion, 1));
+        engines.add(new DeletionEngine(deletion, 3));
+        engines.add(engine("rle", nums -> widen(runLength.findMaximumSubarray(nums))));
+        engines.add(engine("source-stream", nums -> {
+            ByteBuffer bytes = ByteBuffer.allocate(nums.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            bytes.asIntBuffer().put(nums);
+            // 3-byte reads split values across reads
+            InputStream in = new ByteArrayInputStream(bytes.array()) {
+                @Override
+                public synchronized int read(byte[] b, int off, int len) {
+                    return super.read(b, off, Math.min(len, 3));
+                }
+            };
+            try {
+                return kadane.findMaximumSubarrayFrom(new StreamIntSource(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        engines.add(engine("threshold", nums -> maximumByThreshold(nums, t -> threshold.findSegmentAtLeast(nums, t))));
+        engines.add(engine("threshold-parallel", nums -> maximumByThreshold(nums,
+                t -> threshold.findSegmentAtLeastParallel(nums, t, 2, 4))));
+        engines.add(engine("compact", nums -> {
+            try {
+                return compactQuery(compact, nums, 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        // leading values put the range off block boundaries, so boundary blocks are decoded
+        engines.add(engine("compact-range", nums -> {
+            try {
+                return compactQuery(compact, nums, 3);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        engines.add(new Engine() {
+            public String name() { return "ruzzo-tompa"; }
+            public LongSubarrayResult run(int[] nums) {
+                // the best maximal segment; none exist when no value is positive
+                LongSubarrayResult[] best = {new LongSubarrayResult(0, -1, -1)};
+                ruzzoTompa.findMaximalSegments(nums, (start, end, sum) -> {
+                    if (best[0].isEmptySubarray() || sum > best[0].getMaxSum()) {
+                        best[0] = new LongSubarrayResult(sum, start, end);
+                    }
+                });
+                return best[0];
+            }
+            public long expected(long oracleBest) { return Math.max(0, oracleBest); }
+        });
+        engines.add(engine("keyed", nums -> {
+            // the series under test is interleaved with a second key's values
+            long[] keys = new long[2 * nums.length];
+            int[] values = new int[2 * nums.length];
+            for (int i = 0; i < nums.length; i++) {
+                keys[2 * i] = 7;
+                values[2 * i] = nums[i];
+                keys[2 * i + 1] = 8;
+                values[2 * i + 1] = Integer.MAX_VALUE - i;
+            }
+            keyed.accept(keys, values, 0, keys.length);
+            LongSubarrayResult result = keyed.query(7);
+            keyed.remove(7);
+            keyed.remove(8);
+            return result == null ? new LongSubarrayResult(0, -1, -1) : result;
+        }));
+        engines.add(engine("double", nums -> {
+            double[] values = new double[nums.length];
+            for (int i = 0; i < nums.length; i++) values[i] = nums[i];
+            DoubleSubarrayResult r = floating.findMaximumSubarray(values);
+            return new LongSubarrayResult((long) r.getMaxSum(), r.getStartIndex(), r.getEndIndex());
+        }));
+        return engines;
+    }
+
+    /**
+     * Maximum sum recovered from threshold queries alone: binary search for
+     * the largest T that some segment reaches, then return that segment
+     *
+     * @param search a segment with sum ≥ T, or an empty result
+     */
+    private static LongSubarrayResult maximumByThreshold(int[] nums, LongFunction<LongSubarrayResult> search) {
+        if (nums.length == 0) {
+            return search.apply(0);
+        }
+        long low = Long.MAX_VALUE;
+        long high = 0;
+        for (int value : nums) {
+            low = Math.min(low, value);
+            high += Math.max(0, value);
+        }
+        // invariant: a segment reaches low, none reaches above high
+        high = Math.max(high, low);
+        while (low < high) {
+            long mid = low + (high - low + 1) / 2;
+            if (!search.apply(mid).isEmptySubarray()) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return search.apply(low);
+    }
+
+    /**
+     * {@link DeletionKadane} with K > 0 deletions, checked against a brute force
+     * over every segment for small inputs. Larger inputs are checked for a
+     * consistent answer that is at least the plain maximum subarray.
+     */
+    private static class DeletionEngine implements Engine {
+        private final DeletionKadane deletion;
+        private final int maxDeletions;
+        private DeletionSubarrayResult last;
+
+        DeletionEngine(DeletionKadane deletion, int maxDeletions) {
+            this.deletion = deletion;
+            this.maxDeletions = maxDeletions;
+        }
+
+        public String name() { return "deletions-" + maxDeletions; }
+
+        public LongSubarrayResult run(int[] nums) {
+            last = deletion.findMaximumSubarray(nums, maxDeletions);
+            return widen(last);
+        }
+
+        public String verify(int[] nums, LongSubarrayResult result) {
+            if (nums.length == 0) {
+                return result.isEmptySubarray() ? null : "non-empty result for empty input: " + result;
+            }
+            int start = last.getStartIndex();
+            int end = last.getEndIndex();
+            if (start < 0 || end >= nums.length || start > end) {
+                return "invalid range [" + start + ":" + end + "]";
+            }
+            int[] deleted = last.getDeletedIndices();
+            if (deleted.length > maxDeletions || deleted.length > end - start) {
+                return deleted.length + " deletions in [" + start + ":" + end + "]";
+            }
+            long kept = 0;
+            for (int i = start; i <= end; i++) kept += nums[i];
+            for (int d : deleted) {
+                if (d < start || d > end) return "deleted index " + d + " outside [" + start + ":" + end + "]";
+                kept -= nums[d];
+            }
+            if (kept != result.getMaxSum()) {
+                return "kept values sum to " + kept + ", reported " + result.getMaxSum();
+            }
+            long expected = nums.length <= NAIVE_ORACLE_LIMIT ? bruteForce(nums) : oracle(nums);
+            if (nums.length <= NAIVE_ORACLE_LIMIT ? kept != expected : kept < expected) {
+                return "sum " + kept + (nums.length <= NAIVE_ORACLE_LIMIT ? " != expected " : " < Kadane ")
+                        + expected;
+            }
+            return null;
+        }
+
+        /**
+         * Best over all segments of their sum minus up to K most negative
+         * values, always keeping one value
+         */
+        private long bruteForce(int[] nums) {
+            long best = Long.MIN_VALUE;
+            for (int i = 0; i < nums.length; i++) {
+                for (int j = i; j < nums.length; j++) {
+                    int[] segment = Arrays.copyOfRange(nums, i, j + 1);
+                    Arrays.sort(segment);
+                    long sum = 0;
+                    for (int value : segment) sum += value;
+                    for (int d = 0; d < maxDeletions && d < segment.length - 1 && segment[d] < 0; d++) {
+                        sum -= segment[d];
+                    }
+                    best = Math.max(best, sum);
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Writes {@code leading} filler values then {@code nums} to a compact file
+     * with 4-value blocks and queries the range holding {@code nums}
+     */
+    private static LongSubarrayResult compactQuery(CompactKadane compact, int[] nums, int leading)
+            throws IOException {
+        int[] values = new int[leading + nums.length];
+        Arrays.fill(values, 0, leading, Integer.MAX_VALUE);
+        System.arraycopy(nums, 0, values, leading, nums.length);
+        Path file = Files.createTempFile("fuzz", ".kdz");
+        try {
+            DeltaVarintWriter.write(file, values, 4);
+            try (DeltaVarintFile series = DeltaVarintFile.open(file)) {
+                LongSubarrayResult result = leading == 0
+                        ? compact.findMaximumSubarray(series)
+                        : compact.findMaximumSubarray(series, leading, values.length);
+                if (result.isEmptySubarray()) {
+                    return result;
+                }
+                return new LongSubarrayResult(result.getMaxSum(), result.getStartIndex() - leading,
+                        result.getEndIndex() - leading);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Adapts a lambda to {@link Engine}
+     */
+    public static Engine engine(String name, java.util.function.Function<int[], LongSubarrayResult> run) {
+        return new Engine() {
+            public String name() { return name; }
+            public LongSubarrayResult run(int[] nums) { return run.apply(nums); }
+        };
+    }
+
+    private static LongSubarrayResult widen(SubarrayResult result) {
+        return new LongSubarrayResult(result.getMaxSum(), result.getStartIndex(), result.getEndIndex());
+    }
+
+    /**
+     * Usage: DifferentialFuzzer [seconds] [maxLength] [seed]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 60;
+        int maxLength = args.length > 1 ? Integer.parseInt(args[1]) : 2048;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        System.out.printf("Fuzzing for %d s, maxLength %d, seed %d%n", seconds, maxLength, seed);
+        DifferentialFuzzer fuzzer = new DifferentialFuzzer(DifferentialFuzzer::defaultEngines,
+                Runtime.getRuntime().availableProcessors(), maxLength);
+        Report report = fuzzer.run(seed, Long.MAX_VALUE, seconds * 1000);
+        System.out.println(report);
+        if (!report.failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+}
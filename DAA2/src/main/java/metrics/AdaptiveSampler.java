@@ -0,0 +1,191 @@
+package metrics;
+
+/**
+ * Measures the mean time of a call by sampling until the 95% confidence
+ * interval is tight enough, instead of for a fixed iteration count.
+ *
+ * Each sample times a batch of calls; the batch size is calibrated so one
+ * sample spans at least {@code minSampleNanos}, which keeps
+ * {@link System#nanoTime()} resolution from dominating small inputs. Sampling
+ * stops once the CI half-width (Student t, n - 1 degrees of freedom) falls
+ * below {@code targetRelativeError} of the mean, or when the time budget or
+ * sample limit is reached. The caller is expected to warm up first
+ * (see {@link WarmupController}).
+ */
+public class AdaptiveSampler {
+    /** One-sided 0.975 Student t quantiles (two-sided 95% intervals) for 1..30 degrees of freedom */
+    private static final double[] T_975 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    private final double targetRelativeError;
+    private final int minSamples;
+    private final int maxSamples;
+    private final long timeBudgetMillis;
+    private final long minSampleNanos;
+
+    public static class Estimate {
+        /** Mean time per call */
+        public final double meanNs;
+        /** Standard deviation of per-call sample means */
+        public final double stdDevNs;
+        /** 95% confidence interval half-width of the mean */
+        public final double halfWidthNs;
+        public final int samples;
+        public final int callsPerSample;
+        public final double minNs;
+        public final double maxNs;
+        /** True if the target relative error was reached within the budget */
+        public final boolean converged;
+
+        public Estimate(double meanNs, double stdDevNs, double halfWidthNs, int samples,
+                        int callsPerSample, double minNs, double maxNs, boolean converged) {
+            this.meanNs = meanNs;
+            this.stdDevNs = stdDevNs;
+            this.halfWidthNs = halfWidthNs;
+            this.samples = samples;
+            this.callsPerSample = callsPerSample;
+            this.minNs = minNs;
+            this.maxNs = maxNs;
+            this.converged = converged;
+        }
+
+        public double relativeError() {
+            return meanNs > 0 ? halfWidthNs / meanNs : Double.POSITIVE_INFINITY;
+        }
+
+        public long totalCalls() {
+            return (long) samples * callsPerSample;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.2f ns ± %.2f ns (95%% CI, ±%.1f%%, %d samples x %d calls%s)",
+                    meanNs, halfWidthNs, relativeError() * 100, samples, callsPerSample,
+                    converged ? "" : ", budget exhausted");
+        }
+    }
+
+    /**
+     * @param targetRelativeError stop once the CI half-width is at most this fraction of the mean
+     * @param minSamples          samples taken before the stopping rule applies (at least 2)
+     * @param maxSamples          hard cap on samples
+     * @param timeBudgetMillis    wall-clock budget for sampling, excluding calibration
+     * @param minSampleNanos      minimum duration of one timed batch
+     */
+    public AdaptiveSampler(double targetRelativeError, int minSamples, int maxSamples,
+                           long timeBudgetMillis, long minSampleNanos) {
+        if (!(targetRelativeError > 0) || minSamples < 2 || maxSamples < minSamples
+                || timeBudgetMillis <= 0 || minSampleNanos < 0) {
+            throw new IllegalArgumentException("Invalid sampler configuration");
+        }
+        this.targetRelativeError = targetRelativeError;
+        this.minSamples = minSamples;
+        this.maxSamples = maxSamples;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.minSampleNanos = minSampleNanos;
+    }
+
+    /**
+     * 2% relative error, 10..10,000 samples, 2 s budget, 100 µs per sample
+     */
+    public AdaptiveSampler() {
+        this(0.02, 10, 10_000, 2_000, 100_000);
+    }
+
+    public Estimate measure(Runnable call) {
+        return measure(call, null);
+    }
+
+    /**
+     * @param betweenSamples optional untimed hook run after every sample,
+     *                       e.g. to clear per-call records
+     */
+    public Estimate measure(Runnable call, Runnable betweenSamples) {
+        if (call == null) {
+            throw new IllegalArgumentException("Call cannot be null");
+        }
+        int batch = calibrate(call);
+        if (betweenSamples != null) betweenSamples.run();
+
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        int n = 0;
+        double mean = 0;
+        double m2 = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = 0;
+        double halfWidth = Double.POSITIVE_INFINITY;
+        boolean converged = false;
+
+        while (n < maxSamples) {
+            long start = System.nanoTime();
+            for (int c = 0; c < batch; c++) {
+                call.run();
+            }
+            long end = System.nanoTime();
+            if (betweenSamples != null) betweenSamples.run();
+
+            // Welford's online mean and variance
+            double x = (double) (end - start) / batch;
+            n++;
+            double delta = x - mean;
+            mean += delta / n;
+            m2 += delta * (x - mean);
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+
+            if (n >= 2) {
+                halfWidth = tQuantile(n - 1) * Math.sqrt(m2 / (n - 1) / n);
+            }
+            if (n >= minSamples && halfWidth <= targetRelativeError * mean) {
+                converged = true;
+                break;
+            }
+            if (end >= deadline) {
+                break;
+            }
+        }
+
+        double stdDev = n >= 2 ? Math.sqrt(m2 / (n - 1)) : 0;
+        return new Estimate(mean, stdDev, halfWidth, n, batch, min, max, converged);
+    }
+
+    /**
+     * Doubles the batch size until one batch takes at least minSampleNanos
+     */
+    private int calibrate(Runnable call) {
+        int batch = 1;
+        while (true) {
+            long start = System.nanoTime();
+            for (int c = 0; c < batch; c++) {
+                call.run();
+            }
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= minSampleNanos || batch >= 1 << 24) {
+                return batch;
+            }
+            // jump close to the target once the batch is long enough to time reliably
+            if (elapsed > 1_000) {
+                long scaled = (long) Math.ceil((double) batch * minSampleNanos / elapsed);
+                batch = (int) Math.min(Math.max(scaled, batch * 2L), 1 << 24);
+            } else {
+                batch *= 2;
+            }
+        }
+    }
+
+    /**
+     * Two-sided 95% Student t critical value; beyond 30 degrees of freedom
+     * 1.96 + 2.5/df is within 0.002 of the exact value
+     */
+    static double tQuantile(int degreesOfFreedom) {
+        if (degreesOfFreedom < 1) {
+            throw new IllegalArgumentException("Degrees of freedom must be positive");
+        }
+        if (degreesOfFreedom <= T_975.length) {
+            return T_975[degreesOfFreedom - 1];
+        }
+        return 1.96 + 2.5 / degreesOfFreedom;
+    }
+}
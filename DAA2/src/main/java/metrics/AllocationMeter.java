@@ -0,0 +1,82 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Per-thread allocation counter backed by
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ * Unlike heap usage deltas it is unaffected by GC timing and other threads,
+ * so a zero reading means the measured code really did not allocate.
+ */
+public final class AllocationMeter {
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = lookup();
+    private static final long OVERHEAD = calibrate();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * True if the JVM exposes per-thread allocation counters
+     */
+    public static boolean isSupported() {
+        return THREAD_BEAN != null;
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 if unsupported
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (THREAD_BEAN == null) {
+            return -1;
+        }
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Bytes allocated by the current thread since {@code start}, corrected for
+     * the cost of reading the counter itself; -1 if unsupported
+     */
+    public static long allocatedSince(long start) {
+        if (start < 0) {
+            return -1;
+        }
+        return Math.max(0, currentThreadAllocatedBytes() - start - OVERHEAD);
+    }
+
+    private static com.sun.management.ThreadMXBean lookup() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        try {
+            if (!sunBean.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return sunBean;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Smallest delta between two back-to-back reads (non-zero on some JVMs
+     * before the counter call is JIT-compiled)
+     */
+    private static long calibrate() {
+        if (THREAD_BEAN == null) {
+            return 0;
+        }
+        long id = Thread.currentThread().getId();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 1_000; i++) {
+            long before = THREAD_BEAN.getThreadAllocatedBytes(id);
+            long after = THREAD_BEAN.getThreadAllocatedBytes(id);
+            min = Math.min(min, after - before);
+        }
+        return min;
+    }
+}
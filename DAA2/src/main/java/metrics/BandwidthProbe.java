@@ -0,0 +1,102 @@
+package metrics;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * STREAM-like read bandwidth probe: sums an int array of a given working-set
+ * size repeatedly and reports the best sustained rate. The sum kernel does the
+ * least possible work per element, so its rate is the memory roofline that a
+ * sequential scan of the same working set can reach at best.
+ */
+public final class BandwidthProbe {
+    /** Keeps the JIT from discarding the sums */
+    private static volatile long sink;
+
+    private BandwidthProbe() {
+    }
+
+    /**
+     * Best single-thread read bandwidth in GB/s (10^9 bytes) over an
+     * {@code ints}-element working set, measured for about {@code millis} ms
+     */
+    public static double measureReadBandwidth(int ints, long millis) {
+        int[] data = filled(ints);
+        return bestRate(data, 0, ints, millis);
+    }
+
+    /**
+     * Aggregate read bandwidth of {@code threads} threads each summing its own
+     * slice of an {@code ints}-element working set
+     */
+    public static double measureParallelReadBandwidth(int ints, int threads, long millis) throws InterruptedException {
+        if (threads <= 1) {
+            return measureReadBandwidth(ints, millis);
+        }
+        int[] data = filled(ints);
+        double[] rates = new double[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            final int from = (int) ((long) ints * t / threads);
+            final int to = (int) ((long) ints * (t + 1) / threads);
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                rates[id] = bestRate(data, from, to, millis);
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        double total = 0;
+        for (int t = 0; t < threads; t++) {
+            workers[t].join();
+            total += rates[t];
+        }
+        return total;
+    }
+
+    /**
+     * Batches passes so each timed sample is at least ~64 Ki elements, then
+     * keeps the fastest sample
+     */
+    private static double bestRate(int[] data, int from, int to, long millis) {
+        int n = Math.max(1, to - from);
+        int passes = Math.max(1, (1 << 16) / n);
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+        long bestNs = Long.MAX_VALUE;
+        long sum = 0;
+        do {
+            long start = System.nanoTime();
+            for (int p = 0; p < passes; p++) {
+                sum += sum(data, from, to);
+            }
+            bestNs = Math.min(bestNs, System.nanoTime() - start);
+        } while (System.nanoTime() < deadline);
+        sink = sum;
+        return (double) passes * n * Integer.BYTES / Math.max(1, bestNs);
+    }
+
+    static long sum(int[] data, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += data[i];
+        }
+        return sum;
+    }
+
+    private static int[] filled(int ints) {
+        if (ints <= 0) {
+            throw new IllegalArgumentException("Working set must be positive");
+        }
+        int[] data = new int[ints];
+        for (int i = 0; i < ints; i++) {
+            data[i] = (i * 31) % 2001 - 1000;
+        }
+        return data;
+    }
+}
@@ -0,0 +1,175 @@
+package metrics;
+
+import algorithms.DeletionKadane;
+import algorithms.KadaneAlgorithm;
+import algorithms.LengthConstrainedKadane;
+import algorithms.MaxProductKadane;
+import metrics.PerformanceTracker.BenchmarkResult;
+import models.SubarrayResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Child JVM entry point for {@link ForkedBenchmarkRunner}: benchmarks a single
+ * (engine, size, distribution) trial and prints one {@link #OUTPUT_PREFIX}
+ * line on stdout, so no other engine can shape this JVM's type profiles.
+ *
+ * Usage: BenchmarkFork &lt;engine&gt; &lt;size&gt; &lt;distribution&gt; &lt;minWarmup&gt; &lt;iterations&gt; &lt;seed&gt;
+ */
+public class BenchmarkFork {
+    public static final String OUTPUT_PREFIX = "KADANE-BENCH ";
+
+    /** Engines runnable in a fork; each fork creates only the one it measures */
+    public static final List<String> ENGINES = Collections.unmodifiableList(Arrays.asList(
+            "standard", "detailed", "allowEmpty", "length-constrained", "deletions-1", "max-product"));
+
+    /** Input distributions understood by {@link #generate} */
+    public static final String[] DISTRIBUTIONS = {"random", "positive", "negative", "alternating"};
+
+    /** Distinct inputs rotated through, as in the in-process benchmark */
+    private static final int INPUTS = 4;
+
+    public static void main(String[] args) {
+        if (args.length != 6) {
+            System.err.println("Usage: BenchmarkFork <engine> <size> <distribution> <minWarmup> <iterations> <seed>");
+            System.exit(2);
+        }
+        try {
+            BenchmarkResult result = run(args[0], Integer.parseInt(args[1]), args[2],
+                    new WarmupController(Integer.parseInt(args[3])), Integer.parseInt(args[4]),
+                    Long.parseLong(args[5]));
+            System.out.println(OUTPUT_PREFIX + format(result));
+        } catch (RuntimeException e) {
+            System.err.println("Benchmark fork failed: " + e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Warms up until steady state, then measures {@code iterations} calls
+     */
+    public static BenchmarkResult run(String engineName, int size, String distribution,
+                                      WarmupController warmup, int iterations, long seed) {
+        Function<int[], SubarrayResult> engine = engine(engineName);
+        if (size <= 0 || iterations <= 0) {
+            throw new IllegalArgumentException("Size and iterations must be positive");
+        }
+        Random random = new Random(seed);
+        int[][] inputs = new int[INPUTS][];
+        for (int i = 0; i < INPUTS; i++) {
+            inputs[i] = generate(distribution, size, random);
+        }
+
+        for (int i = 0; ; i++) {
+            long startTime = System.nanoTime();
+            engine.apply(inputs[i % INPUTS]);
+            if (warmup.record(System.nanoTime() - startTime)) break;
+        }
+
+        long[] times = new long[iterations];
+        long[] allocated = new long[iterations];
+        double comparisons = 0;
+        double accesses = 0;
+        for (int i = 0; i < iterations; i++) {
+            int[] nums = inputs[i % INPUTS];
+            long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+            long startTime = System.nanoTime();
+            SubarrayResult result = engine.apply(nums);
+            times[i] = System.nanoTime() - startTime;
+            allocated[i] = AllocationMeter.allocatedSince(allocatedBefore);
+            comparisons += result.getComparisons();
+            accesses += result.getArrayAccesses();
+        }
+
+        double mean = Arrays.stream(times).average().orElse(0);
+        double variance = 0;
+        for (long t : times) variance += (t - mean) * (t - mean);
+        double bytes = AllocationMeter.isSupported() ? Arrays.stream(allocated).average().orElse(0) : -1;
+        return new BenchmarkResult(size, mean, Math.sqrt(variance / iterations),
+                (int) Math.min(Integer.MAX_VALUE, Arrays.stream(times).min().orElse(0)),
+                (int) Math.min(Integer.MAX_VALUE, Arrays.stream(times).max().orElse(0)),
+                comparisons / iterations, accesses / iterations, iterations, distribution, bytes,
+                warmup.finish());
+    }
+
+    public static int[] generate(String distribution, int size, Random random) {
+        int[] nums = new int[size];
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case "random": nums[i] = random.nextInt(2001) - 1000; break;
+                case "positive": nums[i] = 1 + random.nextInt(1000); break;
+                case "negative": nums[i] = -1 - random.nextInt(1000); break;
+                case "alternating": nums[i] = (i % 2 == 0 ? 1 : -1) * (1 + random.nextInt(1000)); break;
+                default: throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            }
+        }
+        return nums;
+    }
+
+    /**
+     * Single-line encoding of a result including its warmup
+     */
+    public static String format(BenchmarkResult r) {
+        WarmupController.WarmupResult w = r.warmup;
+        return String.join(",", Integer.toString(r.inputSize), Double.toString(r.avgTimeNs),
+                Double.toString(r.stdDevTimeNs), Integer.toString(r.minTimeNs), Integer.toString(r.maxTimeNs),
+                Double.toString(r.avgComparisons), Double.toString(r.avgArrayAccesses),
+                Integer.toString(r.iterations), r.inputType, Double.toString(r.avgBytesPerOp),
+                Integer.toString(w.iterations), Long.toString(w.warmupTimeNs), Boolean.toString(w.steady),
+                Double.toString(w.finalCv), Long.toString(w.compilationMs),
+                Long.toString(w.measurementCompilationMs), Integer.toString(w.suspectedDeoptimizations));
+    }
+
+    public static BenchmarkResult parse(String line) {
+        String[] f = line.trim().split(",");
+        if (f.length != 17) {
+            throw new IllegalArgumentException("Malformed benchmark line: " + line);
+        }
+        WarmupController.WarmupResult warmup = new WarmupController.WarmupResult(
+                Integer.parseInt(f[10]), Long.parseLong(f[11]), Boolean.parseBoolean(f[12]),
+                Double.parseDouble(f[13]), Long.parseLong(f[14]), Long.parseLong(f[15]),
+                Integer.parseInt(f[16]));
+        return new BenchmarkResult(Integer.parseInt(f[0]), Double.parseDouble(f[1]),
+                Double.parseDouble(f[2]), Integer.parseInt(f[3]), Integer.parseInt(f[4]),
+                Double.parseDouble(f[5]), Double.parseDouble(f[6]), Integer.parseInt(f[7]), f[8],
+                Double.parseDouble(f[9]), warmup);
+    }
+
+    /**
+     * One engine instance bound to its entry method
+     */
+    public static Function<int[], SubarrayResult> engine(String name) {
+        switch (name) {
+            case "standard": {
+                KadaneAlgorithm kadane = new KadaneAlgorithm();
+                return kadane::findMaximumSubarray;
+            }
+            case "detailed": {
+                KadaneAlgorithm kadane = new KadaneAlgorithm();
+                return kadane::findMaximumSubarrayWithMetrics;
+            }
+            case "allowEmpty": {
+                KadaneAlgorithm kadane = new KadaneAlgorithm();
+                return kadane::findMaximumSubarrayAllowEmpty;
+            }
+            case "length-constrained": {
+                LengthConstrainedKadane constrained = new LengthConstrainedKadane();
+                return nums -> constrained.findMaximumSubarray(nums, 1, nums.length);
+            }
+            case "deletions-1": {
+                DeletionKadane deletion = new DeletionKadane();
+                return nums -> deletion.findMaximumSubarray(nums, 1);
+            }
+            case "max-product": {
+                MaxProductKadane product = new MaxProductKadane();
+                return product::findMaximumProductSubarray;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + name + " (expected one of " + ENGINES + ")");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning one benchmark phase (warmup, measurement, ...)
+ */
+@Name("kadane.BenchmarkPhase")
+@Label("Benchmark Phase")
+@Category({"Kadane", "Benchmark"})
+@Description("A warmup or measurement phase of a benchmark run")
+@StackTrace(false)
+public class BenchmarkPhaseEvent extends Event {
+    @Label("Benchmark")
+    public String benchmark;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Input Size")
+    public long inputSize;
+
+    @Label("Iterations")
+    public int iterations;
+}
@@ -0,0 +1,322 @@
+package metrics;
+
+import algorithms.KadaneAlgorithm;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Measures how engine throughput scales with concurrent callers: 1, 2, 4 ...
+ * up to a maximum thread count, on platform threads and (when the running JDK
+ * has them) virtual threads, calling {@link KadaneAlgorithm} on a mix of input
+ * sizes. Each level runs twice, once with all callers reporting into one shared
+ * {@link PerformanceTracker} (as the compute server does) and once with a
+ * tracker per thread, so contention in the tracker shows up as lost throughput.
+ */
+public class ConcurrencyScalingBenchmark {
+    /** Efficiency ratio below which shared-tracker scaling is flagged */
+    static final double CONTENTION_RATIO = 0.8;
+    /** Fraction of time blocked on monitors that is flagged */
+    static final double BLOCKED_THRESHOLD = 0.05;
+
+    public enum ThreadMode { PLATFORM, VIRTUAL }
+
+    public enum TrackerSharing { SHARED, PER_THREAD }
+
+    private final int[][] inputs;
+    private final long durationMillis;
+
+    /**
+     * Result of one (mode, sharing, threads) level
+     */
+    public static class Level {
+        public final ThreadMode mode;
+        public final TrackerSharing sharing;
+        public final int threads;
+        public final long operations;
+        public final double opsPerSecond;
+        public final double p50Ns;
+        public final double p99Ns;
+        /** Highest p99 of any single thread, exposes unfair scheduling */
+        public final double worstThreadP99Ns;
+        /** Throughput relative to threads × single-thread throughput */
+        public final double efficiency;
+        /** Share of thread time blocked on monitors; -1 where not measurable */
+        public final double blockedFraction;
+
+        Level(ThreadMode mode, TrackerSharing sharing, int threads, long operations, double opsPerSecond,
+              double p50Ns, double p99Ns, double worstThreadP99Ns, double efficiency, double blockedFraction) {
+            this.mode = mode;
+            this.sharing = sharing;
+            this.threads = threads;
+            this.operations = operations;
+            this.opsPerSecond = opsPerSecond;
+            this.p50Ns = p50Ns;
+            this.p99Ns = p99Ns;
+            this.worstThreadP99Ns = worstThreadP99Ns;
+            this.efficiency = efficiency;
+            this.blockedFraction = blockedFraction;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %-10s %4d threads %,14.0f ops/s  p50 %,10.0f ns  p99 %,10.0f ns"
+                            + "  worst-thread p99 %,10.0f ns  efficiency %5.1f%%%s",
+                    mode, sharing, threads, opsPerSecond, p50Ns, p99Ns, worstThreadP99Ns, efficiency * 100,
+                    blockedFraction >= 0 ? String.format("  blocked %4.1f%%", blockedFraction * 100) : "");
+        }
+    }
+
+    /**
+     * All levels plus detected contention hotspots
+     */
+    public static class ScalingReport {
+        public final List<Level> levels;
+        public final List<String> hotspots;
+
+        ScalingReport(List<Level> levels, List<String> hotspots) {
+            this.levels = Collections.unmodifiableList(levels);
+            this.hotspots = Collections.unmodifiableList(hotspots);
+        }
+
+        public void print() {
+            System.out.println("\n=== Concurrency Scaling ===");
+            for (Level level : levels) {
+                System.out.println(level);
+            }
+            System.out.println(hotspots.isEmpty() ? "No contention hotspots detected" : "Contention hotspots:");
+            for (String hotspot : hotspots) {
+                System.out.println("  ! " + hotspot);
+            }
+        }
+    }
+
+    /**
+     * @param sizes          input sizes callers cycle through
+     * @param durationMillis measured time per level
+     */
+    public ConcurrencyScalingBenchmark(int[] sizes, long durationMillis) {
+        if (sizes == null || sizes.length == 0 || durationMillis <= 0) {
+            throw new IllegalArgumentException("Need at least one size and a positive duration");
+        }
+        Random random = new Random(44);
+        this.inputs = new int[sizes.length][];
+        for (int s = 0; s < sizes.length; s++) {
+            if (sizes[s] <= 0) {
+                throw new IllegalArgumentException("Sizes must be positive");
+            }
+            inputs[s] = new int[sizes[s]];
+            for (int i = 0; i < sizes[s]; i++) {
+                inputs[s][i] = random.nextInt(2001) - 1000;
+            }
+        }
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Thread counts 1, 2, 4 ... capped at and ending with {@code maxThreads}
+     */
+    public static List<Integer> threadLevels(int maxThreads) {
+        List<Integer> levels = new ArrayList<>();
+        for (int t = 1; t < maxThreads; t *= 2) {
+            levels.add(t);
+        }
+        levels.add(maxThreads);
+        return levels;
+    }
+
+    public ScalingReport run(int maxThreads, ThreadMode... modes) throws InterruptedException {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        warmUp();
+        List<Level> levels = new ArrayList<>();
+        for (ThreadMode mode : modes) {
+            if (mode == ThreadMode.VIRTUAL && !virtualThreadsAvailable()) {
+                System.out.println("Virtual threads need JDK 21+; skipping VIRTUAL mode");
+                continue;
+            }
+            for (TrackerSharing sharing : TrackerSharing.values()) {
+                double singleThreadOps = 0;
+                for (int threads : threadLevels(maxThreads)) {
+                    Level level = runLevel(mode, sharing, threads, singleThreadOps);
+                    if (threads == 1) {
+                        singleThreadOps = level.opsPerSecond;
+                    }
+                    levels.add(level);
+                }
+            }
+        }
+        return new ScalingReport(levels, findHotspots(levels));
+    }
+
+    private Level runLevel(ThreadMode mode, TrackerSharing sharing, int threads, double singleThreadOps)
+            throws InterruptedException {
+        ThreadFactory factory = mode == ThreadMode.VIRTUAL ? virtualThreadFactory() : Thread::new;
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        boolean contentionMonitoring = mode == ThreadMode.PLATFORM && enableContentionMonitoring(threadBean);
+
+        PerformanceTracker shared = new PerformanceTracker("scaling-shared");
+        LatencyHistogram[] histograms = new LatencyHistogram[threads];
+        long[] operations = new long[threads];
+        long[] blockedMillis = new long[threads];
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            histograms[t] = new LatencyHistogram(LatencyHistogram.decadeBounds(1, 9));
+            workers[t] = factory.newThread(() -> {
+                KadaneAlgorithm kadane = new KadaneAlgorithm(sharing == TrackerSharing.SHARED
+                        ? shared : new PerformanceTracker("scaling-" + id));
+                long blockedBefore = contentionMonitoring ? blockedTime(threadBean) : 0;
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long ops = 0;
+                int next = id;
+                while (System.nanoTime() < deadline[0]) {
+                    int[] nums = inputs[next++ % inputs.length];
+                    long start = System.nanoTime();
+                    kadane.findMaximumSubarray(nums);
+                    histograms[id].record(System.nanoTime() - start);
+                    ops++;
+                }
+                operations[id] = ops;
+                if (contentionMonitoring) {
+                    blockedMillis[id] = blockedTime(threadBean) - blockedBefore;
+                }
+            });
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        ready.await();
+        long start = System.nanoTime();
+        deadline[0] = start + durationMillis * 1_000_000L;
+        go.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        LatencyHistogram pooled = new LatencyHistogram(LatencyHistogram.decadeBounds(1, 9));
+        long totalOps = 0;
+        long totalBlocked = 0;
+        double worstP99 = 0;
+        for (int t = 0; t < threads; t++) {
+            pooled.addAll(histograms[t]);
+            totalOps += operations[t];
+            totalBlocked += blockedMillis[t];
+            worstP99 = Math.max(worstP99, histograms[t].quantile(0.99));
+        }
+        double opsPerSecond = totalOps / seconds;
+        double efficiency = threads == 1 ? 1.0 : opsPerSecond / (threads * singleThreadOps);
+        double blocked = contentionMonitoring ? totalBlocked / (threads * seconds * 1000) : -1;
+        return new Level(mode, sharing, threads, totalOps, opsPerSecond, pooled.quantile(0.5),
+                pooled.quantile(0.99), worstP99, efficiency, blocked);
+    }
+
+    /**
+     * Brings the engine to steady state first so the 1-thread baseline that
+     * efficiency is computed against is not measured in the interpreter
+     */
+    private void warmUp() {
+        WarmupController warmup = new WarmupController(10 * inputs.length);
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        for (int i = 0; ; i++) {
+            long start = System.nanoTime();
+            kadane.findMaximumSubarray(inputs[i % inputs.length]);
+            if (warmup.record(System.nanoTime() - start)) break;
+        }
+    }
+
+    /**
+     * Compares shared-tracker and per-thread-tracker runs at equal thread counts
+     */
+    static List<String> findHotspots(List<Level> levels) {
+        List<String> hotspots = new ArrayList<>();
+        for (Level shared : levels) {
+            if (shared.sharing != TrackerSharing.SHARED || shared.threads == 1) continue;
+            for (Level independent : levels) {
+                if (independent.sharing == TrackerSharing.PER_THREAD && independent.mode == shared.mode
+                        && independent.threads == shared.threads
+                        && shared.opsPerSecond < CONTENTION_RATIO * independent.opsPerSecond) {
+                    hotspots.add(String.format("%s, %d threads: shared PerformanceTracker (synchronized record"
+                                    + " ring) reaches %.0f%% of per-thread-tracker throughput",
+                            shared.mode, shared.threads, 100 * shared.opsPerSecond / independent.opsPerSecond));
+                }
+            }
+            if (shared.blockedFraction > BLOCKED_THRESHOLD) {
+                hotspots.add(String.format("%s, %d threads: callers blocked on monitors %.1f%% of the time",
+                        shared.mode, shared.threads, 100 * shared.blockedFraction));
+            }
+        }
+        return hotspots;
+    }
+
+    /**
+     * True on JDK 21+, where {@code Thread.ofVirtual()} exists
+     */
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@code Thread.ofVirtual().factory()} looked up reflectively so the project
+     * still compiles for Java 11
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are not available", e);
+        }
+    }
+
+    private static boolean enableContentionMonitoring(ThreadMXBean bean) {
+        if (!bean.isThreadContentionMonitoringSupported()) {
+            return false;
+        }
+        if (!bean.isThreadContentionMonitoringEnabled()) {
+            bean.setThreadContentionMonitoringEnabled(true);
+        }
+        return true;
+    }
+
+    private static long blockedTime(ThreadMXBean bean) {
+        ThreadInfo info = bean.getThreadInfo(Thread.currentThread().getId());
+        return info == null ? 0 : Math.max(0, info.getBlockedTime());
+    }
+
+    /**
+     * Usage: ConcurrencyScalingBenchmark [durationMillis] [maxThreads]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long duration = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                : 2 * Runtime.getRuntime().availableProcessors();
+        ConcurrencyScalingBenchmark benchmark = new ConcurrencyScalingBenchmark(
+                new int[]{1_000, 10_000, 100_000}, duration);
+        benchmark.run(maxThreads, ThreadMode.PLATFORM, ThreadMode.VIRTUAL).print();
+    }
+}
@@ -0,0 +1,58 @@
+package metrics;
+
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Thin wrapper around a JFR {@link Recording} that enables the Kadane events
+ * and dumps them to a file when stopped.
+ */
+public class FlightRecording {
+    private Recording recording;
+    private Path destination;
+
+    /**
+     * Starts a new recording that will be written to the given file on stop
+     */
+    public void start(String filename) {
+        if (isRunning()) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        recording = new Recording();
+        recording.setName("kadane");
+        recording.enable(SubarrayExecutionEvent.class);
+        recording.enable(BenchmarkPhaseEvent.class);
+        destination = Paths.get(filename);
+        recording.start();
+    }
+
+    /**
+     * Stops the running recording and dumps it to the destination file
+     *
+     * @return path of the written recording
+     */
+    public Path stop() throws IOException {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        try {
+            recording.stop();
+            recording.dump(destination);
+            return destination;
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    public Path getDestination() {
+        return destination;
+    }
+}
@@ -0,0 +1,272 @@
+package metrics;
+
+import metrics.PerformanceTracker.BenchmarkResult;
+import storage.BenchmarkHistory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every (engine, size, distribution) trial in fresh child JVMs so that
+ * JIT profiles from one engine cannot influence another, then aggregates the
+ * forks and separates between-fork from within-fork variance.
+ */
+public class ForkedBenchmarkRunner {
+    private final String javaExecutable;
+    private final String classpath;
+    private final List<String> jvmOptions;
+    private final int forks;
+    private final int minWarmupIterations;
+    private final int measurementIterations;
+    private final long timeoutMillis;
+
+    /**
+     * One benchmark configuration. Every fork of a trial generates its input
+     * from the same seed, so fork-to-fork differences come from the JVM alone.
+     */
+    public static class Trial {
+        public static final long DEFAULT_SEED = 42;
+
+        public final String engine;
+        public final int size;
+        public final String distribution;
+        public final long seed;
+
+        public Trial(String engine, int size, String distribution) {
+            this(engine, size, distribution, DEFAULT_SEED);
+        }
+
+        public Trial(String engine, int size, String distribution, long seed) {
+            this.engine = engine;
+            this.size = size;
+            this.distribution = distribution;
+            this.seed = seed;
+        }
+
+        @Override
+        public String toString() {
+            return engine + "/" + distribution + "/n=" + size;
+        }
+    }
+
+    /**
+     * Per-fork results and their aggregate
+     */
+    public static class ForkedResult {
+        public final Trial trial;
+        public final List<BenchmarkResult> forks;
+        /** Pooled result; its stdDevTimeNs combines within- and between-fork variance */
+        public final BenchmarkResult aggregate;
+        /** Standard deviation of the per-fork means */
+        public final double betweenForkStdDevNs;
+        /** Root mean of the per-fork variances */
+        public final double withinForkStdDevNs;
+
+        ForkedResult(Trial trial, List<BenchmarkResult> forks, BenchmarkResult aggregate,
+                     double betweenForkStdDevNs, double withinForkStdDevNs) {
+            this.trial = trial;
+            this.forks = Collections.unmodifiableList(forks);
+            this.aggregate = aggregate;
+            this.betweenForkStdDevNs = betweenForkStdDevNs;
+            this.withinForkStdDevNs = withinForkStdDevNs;
+        }
+
+        /**
+         * True when fork-to-fork differences (JIT decisions, memory layout)
+         * outweigh iteration noise, i.e. a single-JVM run would mislead
+         */
+        public boolean isForkDominated() {
+            return betweenForkStdDevNs > withinForkStdDevNs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-36s %12.1f ns  between-fork σ %10.1f  within-fork σ %10.1f%s",
+                    trial, aggregate.avgTimeNs, betweenForkStdDevNs, withinForkStdDevNs,
+                    isForkDominated() ? "  (fork-dominated)" : "");
+        }
+    }
+
+    /**
+     * Runner reusing the current JVM binary and classpath
+     *
+     * @param jvmOptions heap/GC flags for every fork, e.g. -Xmx512m -XX:+UseParallelGC
+     */
+    public ForkedBenchmarkRunner(int forks, List<String> jvmOptions, int minWarmupIterations,
+                                 int measurementIterations, long timeoutMillis) {
+        this(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                System.getProperty("java.class.path"), forks, jvmOptions, minWarmupIterations,
+                measurementIterations, timeoutMillis);
+    }
+
+    public ForkedBenchmarkRunner(String javaExecutable, String classpath, int forks, List<String> jvmOptions,
+                                 int minWarmupIterations, int measurementIterations, long timeoutMillis) {
+        if (forks < 1 || minWarmupIterations < 0 || measurementIterations < 1 || timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Invalid forked benchmark configuration");
+        }
+        this.javaExecutable = javaExecutable;
+        this.classpath = classpath;
+        this.jvmOptions = new ArrayList<>(jvmOptions);
+        this.forks = forks;
+        this.minWarmupIterations = minWarmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Runs the trials one fork at a time (never concurrently, to avoid
+     * forks competing for cores) and adds each aggregate to {@code tracker}
+     * if one is given
+     */
+    public List<ForkedResult> runAll(List<Trial> trials, PerformanceTracker tracker)
+            throws IOException, InterruptedException {
+        List<ForkedResult> results = new ArrayList<>();
+        for (Trial trial : trials) {
+            ForkedResult result = run(trial);
+            results.add(result);
+            if (tracker != null) {
+                tracker.addBenchmarkResult(result.aggregate);
+            }
+        }
+        return results;
+    }
+
+    public ForkedResult run(Trial trial) throws IOException, InterruptedException {
+        List<BenchmarkResult> forkResults = new ArrayList<>();
+        for (int fork = 0; fork < forks; fork++) {
+            forkResults.add(runFork(trial, fork));
+        }
+        return aggregate(trial, forkResults);
+    }
+
+    /**
+     * Pools per-fork results; exposed for testing
+     */
+    static ForkedResult aggregate(Trial trial, List<BenchmarkResult> forkResults) {
+        int k = forkResults.size();
+        double[] means = new double[k];
+        double meanOfMeans = 0;
+        double withinVariance = 0;
+        double comparisons = 0;
+        double accesses = 0;
+        double bytes = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        int iterations = 0;
+        for (int i = 0; i < k; i++) {
+            BenchmarkResult r = forkResults.get(i);
+            means[i] = r.avgTimeNs;
+            meanOfMeans += r.avgTimeNs / k;
+            withinVariance += r.stdDevTimeNs * r.stdDevTimeNs / k;
+            comparisons += r.avgComparisons / k;
+            accesses += r.avgArrayAccesses / k;
+            bytes += r.avgBytesPerOp / k;
+            min = Math.min(min, r.minTimeNs);
+            max = Math.max(max, r.maxTimeNs);
+            iterations += r.iterations;
+        }
+        double betweenVariance = 0;
+        if (k > 1) {
+            for (double mean : means) {
+                betweenVariance += (mean - meanOfMeans) * (mean - meanOfMeans);
+            }
+            betweenVariance /= k - 1;
+        }
+
+        BenchmarkResult pooled = new BenchmarkResult(forkResults.get(0).inputSize, meanOfMeans,
+                Math.sqrt(withinVariance + betweenVariance), min, max, comparisons, accesses,
+                iterations, trial.engine + "/" + trial.distribution, bytes);
+        return new ForkedResult(trial, forkResults, pooled, Math.sqrt(betweenVariance), Math.sqrt(withinVariance));
+    }
+
+    private BenchmarkResult runFork(Trial trial, int fork) throws IOException, InterruptedException {
+        List<String> command = forkCommand(trial);
+
+        // stdout goes to a file so a hung fork cannot block us past the timeout
+        Path output = Files.createTempFile("kadane-fork-", ".out");
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(output.toFile())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            if (!process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Fork " + fork + " of " + trial + " timed out");
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("Fork " + fork + " of " + trial + " exited with " + process.exitValue());
+            }
+            for (String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+                if (line.startsWith(BenchmarkFork.OUTPUT_PREFIX)) {
+                    return BenchmarkFork.parse(line.substring(BenchmarkFork.OUTPUT_PREFIX.length()));
+                }
+            }
+            throw new IOException("Fork " + fork + " of " + trial + " produced no result");
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed fork output", e);
+        } finally {
+            process.destroyForcibly();
+            Files.deleteIfExists(output);
+        }
+    }
+
+    /**
+     * Child JVM command line; identical for every fork of a trial
+     */
+    List<String> forkCommand(Trial trial) {
+        List<String> command = new ArrayList<>();
+        command.add(javaExecutable);
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(BenchmarkFork.class.getName());
+        command.add(trial.engine);
+        command.add(Integer.toString(trial.size));
+        command.add(trial.distribution);
+        command.add(Integer.toString(minWarmupIterations));
+        command.add(Integer.toString(measurementIterations));
+        command.add(Long.toString(trial.seed));
+        return command;
+    }
+
+    /**
+     * Usage: ForkedBenchmarkRunner [forks] [sizes,...] [engines,...] [distributions,...] [jvm options...]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int forks = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        String[] sizes = args.length > 1 ? args[1].split(",") : new String[]{"1000", "100000"};
+        String[] engines = args.length > 2 ? args[2].split(",") : BenchmarkFork.ENGINES.toArray(new String[0]);
+        String[] distributions = args.length > 3 ? args[3].split(",") : new String[]{"random"};
+        List<String> jvmOptions = args.length > 4
+                ? Arrays.asList(args).subList(4, args.length) : Collections.singletonList("-Xmx512m");
+
+        List<Trial> trials = new ArrayList<>();
+        for (String engine : engines) {
+            for (String size : sizes) {
+                for (String distribution : distributions) {
+                    trials.add(new Trial(engine, Integer.parseInt(size), distribution));
+                }
+            }
+        }
+
+        System.out.printf("=== Forked Benchmark (%d forks per trial, JVM options %s) ===%n", forks, jvmOptions);
+        PerformanceTracker tracker = new PerformanceTracker("ForkedBenchmark");
+        ForkedBenchmarkRunner runner = new ForkedBenchmarkRunner(forks, jvmOptions, 10, 50, 300_000);
+        for (ForkedResult result : runner.runAll(trials, tracker)) {
+            System.out.println(result);
+        }
+        tracker.exportBenchmarkResults("forked_benchmark_results.csv");
+        try (BenchmarkHistory history = BenchmarkHistory.open(Paths.get(BenchmarkHistory.DEFAULT_FILE))) {
+            tracker.exportToHistory(history, BenchmarkHistory.currentCommit());
+            System.out.println("Appended to history: " + BenchmarkHistory.DEFAULT_FILE
+                    + " (" + history.size() + " runs)");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free fixed-bucket histogram used for live latency and input size metrics.
+ * Buckets are cumulative in the Prometheus sense only when rendered; internally
+ * each slot counts the values falling into (previous bound, bound].
+ */
+public class LatencyHistogram {
+    private final long[] upperBounds;
+    private final AtomicLongArray counts;
+    private final LongAdder sum;
+
+    public LatencyHistogram(long[] upperBounds) {
+        if (upperBounds == null || upperBounds.length == 0) {
+            throw new IllegalArgumentException("Histogram needs at least one bucket");
+        }
+        for (int i = 1; i < upperBounds.length; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Bucket bounds must be strictly increasing");
+            }
+        }
+        this.upperBounds = upperBounds.clone();
+        this.counts = new AtomicLongArray(upperBounds.length + 1); // last slot is +Inf
+        this.sum = new LongAdder();
+    }
+
+    /**
+     * Bucket bounds of 1, 2.5 and 5 times each power of ten in [10^minExp, 10^maxExp]
+     */
+    public static long[] decadeBounds(int minExp, int maxExp) {
+        long[] bounds = new long[(maxExp - minExp) * 3 + 1];
+        long decade = 1;
+        for (int i = 0; i < minExp; i++) decade *= 10;
+        int idx = 0;
+        for (int e = minExp; e < maxExp; e++) {
+            bounds[idx++] = decade;
+            bounds[idx++] = decade * 5 / 2;
+            bounds[idx++] = decade * 5;
+            decade *= 10;
+        }
+        bounds[idx] = decade;
+        return bounds;
+    }
+
+    public void record(long value) {
+        counts.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+    }
+
+    private int bucketIndex(long value) {
+        int lo = 0;
+        int hi = upperBounds.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (upperBounds[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Estimates the given quantile by linear interpolation inside the bucket
+     *
+     * @param quantile value in [0, 1]
+     * @return estimated value, or 0 when the histogram is empty
+     */
+    public double quantile(double quantile) {
+        long[] snapshot = snapshotCounts();
+        long total = 0;
+        for (long c : snapshot) total += c;
+        if (total == 0) return 0;
+
+        double rank = quantile * total;
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i] == 0) continue;
+            if (cumulative + snapshot[i] >= rank) {
+                if (i == upperBounds.length) {
+                    return upperBounds[i - 1]; // +Inf bucket: best effort
+                }
+                double lower = i == 0 ? 0 : upperBounds[i - 1];
+                double fraction = (rank - cumulative) / snapshot[i];
+                return lower + (upperBounds[i] - lower) * fraction;
+            }
+            cumulative += snapshot[i];
+        }
+        return upperBounds[upperBounds.length - 1];
+    }
+
+    /**
+     * Adds another histogram's counts into this one; bucket bounds must match
+     */
+    public void addAll(LatencyHistogram other) {
+        if (!Arrays.equals(upperBounds, other.upperBounds)) {
+            throw new IllegalArgumentException("Histograms have different bucket bounds");
+        }
+        long[] snapshot = other.snapshotCounts();
+        for (int i = 0; i < snapshot.length; i++) {
+            counts.addAndGet(i, snapshot[i]);
+        }
+        sum.add(other.getSum());
+    }
+
+    public long[] snapshotCounts() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) total += counts.get(i);
+        return total;
+    }
+
+    public long getSum() { return sum.sum(); }
+    public long[] getUpperBounds() { return upperBounds.clone(); }
+}
@@ -0,0 +1,137 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe running aggregates for a long-lived engine: per-engine call counts,
+ * processed elements, latency and input size histograms. Unlike the bounded window
+ * of per-call records in {@link PerformanceTracker} this covers every call since
+ * start, in constant memory regardless of uptime.
+ */
+public class LiveMetrics {
+    private static final long[] LATENCY_BOUNDS_NS = LatencyHistogram.decadeBounds(2, 10);
+    private static final long[] SIZE_BOUNDS = LatencyHistogram.decadeBounds(0, 9);
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<String, EngineMetrics> engines = new ConcurrentHashMap<>();
+    private final long startTimeMillis = System.currentTimeMillis();
+
+    /**
+     * Aggregates for a single engine / test case label
+     */
+    public static class EngineMetrics {
+        public final LongAdder executions = new LongAdder();
+        public final LongAdder elements = new LongAdder();
+        public final LatencyHistogram latencyNs = new LatencyHistogram(LATENCY_BOUNDS_NS);
+        public final LatencyHistogram inputSize = new LatencyHistogram(SIZE_BOUNDS);
+    }
+
+    public void record(String engine, int inputSize, long executionTimeNs) {
+        EngineMetrics metrics = engines.computeIfAbsent(engine, k -> new EngineMetrics());
+        metrics.executions.increment();
+        metrics.elements.add(inputSize);
+        metrics.latencyNs.record(executionTimeNs);
+        metrics.inputSize.record(inputSize);
+    }
+
+    public EngineMetrics getEngineMetrics(String engine) {
+        return engines.get(engine);
+    }
+
+    public long getStartTimeMillis() {
+        return startTimeMillis;
+    }
+
+    /**
+     * Appends these metrics, labelled {@code algorithm}, in Prometheus text
+     * exposition format
+     */
+    public void writePrometheus(StringBuilder out, String algorithm) {
+        writePrometheus(out, Collections.singletonMap(algorithm, this));
+    }
+
+    /**
+     * Appends the metrics of several algorithms in Prometheus text exposition
+     * format. Every metric family is one contiguous group, its HELP/TYPE header
+     * followed by the samples of all algorithms and engines, as strict parsers
+     * require. Percentile estimates are a gauge labelled {@code q}, since
+     * {@code quantile} is reserved for summaries.
+     */
+    public static void writePrometheus(StringBuilder out, Map<String, LiveMetrics> byAlgorithm) {
+        List<String> labels = new ArrayList<>();
+        List<EngineMetrics> series = new ArrayList<>();
+        for (Map.Entry<String, LiveMetrics> algorithm : new TreeMap<>(byAlgorithm).entrySet()) {
+            for (Map.Entry<String, EngineMetrics> engine : new TreeMap<>(algorithm.getValue().engines).entrySet()) {
+                labels.add("algorithm=\"" + escape(algorithm.getKey()) + "\",engine=\"" + escape(engine.getKey()) + "\"");
+                series.add(engine.getValue());
+            }
+        }
+
+        writeHeader(out, "kadane_executions_total", "counter", "Number of engine invocations");
+        for (int s = 0; s < series.size(); s++) {
+            out.append("kadane_executions_total{").append(labels.get(s)).append("} ")
+                    .append(series.get(s).executions.sum()).append('\n');
+        }
+        writeHeader(out, "kadane_elements_processed_total", "counter", "Number of input elements scanned");
+        for (int s = 0; s < series.size(); s++) {
+            out.append("kadane_elements_processed_total{").append(labels.get(s)).append("} ")
+                    .append(series.get(s).elements.sum()).append('\n');
+        }
+        writeHeader(out, "kadane_execution_latency_seconds", "histogram", "Engine call latency");
+        for (int s = 0; s < series.size(); s++) {
+            writeHistogram(out, "kadane_execution_latency_seconds", labels.get(s), series.get(s).latencyNs, 1e-9);
+        }
+        writeHeader(out, "kadane_execution_latency_quantile_seconds", "gauge", "Estimated latency percentiles");
+        for (int s = 0; s < series.size(); s++) {
+            for (double q : QUANTILES) {
+                out.append("kadane_execution_latency_quantile_seconds{").append(labels.get(s))
+                        .append(",q=\"").append(q).append("\"} ")
+                        .append(format(series.get(s).latencyNs.quantile(q) * 1e-9)).append('\n');
+            }
+        }
+        writeHeader(out, "kadane_input_size_elements", "histogram", "Distribution of input array lengths");
+        for (int s = 0; s < series.size(); s++) {
+            writeHistogram(out, "kadane_input_size_elements", labels.get(s), series.get(s).inputSize, 1);
+        }
+    }
+
+    private static void writeHeader(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeHistogram(StringBuilder out, String name, String labels,
+                                       LatencyHistogram histogram, double scale) {
+        long[] bounds = histogram.getUpperBounds();
+        long[] counts = histogram.snapshotCounts();
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += counts[i];
+            out.append(name).append("_bucket{").append(labels).append(",le=\"")
+                    .append(format(bounds[i] * scale)).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += counts[bounds.length];
+        out.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                .append(cumulative).append('\n');
+        out.append(name).append("_sum{").append(labels).append("} ")
+                .append(format(histogram.getSum() * scale)).append('\n');
+        out.append(name).append("_count{").append(labels).append("} ").append(cumulative).append('\n');
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
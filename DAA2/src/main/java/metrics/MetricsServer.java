@@ -0,0 +1,121 @@
+package metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Embedded HTTP endpoint exposing live {@link PerformanceTracker} metrics
+ * in Prometheus text format under {@code /metrics}.
+ */
+public class MetricsServer {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final List<PerformanceTracker> trackers = new CopyOnWriteArrayList<>();
+    private final String host;
+    private final int requestedPort;
+    private HttpServer server;
+
+    /**
+     * @param port port to bind on localhost, or 0 for an ephemeral port
+     */
+    public MetricsServer(int port) {
+        this("127.0.0.1", port);
+    }
+
+    public MetricsServer(String host, int port) {
+        this.host = host;
+        this.requestedPort = port;
+    }
+
+    /**
+     * Adds a tracker to the exposition. Its algorithm name becomes the
+     * {@code algorithm} label, so it must differ from every tracker already
+     * registered; otherwise both would emit identical series.
+     *
+     * @throws IllegalArgumentException if a tracker with the same name is registered
+     */
+    public synchronized MetricsServer register(PerformanceTracker tracker) {
+        if (tracker == null) {
+            throw new IllegalArgumentException("Tracker cannot be null");
+        }
+        for (PerformanceTracker registered : trackers) {
+            if (registered.getAlgorithmName().equals(tracker.getAlgorithmName())) {
+                throw new IllegalArgumentException("A tracker named '" + tracker.getAlgorithmName()
+                        + "' is already registered; give each tracker a distinct name");
+            }
+        }
+        trackers.add(tracker);
+        return this;
+    }
+
+    public void start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Metrics server already started");
+        }
+        server = HttpServer.create(new InetSocketAddress(host, requestedPort), 0);
+        server.createContext("/metrics", this::handleMetrics);
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    public int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("Metrics server not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Renders all registered trackers as a single Prometheus exposition
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        out.append("# HELP kadane_uptime_seconds Time since the first tracker was created\n");
+        out.append("# TYPE kadane_uptime_seconds gauge\n");
+        long firstStart = Long.MAX_VALUE;
+        for (PerformanceTracker tracker : trackers) {
+            firstStart = Math.min(firstStart, tracker.getLiveMetrics().getStartTimeMillis());
+        }
+        double uptime = trackers.isEmpty() ? 0 : (System.currentTimeMillis() - firstStart) / 1000.0;
+        out.append("kadane_uptime_seconds ").append(uptime).append('\n');
+
+        Map<String, LiveMetrics> byAlgorithm = new LinkedHashMap<>();
+        for (PerformanceTracker tracker : trackers) {
+            byAlgorithm.put(tracker.getAlgorithmName(), tracker.getLiveMetrics());
+        }
+        LiveMetrics.writePrometheus(out, byAlgorithm);
+        return out.toString();
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -1,23 +1,48 @@
 package metrics;
 
 import algorithms.KadaneAlgorithm;
+import storage.BenchmarkHistory;
+
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Enhanced performance tracker with statistical analysis and JMH-style benchmarking
  */
 public class PerformanceTracker {
+    /** Distinct random inputs rotated through during warmup */
+    private static final int WARMUP_INPUTS = 4;
+    /** Per-call records kept by default; older ones are overwritten */
+    public static final int DEFAULT_RECORD_CAPACITY = 10_000;
+
     private final String algorithmName;
-    private final List<PerformanceRecord> records;
+    /** Ring buffer of the most recent records, guarded by itself */
+    private final PerformanceRecord[] records;
+    private int recordHead;
+    private int recordCount;
     private final List<BenchmarkResult> benchmarkResults;
+    private final LiveMetrics liveMetrics;
 
     public PerformanceTracker(String algorithmName) {
+        this(algorithmName, DEFAULT_RECORD_CAPACITY);
+    }
+
+    /**
+     * @param recordCapacity most recent per-call records to retain; 0 keeps only
+     *                       the {@link LiveMetrics} aggregates and takes no lock per call
+     */
+    public PerformanceTracker(String algorithmName, int recordCapacity) {
+        if (recordCapacity < 0) {
+            throw new IllegalArgumentException("Record capacity cannot be negative");
+        }
         this.algorithmName = algorithmName;
-        this.records = new ArrayList<>();
+        this.records = new PerformanceRecord[recordCapacity];
         this.benchmarkResults = new ArrayList<>();
+        this.liveMetrics = new LiveMetrics();
     }
 
     public static class PerformanceRecord {
@@ -25,6 +50,7 @@ public class PerformanceTracker {
         public final long executionTimeNs;
         public final int comparisons;
         public final int arrayAccesses;
+        /** Bytes allocated by the measuring thread during the call, -1 if unknown */
         public final long memoryUsed;
         public final String testCase;
         public final long timestamp;
@@ -52,10 +78,41 @@ public class PerformanceTracker {
         public final double avgArrayAccesses;
         public final int iterations;
         public final String inputType;
+        /** Mean bytes allocated per call, -1 if the JVM cannot measure it */
+        public final double avgBytesPerOp;
+        /** How warmup ended, null for results not produced by a warmed-up run */
+        public final WarmupController.WarmupResult warmup;
+        /** Confidence interval of an adaptive run, null for fixed iteration counts */
+        public final AdaptiveSampler.Estimate estimate;
 
         public BenchmarkResult(int inputSize, double avgTimeNs, double stdDevTimeNs,
                                int minTimeNs, int maxTimeNs, double avgComparisons,
                                double avgArrayAccesses, int iterations, String inputType) {
+            this(inputSize, avgTimeNs, stdDevTimeNs, minTimeNs, maxTimeNs, avgComparisons,
+                    avgArrayAccesses, iterations, inputType, -1);
+        }
+
+        public BenchmarkResult(int inputSize, double avgTimeNs, double stdDevTimeNs,
+                               int minTimeNs, int maxTimeNs, double avgComparisons,
+                               double avgArrayAccesses, int iterations, String inputType,
+                               double avgBytesPerOp) {
+            this(inputSize, avgTimeNs, stdDevTimeNs, minTimeNs, maxTimeNs, avgComparisons,
+                    avgArrayAccesses, iterations, inputType, avgBytesPerOp, null);
+        }
+
+        public BenchmarkResult(int inputSize, double avgTimeNs, double stdDevTimeNs,
+                               int minTimeNs, int maxTimeNs, double avgComparisons,
+                               double avgArrayAccesses, int iterations, String inputType,
+                               double avgBytesPerOp, WarmupController.WarmupResult warmup) {
+            this(inputSize, avgTimeNs, stdDevTimeNs, minTimeNs, maxTimeNs, avgComparisons,
+                    avgArrayAccesses, iterations, inputType, avgBytesPerOp, warmup, null);
+        }
+
+        public BenchmarkResult(int inputSize, double avgTimeNs, double stdDevTimeNs,
+                               int minTimeNs, int maxTimeNs, double avgComparisons,
+                               double avgArrayAccesses, int iterations, String inputType,
+                               double avgBytesPerOp, WarmupController.WarmupResult warmup,
+                               AdaptiveSampler.Estimate estimate) {
             this.inputSize = inputSize;
             this.avgTimeNs = avgTimeNs;
             this.stdDevTimeNs = stdDevTimeNs;
@@ -65,82 +122,193 @@ public class PerformanceTracker {
             this.avgArrayAccesses = avgArrayAccesses;
             this.iterations = iterations;
             this.inputType = inputType;
+            this.avgBytesPerOp = avgBytesPerOp;
+            this.warmup = warmup;
+            this.estimate = estimate;
         }
     }
 
     public void recordExecution(int inputSize, long executionTimeNs,
                                 int comparisons, int arrayAccesses,
                                 long memoryUsed, String testCase) {
-        records.add(new PerformanceRecord(inputSize, executionTimeNs, comparisons,
-                arrayAccesses, memoryUsed, testCase));
+        if (records.length > 0) {
+            PerformanceRecord record = new PerformanceRecord(inputSize, executionTimeNs, comparisons,
+                    arrayAccesses, memoryUsed, testCase);
+            synchronized (records) {
+                records[(recordHead + recordCount) % records.length] = record;
+                if (recordCount < records.length) {
+                    recordCount++;
+                } else {
+                    recordHead = (recordHead + 1) % records.length;
+                }
+            }
+        }
+        liveMetrics.record(testCase, inputSize, executionTimeNs);
     }
 
     public void addBenchmarkResult(BenchmarkResult result) {
         benchmarkResults.add(result);
     }
 
+    /**
+     * Runs the benchmark with adaptive warmup: {@code warmupIterations} is the
+     * minimum, warmup continues until {@link WarmupController} sees steady state
+     */
     public void runComprehensiveBenchmark(int[] sizes, int warmupIterations, int measurementIterations) {
+        runComprehensiveBenchmark(sizes, () -> new WarmupController(warmupIterations), measurementIterations);
+    }
+
+    public void runComprehensiveBenchmark(int[] sizes, Supplier<WarmupController> warmupFactory,
+                                          int measurementIterations) {
         System.out.println("\n=== Running Comprehensive Benchmark ===");
 
         for (int size : sizes) {
             System.out.printf("\nBenchmarking size: %,d%n", size);
 
-            // Warmup phase
-            System.out.print("Warmup: ");
-            for (int i = 0; i < warmupIterations; i++) {
-                int[] nums = generateRandomArray(size, -1000, 1000);
-                performGarbageCollection();
-                long startTime = System.nanoTime();
-                // Simulate algorithm execution
-                KadaneAlgorithm kadane = new KadaneAlgorithm();
-                kadane.findMaximumSubarray(nums);
-                long endTime = System.nanoTime();
-                if (i % 5 == 0) System.out.print(".");
-            }
-            System.out.println(" Done");
+            // Warmup phase: run until iteration times and JIT activity settle. The warmed
+            // engine is measured too, so its one-time tracker setup stays out of bytes/op.
+            KadaneAlgorithm kadane = new KadaneAlgorithm();
+            WarmupController warmup = warmUp("comprehensive", size, warmupFactory, kadane);
 
             // Measurement phase
             long[] times = new long[measurementIterations];
             int[] comparisons = new int[measurementIterations];
             int[] accesses = new int[measurementIterations];
+            long[] allocated = new long[measurementIterations];
 
+            BenchmarkPhaseEvent measurementEvent = beginPhase("comprehensive", "measurement",
+                    size, measurementIterations);
             System.out.print("Measurement: ");
             for (int i = 0; i < measurementIterations; i++) {
                 int[] nums = generateRandomArray(size, -1000, 1000);
                 performGarbageCollection();
 
-                Runtime runtime = Runtime.getRuntime();
-                long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
-
+                long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
                 long startTime = System.nanoTime();
-                KadaneAlgorithm kadane = new KadaneAlgorithm();
                 kadane.findMaximumSubarray(nums);
                 long endTime = System.nanoTime();
-
-                long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
-                long memoryUsed = memoryAfter - memoryBefore;
+                allocated[i] = AllocationMeter.allocatedSince(allocatedBefore);
 
                 times[i] = endTime - startTime;
                 comparisons[i] = kadane.getLastComparisons();
                 accesses[i] = kadane.getLastArrayAccesses();
 
                 recordExecution(size, times[i], comparisons[i], accesses[i],
-                        memoryUsed, "random");
+                        allocated[i], "random");
 
                 if (i % 5 == 0) System.out.print(".");
             }
             System.out.println(" Done");
+            endPhase(measurementEvent);
 
             // Calculate statistics
             BenchmarkResult result = calculateStatistics(size, times, comparisons, accesses,
-                    "random", measurementIterations);
+                    allocated, "random", measurementIterations, warmup.finish());
+            addBenchmarkResult(result);
+            printBenchmarkResult(result);
+        }
+    }
+
+    /**
+     * Runs the benchmark with adaptive warmup and an adaptive measurement count:
+     * {@code sampler} keeps taking batched samples until the 95% confidence
+     * interval of the mean meets its target or its time budget runs out
+     */
+    public void runAdaptiveBenchmark(int[] sizes, Supplier<WarmupController> warmupFactory,
+                                     AdaptiveSampler sampler) {
+        System.out.println("\n=== Running Adaptive Benchmark ===");
+
+        for (int size : sizes) {
+            System.out.printf("\nBenchmarking size: %,d%n", size);
+            KadaneAlgorithm kadane = new KadaneAlgorithm();
+            WarmupController warmup = warmUp("adaptive", size, warmupFactory, kadane);
+
+            int[][] inputs = new int[WARMUP_INPUTS][];
+            for (int i = 0; i < WARMUP_INPUTS; i++) {
+                inputs[i] = generateRandomArray(size, -1000, 1000);
+            }
+            int[] cursor = {0};
+
+            BenchmarkPhaseEvent measurementEvent = beginPhase("adaptive", "measurement", size, 0);
+            System.out.print("Measurement: ");
+            // per-call records are dropped between samples so they do not pile up
+            AdaptiveSampler.Estimate estimate = sampler.measure(
+                    () -> kadane.findMaximumSubarray(inputs[cursor[0]++ & (WARMUP_INPUTS - 1)]),
+                    () -> kadane.getPerformanceTracker().clear());
+            System.out.println("Done (" + estimate + ")");
+            measurementEvent.iterations = (int) Math.min(estimate.totalCalls(), Integer.MAX_VALUE);
+            endPhase(measurementEvent);
+
+            long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+            kadane.findMaximumSubarray(inputs[0]);
+            long allocated = AllocationMeter.allocatedSince(allocatedBefore);
+            int comparisons = kadane.getLastComparisons();
+            int accesses = kadane.getLastArrayAccesses();
+            recordExecution(size, Math.round(estimate.meanNs), comparisons, accesses, allocated, "random");
+
+            BenchmarkResult result = new BenchmarkResult(size, estimate.meanNs, estimate.stdDevNs,
+                    (int) Math.min(estimate.minNs, Integer.MAX_VALUE), (int) Math.min(estimate.maxNs, Integer.MAX_VALUE),
+                    comparisons, accesses, measurementEvent.iterations, "random",
+                    AllocationMeter.isSupported() ? allocated : -1, warmup.finish(), estimate);
             addBenchmarkResult(result);
             printBenchmarkResult(result);
         }
     }
 
+    /**
+     * Runs {@code kadane} on rotating random inputs until the controller reports steady state
+     */
+    private WarmupController warmUp(String benchmark, int size, Supplier<WarmupController> warmupFactory,
+                                    KadaneAlgorithm kadane) {
+        WarmupController warmup = warmupFactory.get();
+        BenchmarkPhaseEvent warmupEvent = beginPhase(benchmark, "warmup", size, 0);
+        System.out.print("Warmup: ");
+        int[][] warmupInputs = new int[WARMUP_INPUTS][];
+        for (int i = 0; i < WARMUP_INPUTS; i++) {
+            warmupInputs[i] = generateRandomArray(size, -1000, 1000);
+        }
+        for (int i = 0; ; i++) {
+            long startTime = System.nanoTime();
+            kadane.findMaximumSubarray(warmupInputs[i % WARMUP_INPUTS]);
+            long endTime = System.nanoTime();
+            if (warmup.record(endTime - startTime)) break;
+            if (i % 50 == 0) System.out.print(".");
+        }
+        System.out.printf(" Done (%d iterations%s)%n", warmup.getIterations(),
+                warmup.isSteady() ? "" : ", steady state not reached");
+        warmupEvent.iterations = warmup.getIterations();
+        endPhase(warmupEvent);
+        return warmup;
+    }
+
+    /**
+     * Starts a JFR benchmark phase event; pair with {@link #endPhase}
+     */
+    public static BenchmarkPhaseEvent beginPhase(String benchmark, String phase,
+                                                 int inputSize, int iterations) {
+        BenchmarkPhaseEvent event = new BenchmarkPhaseEvent();
+        event.benchmark = benchmark;
+        event.phase = phase;
+        event.inputSize = inputSize;
+        event.iterations = iterations;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends a benchmark phase event and commits it if JFR is recording
+     */
+    public static void endPhase(BenchmarkPhaseEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+
     private BenchmarkResult calculateStatistics(int size, long[] times, int[] comparisons,
-                                                int[] accesses, String inputType, int iterations) {
+                                                int[] accesses, long[] allocated,
+                                                String inputType, int iterations,
+                                                WarmupController.WarmupResult warmup) {
         // Time statistics
         double avgTime = calculateAverage(times);
         double stdDevTime = calculateStandardDeviation(times, avgTime);
@@ -150,9 +318,10 @@ public class PerformanceTracker {
         // Operation statistics
         double avgComparisons = calculateAverage(comparisons);
         double avgAccesses = calculateAverage(accesses);
+        double avgBytes = AllocationMeter.isSupported() ? calculateAverage(allocated) : -1;
 
         return new BenchmarkResult(size, avgTime, stdDevTime, (int)minTime, (int)maxTime,
-                avgComparisons, avgAccesses, iterations, inputType);
+                avgComparisons, avgAccesses, iterations, inputType, avgBytes, warmup);
     }
 
     private double calculateAverage(long[] values) {
@@ -222,6 +391,15 @@ public class PerformanceTracker {
                 result.avgComparisons, result.avgArrayAccesses);
         System.out.printf("Iterations: %d, Input Type: %s%n",
                 result.iterations, result.inputType);
+        if (result.avgBytesPerOp >= 0) {
+            System.out.printf("Allocation: %.1f bytes/op%n", result.avgBytesPerOp);
+        }
+        if (result.warmup != null) {
+            System.out.println("Warmup: " + result.warmup);
+        }
+        if (result.estimate != null) {
+            System.out.println("Mean: " + result.estimate);
+        }
 
         // Calculate operations per element
         double timePerElement = result.avgTimeNs / result.inputSize;
@@ -236,11 +414,12 @@ public class PerformanceTracker {
         try (FileWriter writer = new FileWriter(filename)) {
             // Write benchmark results header
             writer.write("algorithm,input_size,avg_time_ns,std_dev_ns,min_time_ns,max_time_ns," +
-                    "avg_comparisons,avg_array_accesses,iterations,input_type\n");
+                    "avg_comparisons,avg_array_accesses,iterations,input_type,bytes_per_op," +
+                    "warmup_iterations,steady_state,suspected_deopts,ci_half_width_ns\n");
 
             // Write benchmark data
             for (BenchmarkResult result : benchmarkResults) {
-                writer.write(String.format("%s,%d,%.2f,%.2f,%d,%d,%.2f,%.2f,%d,%s\n",
+                writer.write(String.format("%s,%d,%.2f,%.2f,%d,%d,%.2f,%.2f,%d,%s,%.1f,%d,%b,%d,%.2f\n",
                         algorithmName,
                         result.inputSize,
                         result.avgTimeNs,
@@ -250,7 +429,12 @@ public class PerformanceTracker {
                         result.avgComparisons,
                         result.avgArrayAccesses,
                         result.iterations,
-                        result.inputType
+                        result.inputType,
+                        result.avgBytesPerOp,
+                        result.warmup == null ? 0 : result.warmup.iterations,
+                        result.warmup != null && result.warmup.steady,
+                        result.warmup == null ? 0 : result.warmup.suspectedDeoptimizations,
+                        result.estimate == null ? -1.0 : result.estimate.halfWidthNs
                 ));
             }
 
@@ -261,6 +445,28 @@ public class PerformanceTracker {
         }
     }
 
+    /**
+     * Appends every benchmark result to a history store. Results whose input
+     * type is "engine/distribution" (forked runs) keep that engine; others are
+     * filed under this tracker's algorithm name.
+     */
+    public void exportToHistory(BenchmarkHistory history, String commit) throws IOException {
+        long now = System.currentTimeMillis();
+        for (BenchmarkResult result : benchmarkResults) {
+            String engine = algorithmName;
+            String distribution = result.inputType;
+            int slash = distribution.indexOf('/');
+            if (slash >= 0) {
+                engine = distribution.substring(0, slash);
+                distribution = distribution.substring(slash + 1);
+            }
+            history.append(new BenchmarkHistory.Run(now, commit, engine, distribution, result.inputSize,
+                    result.iterations, result.avgTimeNs, result.stdDevTimeNs,
+                    result.estimate == null ? -1 : result.estimate.halfWidthNs,
+                    result.minTimeNs, result.avgBytesPerOp));
+        }
+    }
+
     public void generateComplexityAnalysis() {
         System.out.println("\n=== Complexity Analysis ===");
 
@@ -290,6 +496,28 @@ public class PerformanceTracker {
         verifyLinearComplexity();
     }
 
+    /**
+     * Compares each benchmark result's achieved read rate (4 bytes per
+     * element) with the single-thread bandwidth of the same working set
+     *
+     * @param probeMillis time spent measuring bandwidth per size
+     */
+    public void generateRooflineAnalysis(long probeMillis) {
+        System.out.println("\n=== Memory Bandwidth Roofline ===");
+
+        if (benchmarkResults.isEmpty()) {
+            System.out.println("No benchmark data available for analysis.");
+            return;
+        }
+
+        System.out.println(RooflineAnalysis.header());
+        for (BenchmarkResult result : benchmarkResults) {
+            double peak = BandwidthProbe.measureReadBandwidth(result.inputSize, probeMillis);
+            System.out.println(new RooflineAnalysis.Point(algorithmName, result.inputSize,
+                    result.avgTimeNs, peak));
+        }
+    }
+
     private void verifyLinearComplexity() {
         if (benchmarkResults.size() < 2) return;
 
@@ -339,12 +567,31 @@ public class PerformanceTracker {
     }
 
     public void clear() {
-        records.clear();
+        synchronized (records) {
+            Arrays.fill(records, null);
+            recordHead = 0;
+            recordCount = 0;
+        }
         benchmarkResults.clear();
     }
 
+    /**
+     * @return the retained per-call records, oldest first
+     */
+    public List<PerformanceRecord> getRecords() {
+        synchronized (records) {
+            List<PerformanceRecord> copy = new ArrayList<>(recordCount);
+            for (int i = 0; i < recordCount; i++) {
+                copy.add(records[(recordHead + i) % records.length]);
+            }
+            return copy;
+        }
+    }
+
+    public int getRecordCapacity() { return records.length; }
+
     // Getters
-    public List<PerformanceRecord> getRecords() { return new ArrayList<>(records); }
     public List<BenchmarkResult> getBenchmarkResults() { return new ArrayList<>(benchmarkResults); }
     public String getAlgorithmName() { return algorithmName; }
+    public LiveMetrics getLiveMetrics() { return liveMetrics; }
 }
\ No newline at end of file
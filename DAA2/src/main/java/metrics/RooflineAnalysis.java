@@ -0,0 +1,199 @@
+package metrics;
+
+import algorithms.KadaneAlgorithm;
+import algorithms.OffHeapKadane;
+import storage.OffHeapIntArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Places engines on a memory-bandwidth roofline: for each working-set size
+ * the machine's sustainable read bandwidth is measured with
+ * {@link BandwidthProbe}, then each engine's achieved GB/s (4 bytes per input
+ * element) is reported as a fraction of that peak. An engine near 100% is
+ * memory-bound and gains nothing from more compute (SIMD, unrolling); one well
+ * below it is compute-bound. Parallel engines are compared against the
+ * multi-threaded peak.
+ *
+ * On small inputs the fixed cost of a call (timing, tracker bookkeeping, JFR
+ * event, result object, pool dispatch) can dwarf the scan itself, and a low
+ * GB/s there says nothing about compute. That cost is measured per engine on
+ * a one-element input, and points where it is at least half the call time are
+ * labelled overhead-dominated instead.
+ */
+public class RooflineAnalysis {
+    /** Working sets of 4 KiB, 32 KiB, 256 KiB, 4 MiB and 64 MiB: L1, L1/L2, L2/L3, L3, DRAM */
+    public static final int[] CACHE_SPANNING_SIZES = {1 << 10, 1 << 13, 1 << 16, 1 << 20, 1 << 24};
+    /** At or above this fraction of peak an engine is memory-bound */
+    static final double MEMORY_BOUND = 0.8;
+    /** Below this fraction an engine is compute-bound */
+    static final double COMPUTE_BOUND = 0.5;
+    /** At or above this share of the call time, fixed per-call cost dominates */
+    static final double OVERHEAD_DOMINATED = 0.5;
+    /** Calls per sample when timing the one-element input */
+    private static final int OVERHEAD_CALLS = 64;
+
+    private final int[] sizes;
+    private final long millisPerPoint;
+    private final int threads;
+
+    /**
+     * One engine at one size
+     */
+    public static class Point {
+        public final String engine;
+        public final int size;
+        public final double bestTimeNs;
+        /** Time of the same call on a one-element input, 0 if not measured */
+        public final double overheadNs;
+        public final double achievedGBs;
+        public final double peakGBs;
+
+        public Point(String engine, int size, double bestTimeNs, double overheadNs, double peakGBs) {
+            this.engine = engine;
+            this.size = size;
+            this.bestTimeNs = bestTimeNs;
+            this.overheadNs = overheadNs;
+            this.achievedGBs = (double) size * Integer.BYTES / bestTimeNs;
+            this.peakGBs = peakGBs;
+        }
+
+        public Point(String engine, int size, double bestTimeNs, double peakGBs) {
+            this(engine, size, bestTimeNs, 0, peakGBs);
+        }
+
+        public boolean isOverheadDominated() {
+            return overheadNs >= OVERHEAD_DOMINATED * bestTimeNs;
+        }
+
+        public double fractionOfPeak() {
+            return peakGBs > 0 ? achievedGBs / peakGBs : 0;
+        }
+
+        public String bound() {
+            double fraction = fractionOfPeak();
+            if (isOverheadDominated()) return "overhead-dominated";
+            if (fraction >= MEMORY_BOUND) return "memory-bound";
+            if (fraction < COMPUTE_BOUND) return "compute-bound";
+            return "mixed";
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-18s %,12d %10s %10.2f %10.2f %7.1f%%  %s", engine, size,
+                    workingSet(size), achievedGBs, peakGBs, fractionOfPeak() * 100, bound());
+        }
+    }
+
+    public RooflineAnalysis(int[] sizes, long millisPerPoint, int threads) {
+        if (sizes == null || sizes.length == 0 || millisPerPoint <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Invalid roofline configuration");
+        }
+        this.sizes = sizes.clone();
+        this.millisPerPoint = millisPerPoint;
+        this.threads = threads;
+    }
+
+    public RooflineAnalysis() {
+        this(CACHE_SPANNING_SIZES, 200, Runtime.getRuntime().availableProcessors());
+    }
+
+    public List<Point> run() throws InterruptedException {
+        List<Point> points = new ArrayList<>();
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        OffHeapKadane offHeap = new OffHeapKadane();
+
+        int[] single = {1};
+        OffHeapIntArray offHeapSingle = OffHeapIntArray.fromArray(single, OffHeapIntArray.DEFAULT_CHUNK_SHIFT);
+        double standardOverhead = bestTime(() -> kadane.findMaximumSubarray(single), OVERHEAD_CALLS);
+        double offHeapOverhead = bestTime(() -> offHeap.findMaximumSubarray(offHeapSingle), OVERHEAD_CALLS);
+        double parallelOverhead = bestTime(() -> offHeap.findMaximumSubarrayParallel(offHeapSingle, threads),
+                OVERHEAD_CALLS);
+
+        for (int size : sizes) {
+            int[] nums = new int[size];
+            Random random = new Random(45);
+            for (int i = 0; i < size; i++) {
+                nums[i] = random.nextInt(2001) - 1000;
+            }
+            OffHeapIntArray offHeapNums = OffHeapIntArray.fromArray(nums, OffHeapIntArray.DEFAULT_CHUNK_SHIFT);
+
+            double peak = BandwidthProbe.measureReadBandwidth(size, millisPerPoint);
+            double parallelPeak = BandwidthProbe.measureParallelReadBandwidth(size, threads, millisPerPoint);
+
+            int calls = callsPerSample(size);
+            points.add(new Point("standard", size, bestTime(() -> kadane.findMaximumSubarray(nums), calls),
+                    standardOverhead, peak));
+            points.add(new Point("offheap", size, bestTime(() -> offHeap.findMaximumSubarray(offHeapNums), calls),
+                    offHeapOverhead, peak));
+            points.add(new Point("offheap-parallel", size,
+                    bestTime(() -> offHeap.findMaximumSubarrayParallel(offHeapNums, threads), calls),
+                    parallelOverhead, parallelPeak));
+            kadane.getPerformanceTracker().clear();
+            offHeap.getPerformanceTracker().clear();
+        }
+        return points;
+    }
+
+    /**
+     * Batches calls on small inputs so each sample spans at least ~64 Ki elements
+     */
+    private static int callsPerSample(int size) {
+        return Math.max(1, (1 << 16) / size);
+    }
+
+    /**
+     * Fastest per-call time after warmup, timing {@code calls} calls per sample
+     */
+    private double bestTime(Runnable call, int calls) {
+        WarmupController warmup = new WarmupController(5, 200, 5, 0.1);
+        long sample;
+        do {
+            long start = System.nanoTime();
+            for (int c = 0; c < calls; c++) {
+                call.run();
+            }
+            sample = System.nanoTime() - start;
+        } while (!warmup.record(sample));
+
+        long deadline = System.nanoTime() + millisPerPoint * 1_000_000L;
+        long best = sample;
+        do {
+            long start = System.nanoTime();
+            for (int c = 0; c < calls; c++) {
+                call.run();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        } while (System.nanoTime() < deadline);
+        return (double) best / calls;
+    }
+
+    public static String header() {
+        return String.format("%-18s %12s %10s %10s %10s %8s  %s",
+                "Engine", "Size", "Working", "GB/s", "Peak GB/s", "Peak", "Bound");
+    }
+
+    public static void print(List<Point> points) {
+        System.out.println("\n=== Memory Bandwidth Roofline ===");
+        System.out.println(header());
+        for (Point point : points) {
+            System.out.println(point);
+        }
+    }
+
+    /**
+     * Human-readable working-set size, e.g. "256 KiB"
+     */
+    static String workingSet(int size) {
+        long bytes = (long) size * Integer.BYTES;
+        if (bytes >= 1 << 20) return (bytes >> 20) + " MiB";
+        if (bytes >= 1 << 10) return (bytes >> 10) + " KiB";
+        return bytes + " B";
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        print(new RooflineAnalysis().run());
+    }
+}
@@ -0,0 +1,35 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for every maximum subarray engine invocation.
+ * The event duration covers the scan itself; when JFR is not recording the
+ * event is never committed and the JIT removes the allocation.
+ */
+@Name("kadane.SubarrayExecution")
+@Label("Max Subarray Execution")
+@Category({"Kadane", "Engine"})
+@Description("A single maximum subarray engine call")
+@StackTrace(false)
+public class SubarrayExecutionEvent extends Event {
+    @Label("Engine")
+    public String engine;
+
+    @Label("Input Size")
+    public long inputSize;
+
+    @Label("Comparisons")
+    public long comparisons;
+
+    @Label("Array Accesses")
+    public long arrayAccesses;
+
+    @Label("Result Length")
+    public long resultLength;
+}
@@ -0,0 +1,187 @@
+package metrics;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when a benchmark has finished warming up. Steady state is reached
+ * once the coefficient of variation of the last {@code window} iteration
+ * times drops below a threshold and the JIT has not spent any compilation
+ * time during that window (per {@link CompilationMXBean}).
+ *
+ * Feed each warmup iteration time to {@link #record(long)} until it returns
+ * true, run the measurement, then call {@link #finish()}. Compilation seen
+ * after steady state, or a slow iteration that coincides with compilation
+ * during warmup, is counted as a suspected deoptimization.
+ */
+public class WarmupController {
+    /** Iteration slower than this multiple of the window mean counts as a spike */
+    static final double SPIKE_FACTOR = 2.0;
+
+    private static final CompilationMXBean COMPILER = lookup();
+
+    private final int minIterations;
+    private final int maxIterations;
+    private final double cvThreshold;
+    private final long[] times;
+    private final long[] compileMs;
+    private final LongSupplier compilationClock;
+
+    private int iterations;
+    private long totalTimeNs;
+    private long startCompileMs;
+    private long steadyCompileMs = -1;
+    private int suspectedDeoptimizations;
+    private double lastCv = Double.NaN;
+    private boolean steady;
+
+    public static class WarmupResult {
+        public final int iterations;
+        public final long warmupTimeNs;
+        public final boolean steady;
+        /** Coefficient of variation of the final window */
+        public final double finalCv;
+        public final long compilationMs;
+        public final long measurementCompilationMs;
+        public final int suspectedDeoptimizations;
+
+        public WarmupResult(int iterations, long warmupTimeNs, boolean steady, double finalCv,
+                            long compilationMs, long measurementCompilationMs,
+                            int suspectedDeoptimizations) {
+            this.iterations = iterations;
+            this.warmupTimeNs = warmupTimeNs;
+            this.steady = steady;
+            this.finalCv = finalCv;
+            this.compilationMs = compilationMs;
+            this.measurementCompilationMs = measurementCompilationMs;
+            this.suspectedDeoptimizations = suspectedDeoptimizations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d iterations (%.1f ms), %s, CV %.3f, JIT %d ms (+%d ms measuring), %d suspected deopt(s)",
+                    iterations, warmupTimeNs / 1e6, steady ? "steady" : "NOT steady", finalCv,
+                    compilationMs, measurementCompilationMs, suspectedDeoptimizations);
+        }
+    }
+
+    /**
+     * @param minIterations iterations always run, also the lower bound on warmup
+     * @param maxIterations warmup gives up (not steady) after this many
+     * @param window        iterations in the rolling window
+     * @param cvThreshold   e.g. 0.05 for a 5% coefficient of variation
+     */
+    public WarmupController(int minIterations, int maxIterations, int window, double cvThreshold) {
+        this(minIterations, maxIterations, window, cvThreshold, WarmupController::compilationTimeMs);
+    }
+
+    /**
+     * @param compilationClock source of accumulated JIT time in ms, replaced
+     *                         in tests to make the JIT-quiet check deterministic
+     */
+    WarmupController(int minIterations, int maxIterations, int window, double cvThreshold,
+                     LongSupplier compilationClock) {
+        if (minIterations < 0 || maxIterations < Math.max(1, minIterations) || window < 2 || cvThreshold <= 0) {
+            throw new IllegalArgumentException("Invalid warmup configuration");
+        }
+        this.minIterations = minIterations;
+        this.maxIterations = maxIterations;
+        this.cvThreshold = cvThreshold;
+        this.times = new long[window];
+        this.compileMs = new long[window];
+        this.compilationClock = compilationClock;
+        this.startCompileMs = compilationClock.getAsLong();
+    }
+
+    /**
+     * Defaults: window of 10, 5% CV, at most 1000 iterations
+     */
+    public WarmupController(int minIterations) {
+        this(minIterations, Math.max(minIterations, 1000), 10, 0.05);
+    }
+
+    /**
+     * Records one warmup iteration.
+     *
+     * @return true once steady state (or the iteration cap) is reached
+     */
+    public boolean record(long iterationNs) {
+        if (steady || iterations >= maxIterations) {
+            return true;
+        }
+        int window = times.length;
+        long compile = compilationClock.getAsLong();
+        if (iterations >= window) {
+            double mean = windowMean();
+            int previous = (iterations - 1) % window;
+            if (iterationNs > SPIKE_FACTOR * mean && compile > compileMs[previous]) {
+                suspectedDeoptimizations++;
+            }
+        }
+
+        times[iterations % window] = iterationNs;
+        compileMs[iterations % window] = compile;
+        iterations++;
+        totalTimeNs += iterationNs;
+
+        if (iterations >= window) {
+            lastCv = windowCv();
+            long oldestCompile = compileMs[iterations % window];
+            boolean jitQuiet = compile < 0 || compile == oldestCompile;
+            if (iterations >= minIterations && lastCv <= cvThreshold && jitQuiet) {
+                steady = true;
+            }
+        }
+        if (steady || iterations >= maxIterations) {
+            steadyCompileMs = compile;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Call after the measurement phase; JIT activity since warmup ended is
+     * reported and counted as a suspected deoptimization
+     */
+    public WarmupResult finish() {
+        long now = compilationClock.getAsLong();
+        long endOfWarmup = steadyCompileMs >= 0 ? steadyCompileMs : now;
+        long measurementCompile = Math.max(0, now - endOfWarmup);
+        int deopts = suspectedDeoptimizations + (measurementCompile > 0 ? 1 : 0);
+        return new WarmupResult(iterations, totalTimeNs, steady, lastCv,
+                Math.max(0, endOfWarmup - startCompileMs), measurementCompile, deopts);
+    }
+
+    public boolean isSteady() { return steady; }
+    public int getIterations() { return iterations; }
+
+    /**
+     * Accumulated JIT compilation time in ms, or -1 if not monitored
+     */
+    public static long compilationTimeMs() {
+        return COMPILER == null ? -1 : COMPILER.getTotalCompilationTime();
+    }
+
+    private double windowMean() {
+        double sum = 0;
+        for (long t : times) sum += t;
+        return sum / times.length;
+    }
+
+    private double windowCv() {
+        double mean = windowMean();
+        if (mean == 0) return 0;
+        double sumSquaredDiffs = 0;
+        for (long t : times) {
+            double diff = t - mean;
+            sumSquaredDiffs += diff * diff;
+        }
+        return Math.sqrt(sumSquaredDiffs / times.length) / mean;
+    }
+
+    private static CompilationMXBean lookup() {
+        CompilationMXBean bean = ManagementFactory.getCompilationMXBean();
+        return bean != null && bean.isCompilationTimeMonitoringSupported() ? bean : null;
+    }
+}
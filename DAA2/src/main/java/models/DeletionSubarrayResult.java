@@ -0,0 +1,43 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Maximum subarray result where some elements inside [start, end] were skipped.
+ * {@link #getMaxSum()} is the sum of the kept elements only.
+ */
+public class DeletionSubarrayResult extends SubarrayResult {
+    private final int[] deletedIndices;
+
+    public DeletionSubarrayResult(int maxSum, int startIndex, int endIndex,
+                                  int comparisons, int arrayAccesses, int[] deletedIndices) {
+        super(maxSum, startIndex, endIndex, comparisons, arrayAccesses);
+        this.deletedIndices = deletedIndices.clone();
+    }
+
+    /**
+     * @return ascending positions of deleted elements inside the segment
+     */
+    public int[] getDeletedIndices() {
+        return deletedIndices.clone();
+    }
+
+    public int getDeletionCount() {
+        return deletedIndices.length;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " | Deleted: " + Arrays.toString(deletedIndices);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return super.equals(obj) && Arrays.equals(deletedIndices, ((DeletionSubarrayResult) obj).deletedIndices);
+    }
+
+    @Override
+    public int hashCode() {
+        return ((getMaxSum() * 31 + getStartIndex()) * 31 + getEndIndex()) * 31 + Arrays.hashCode(deletedIndices);
+    }
+}
@@ -0,0 +1,67 @@
+package models;
+
+/**
+ * Result of a maximum subarray search over floating point data.
+ * An all-NaN input yields an empty subarray with a NaN sum.
+ */
+public class DoubleSubarrayResult {
+    private final double maxSum;
+    private final int startIndex;
+    private final int endIndex;
+    private final int comparisons;
+    private final int arrayAccesses;
+
+    public DoubleSubarrayResult(double maxSum, int startIndex, int endIndex,
+                                int comparisons, int arrayAccesses) {
+        this.maxSum = maxSum;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+        this.comparisons = comparisons;
+        this.arrayAccesses = arrayAccesses;
+    }
+
+    // Getters
+    public double getMaxSum() { return maxSum; }
+    public int getStartIndex() { return startIndex; }
+    public int getEndIndex() { return endIndex; }
+    public int getComparisons() { return comparisons; }
+    public int getArrayAccesses() { return arrayAccesses; }
+
+    /**
+     * @return Length of the maximum subarray
+     */
+    public int getSubarrayLength() {
+        if (startIndex == -1 || endIndex == -1) return 0;
+        return endIndex - startIndex + 1;
+    }
+
+    public boolean isEmptySubarray() {
+        return startIndex == -1 || endIndex == -1;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmptySubarray()) {
+            return String.format("Max Sum: %s (Empty subarray) | Comparisons: %d | Array Accesses: %d",
+                    maxSum, comparisons, arrayAccesses);
+        }
+        return String.format("Max Sum: %s | Subarray [%d:%d] | Length: %d | Comparisons: %d | Array Accesses: %d",
+                maxSum, startIndex, endIndex, getSubarrayLength(), comparisons, arrayAccesses);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        DoubleSubarrayResult that = (DoubleSubarrayResult) obj;
+        return Double.compare(maxSum, that.maxSum) == 0 &&
+                startIndex == that.startIndex &&
+                endIndex == that.endIndex;
+    }
+
+    @Override
+    public int hashCode() {
+        return (Double.hashCode(maxSum) * 31 + startIndex) * 31 + endIndex;
+    }
+}
@@ -0,0 +1,136 @@
+package models;
+
+/**
+ * Mergeable Kadane summary of a contiguous range [offset, offset + length).
+ * Two adjacent summaries combine in O(1) via {@link #merge}, which is what
+ * lets chunked, parallel and multi-process scans produce a single global result.
+ *
+ * All indices are absolute positions in the full input.
+ */
+public class KadaneSummary {
+    public final long offset;
+    public final long length;
+    public final long total;
+    public final long bestPrefix;
+    public final long prefixEnd;
+    public final long bestSuffix;
+    public final long suffixStart;
+    public final long best;
+    public final long bestStart;
+    public final long bestEnd;
+
+    public KadaneSummary(long offset, long length, long total,
+                         long bestPrefix, long prefixEnd,
+                         long bestSuffix, long suffixStart,
+                         long best, long bestStart, long bestEnd) {
+        this.offset = offset;
+        this.length = length;
+        this.total = total;
+        this.bestPrefix = bestPrefix;
+        this.prefixEnd = prefixEnd;
+        this.bestSuffix = bestSuffix;
+        this.suffixStart = suffixStart;
+        this.best = best;
+        this.bestStart = bestStart;
+        this.bestEnd = bestEnd;
+    }
+
+    /**
+     * Summary of an empty range, the identity element for {@link #merge}
+     */
+    public static KadaneSummary empty(long offset) {
+        return new KadaneSummary(offset, 0, 0, Long.MIN_VALUE, -1, Long.MIN_VALUE, -1,
+                Long.MIN_VALUE, -1, -1);
+    }
+
+    public static KadaneSummary single(long index, long value) {
+        return new KadaneSummary(index, 1, value, value, index, value, index, value, index, index);
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Combines this summary with the range immediately to its right
+     */
+    public KadaneSummary merge(KadaneSummary right) {
+        if (right.isEmpty()) return this;
+        if (isEmpty()) return right;
+        if (offset + length != right.offset) {
+            throw new IllegalArgumentException("Summaries are not adjacent: ["
+                    + offset + "," + (offset + length) + ") and [" + right.offset + ",...)");
+        }
+
+        long mergedTotal = total + right.total;
+
+        long prefix = bestPrefix;
+        long pEnd = prefixEnd;
+        if (total + right.bestPrefix > prefix) {
+            prefix = total + right.bestPrefix;
+            pEnd = right.prefixEnd;
+        }
+
+        long suffix = right.bestSuffix;
+        long sStart = right.suffixStart;
+        if (bestSuffix + right.total >= suffix) {
+            suffix = bestSuffix + right.total;
+            sStart = suffixStart;
+        }
+
+        long mergedBest = best;
+        long bStart = bestStart;
+        long bEnd = bestEnd;
+        long crossing = bestSuffix + right.bestPrefix;
+        if (crossing > mergedBest) {
+            mergedBest = crossing;
+            bStart = suffixStart;
+            bEnd = right.prefixEnd;
+        }
+        if (right.best > mergedBest) {
+            mergedBest = right.best;
+            bStart = right.bestStart;
+            bEnd = right.bestEnd;
+        }
+
+        return new KadaneSummary(offset, length + right.length, mergedTotal,
+                prefix, pEnd, suffix, sStart, mergedBest, bStart, bEnd);
+    }
+
+    public LongSubarrayResult toResult() {
+        if (isEmpty()) {
+            return new LongSubarrayResult(0, -1, -1);
+        }
+        return new LongSubarrayResult(best, bestStart, bestEnd);
+    }
+
+    /**
+     * Compact single-line form: ten space-separated longs in field order
+     */
+    public String toCompactString() {
+        return offset + " " + length + " " + total + " " + bestPrefix + " " + prefixEnd + " "
+                + bestSuffix + " " + suffixStart + " " + best + " " + bestStart + " " + bestEnd;
+    }
+
+    /**
+     * Parses the output of {@link #toCompactString()}
+     */
+    public static KadaneSummary parse(String compact) {
+        String[] parts = compact.trim().split("\\s+");
+        if (parts.length != 10) {
+            throw new IllegalArgumentException("Expected 10 fields, got " + parts.length + ": " + compact);
+        }
+        long[] v = new long[10];
+        for (int i = 0; i < 10; i++) {
+            v[i] = Long.parseLong(parts[i]);
+        }
+        return new KadaneSummary(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8], v[9]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("KadaneSummary[%d+%d] total=%d prefix=%d@%d suffix=%d@%d best=%d [%d:%d]",
+                offset, length, total, bestPrefix, prefixEnd, bestSuffix, suffixStart,
+                best, bestStart, bestEnd);
+    }
+}
@@ -0,0 +1,59 @@
+package models;
+
+/**
+ * Maximum subarray result with 64-bit sum and indices, for inputs that do not
+ * fit in an {@code int[]} or whose sums can overflow {@code int}
+ */
+public class LongSubarrayResult {
+    private final long maxSum;
+    private final long startIndex;
+    private final long endIndex;
+
+    public LongSubarrayResult(long maxSum, long startIndex, long endIndex) {
+        this.maxSum = maxSum;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+    }
+
+    // Getters
+    public long getMaxSum() { return maxSum; }
+    public long getStartIndex() { return startIndex; }
+    public long getEndIndex() { return endIndex; }
+
+    /**
+     * @return Length of the maximum subarray
+     */
+    public long getSubarrayLength() {
+        if (startIndex == -1 || endIndex == -1) return 0;
+        return endIndex - startIndex + 1;
+    }
+
+    public boolean isEmptySubarray() {
+        return startIndex == -1 || endIndex == -1;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmptySubarray()) {
+            return String.format("Max Sum: %d (Empty subarray)", maxSum);
+        }
+        return String.format("Max Sum: %d | Subarray [%d:%d] | Length: %d",
+                maxSum, startIndex, endIndex, getSubarrayLength());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        LongSubarrayResult that = (LongSubarrayResult) obj;
+        return maxSum == that.maxSum &&
+                startIndex == that.startIndex &&
+                endIndex == that.endIndex;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(maxSum) * 31 * 31 + Long.hashCode(startIndex) * 31 + Long.hashCode(endIndex);
+    }
+}
@@ -0,0 +1,81 @@
+package models;
+
+/**
+ * Result of a maximum product subarray search.
+ * Products that fit in a {@code long} are exact; larger ones are reported as
+ * sign and log2 magnitude. {@link #getMaxSum()} holds the product saturated to
+ * the {@code int} range so the result can be used wherever a
+ * {@link SubarrayResult} is expected.
+ */
+public class ProductSubarrayResult extends SubarrayResult {
+    private final boolean exact;
+    private final long product;
+    private final int sign;
+    private final double log2Magnitude;
+
+    public ProductSubarrayResult(boolean exact, long product, int sign, double log2Magnitude,
+                                 int startIndex, int endIndex, int comparisons, int arrayAccesses) {
+        super(saturate(exact, product, sign), startIndex, endIndex, comparisons, arrayAccesses);
+        this.exact = exact;
+        this.product = exact ? product : 0;
+        this.sign = exact ? Long.signum(product) : sign;
+        this.log2Magnitude = exact ? log2Abs(product) : log2Magnitude;
+    }
+
+    private static int saturate(boolean exact, long product, int sign) {
+        if (!exact) {
+            return sign >= 0 ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        }
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, product));
+    }
+
+    private static double log2Abs(long value) {
+        return value == 0 ? Double.NEGATIVE_INFINITY : Math.log(Math.abs((double) value)) / Math.log(2);
+    }
+
+    /**
+     * @return true if {@link #getProduct()} holds the exact product
+     */
+    public boolean isExact() { return exact; }
+
+    /**
+     * @throws ArithmeticException if the product does not fit in a long
+     */
+    public long getProduct() {
+        if (!exact) {
+            throw new ArithmeticException("Product exceeds long range: 2^" + log2Magnitude);
+        }
+        return product;
+    }
+
+    public int getSign() { return sign; }
+    public double getLog2Magnitude() { return log2Magnitude; }
+
+    @Override
+    public String toString() {
+        if (isEmptySubarray()) {
+            return "Max Product: (Empty subarray)";
+        }
+        String value = exact ? Long.toString(product)
+                : String.format("%s2^%.4f", sign < 0 ? "-" : "", log2Magnitude);
+        return String.format("Max Product: %s | Subarray [%d:%d] | Length: %d | Comparisons: %d | Array Accesses: %d",
+                value, getStartIndex(), getEndIndex(), getSubarrayLength(), getComparisons(), getArrayAccesses());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!super.equals(obj)) return false;
+        ProductSubarrayResult that = (ProductSubarrayResult) obj;
+        return exact == that.exact && product == that.product && sign == that.sign
+                && Double.compare(log2Magnitude, that.log2Magnitude) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = (getMaxSum() * 31 + getStartIndex()) * 31 + getEndIndex();
+        hash = hash * 31 + Boolean.hashCode(exact);
+        hash = hash * 31 + Long.hashCode(product);
+        hash = hash * 31 + sign;
+        return hash * 31 + Double.hashCode(log2Magnitude);
+    }
+}
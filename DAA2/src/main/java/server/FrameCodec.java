@@ -0,0 +1,90 @@
+package server;
+
+import models.SubarrayResult;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact big-endian binary framing used by {@link SubarrayServer}.
+ *
+ * Request:  int32 requestId | int32 length | length x int32 elements
+ * Response: int32 requestId | int32 status | int32 maxSum | int32 start | int32 end
+ *           | int32 comparisons | int32 arrayAccesses
+ */
+public final class FrameCodec {
+    public static final int STATUS_OK = 0;
+    public static final int STATUS_BUSY = 1;
+    public static final int STATUS_ERROR = 2;
+
+    public static final int RESPONSE_BYTES = 7 * Integer.BYTES;
+
+    private FrameCodec() {
+    }
+
+    /**
+     * Decoded request frame
+     */
+    public static class Request {
+        public final int requestId;
+        public final int[] nums;
+
+        public Request(int requestId, int[] nums) {
+            this.requestId = requestId;
+            this.nums = nums;
+        }
+    }
+
+    /**
+     * Reads one request frame, rejecting lengths above {@code maxElements}
+     */
+    public static Request readRequest(DataInputStream in, int maxElements) throws IOException {
+        int requestId = in.readInt();
+        int length = in.readInt();
+        if (length < 0 || length > maxElements) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        byte[] payload = new byte[length * Integer.BYTES];
+        in.readFully(payload);
+        int[] nums = new int[length];
+        ByteBuffer.wrap(payload).asIntBuffer().get(nums);
+        return new Request(requestId, nums);
+    }
+
+    public static void writeRequest(DataOutputStream out, int requestId, int[] nums) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate((2 + nums.length) * Integer.BYTES);
+        frame.putInt(requestId).putInt(nums.length);
+        frame.asIntBuffer().put(nums);
+        out.write(frame.array());
+    }
+
+    public static void writeResponse(DataOutputStream out, int requestId, int status,
+                                     SubarrayResult result) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(RESPONSE_BYTES);
+        frame.putInt(requestId).putInt(status);
+        if (result != null) {
+            frame.putInt(result.getMaxSum())
+                    .putInt(result.getStartIndex())
+                    .putInt(result.getEndIndex())
+                    .putInt(result.getComparisons())
+                    .putInt(result.getArrayAccesses());
+        }
+        out.write(frame.array());
+    }
+
+    /**
+     * Reads a response frame into {@code fields}: requestId, status, maxSum, start,
+     * end, comparisons, arrayAccesses
+     */
+    public static void readResponse(DataInputStream in, int[] fields) throws IOException {
+        for (int i = 0; i < 7; i++) {
+            fields[i] = in.readInt();
+        }
+    }
+
+    public static SubarrayResult toResult(int[] fields) {
+        return new SubarrayResult(fields[2], fields[3], fields[4], fields[5], fields[6]);
+    }
+}
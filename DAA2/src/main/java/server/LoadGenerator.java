@@ -0,0 +1,147 @@
+package server;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for {@link SubarrayServer}: each connection sends
+ * its next request as soon as the previous response arrives. Reports throughput
+ * and latency percentiles across all connections.
+ */
+public class LoadGenerator {
+    private final String host;
+    private final int port;
+    private final int connections;
+    private final int requestsPerConnection;
+    private final int arraySize;
+
+    public LoadGenerator(String host, int port, int connections, int requestsPerConnection, int arraySize) {
+        if (connections <= 0 || requestsPerConnection <= 0 || arraySize < 0) {
+            throw new IllegalArgumentException("Invalid load configuration");
+        }
+        this.host = host;
+        this.port = port;
+        this.connections = connections;
+        this.requestsPerConnection = requestsPerConnection;
+        this.arraySize = arraySize;
+    }
+
+    /**
+     * Summary of a load run
+     */
+    public static class LoadResult {
+        public final long completed;
+        public final long rejected;
+        public final long errors;
+        public final double elapsedSeconds;
+        public final long p50Ns;
+        public final long p99Ns;
+        public final long p999Ns;
+        public final long maxNs;
+
+        LoadResult(long completed, long rejected, long errors, double elapsedSeconds, long[] latencies) {
+            this.completed = completed;
+            this.rejected = rejected;
+            this.errors = errors;
+            this.elapsedSeconds = elapsedSeconds;
+            this.p50Ns = percentile(latencies, 0.50);
+            this.p99Ns = percentile(latencies, 0.99);
+            this.p999Ns = percentile(latencies, 0.999);
+            this.maxNs = latencies.length == 0 ? 0 : latencies[latencies.length - 1];
+        }
+
+        public double getThroughput() {
+            return elapsedSeconds > 0 ? completed / elapsedSeconds : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Completed: %,d | Rejected: %,d | Errors: %,d | Throughput: %,.0f req/s%n"
+                            + "Latency p50: %,d ns | p99: %,d ns | p99.9: %,d ns | max: %,d ns",
+                    completed, rejected, errors, getThroughput(), p50Ns, p99Ns, p999Ns, maxNs);
+        }
+    }
+
+    public LoadResult run() throws InterruptedException {
+        long[][] latencies = new long[connections][requestsPerConnection];
+        int[] counts = new int[connections];
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch ready = new CountDownLatch(connections);
+        CountDownLatch go = new CountDownLatch(1);
+        Thread[] threads = new Thread[connections];
+
+        for (int c = 0; c < connections; c++) {
+            final int id = c;
+            threads[c] = new Thread(() -> {
+                Random random = new Random(id);
+                int[] nums = new int[arraySize];
+                for (int i = 0; i < arraySize; i++) {
+                    nums[i] = random.nextInt(201) - 100;
+                }
+                try (SubarrayClient client = new SubarrayClient(host, port)) {
+                    ready.countDown();
+                    go.await();
+                    for (int r = 0; r < requestsPerConnection; r++) {
+                        long start = System.nanoTime();
+                        try {
+                            client.compute(nums);
+                            latencies[id][counts[id]++] = System.nanoTime() - start;
+                        } catch (RejectedExecutionException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                } catch (IOException e) {
+                    errors.incrementAndGet();
+                    ready.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "kadane-load-" + c);
+            threads[c].start();
+        }
+
+        ready.await();
+        long startTime = System.nanoTime();
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsed = (System.nanoTime() - startTime) / 1e9;
+
+        int total = 0;
+        for (int count : counts) total += count;
+        long[] all = new long[total];
+        int pos = 0;
+        for (int c = 0; c < connections; c++) {
+            System.arraycopy(latencies[c], 0, all, pos, counts[c]);
+            pos += counts[c];
+        }
+        Arrays.sort(all);
+        return new LoadResult(total, rejected.get(), errors.get(), elapsed, all);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * Usage: LoadGenerator [port] [connections] [requestsPerConnection] [arraySize]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 9090;
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int size = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+
+        System.out.printf("Load: %d connections x %,d requests, n=%,d%n", connections, requests, size);
+        LoadResult result = new LoadGenerator("127.0.0.1", port, connections, requests, size).run();
+        System.out.println(result);
+    }
+}
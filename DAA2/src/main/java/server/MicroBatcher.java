@@ -0,0 +1,190 @@
+package server;
+
+import algorithms.KadaneAlgorithm;
+import metrics.PerformanceTracker;
+import models.SubarrayResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded request queue drained by a fixed set of worker threads.
+ * Each worker blocks for the first pending request, then coalesces any others
+ * that arrive within {@code maxBatchDelayNs} (up to {@code maxBatchElements}
+ * total elements) and runs them back to back on its own engine instance.
+ * A full queue is reported to the caller instead of blocking, which is how the
+ * server applies backpressure. The queue is bounded both in requests and in
+ * queued array elements, so a burst of large arrays cannot hold more than
+ * {@code maxQueuedElements} ints in memory.
+ */
+public class MicroBatcher {
+    /**
+     * Receives a computed result; invoked on the worker thread
+     */
+    public interface Callback {
+        void complete(Pending pending, SubarrayResult result, Exception error);
+    }
+
+    /**
+     * A queued request with its completion callback
+     */
+    public static class Pending {
+        public final int requestId;
+        public final int[] nums;
+        public final Callback callback;
+        final long enqueuedNs;
+
+        public Pending(int requestId, int[] nums, Callback callback) {
+            this.requestId = requestId;
+            this.nums = nums;
+            this.callback = callback;
+            this.enqueuedNs = System.nanoTime();
+        }
+    }
+
+    private final BlockingQueue<Pending> queue;
+    private final long maxQueuedElements;
+    private final AtomicLong queuedElements = new AtomicLong();
+    private final int maxBatchElements;
+    private final long maxBatchDelayNs;
+    private final Thread[] workers;
+    private final KadaneAlgorithm[] engines;
+    private final PerformanceTracker tracker;
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedRequests = new AtomicLong();
+    private volatile boolean running;
+
+    /**
+     * @param queueCapacity     requests that may wait at once
+     * @param maxQueuedElements array elements that may wait at once, summed over requests
+     */
+    public MicroBatcher(int workerCount, int queueCapacity, long maxQueuedElements,
+                        int maxBatchElements, long maxBatchDelayNs) {
+        if (workerCount <= 0 || queueCapacity <= 0 || maxQueuedElements <= 0
+                || maxBatchElements <= 0 || maxBatchDelayNs < 0) {
+            throw new IllegalArgumentException("Invalid batcher configuration");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxQueuedElements = maxQueuedElements;
+        this.maxBatchElements = maxBatchElements;
+        this.maxBatchDelayNs = maxBatchDelayNs;
+        this.workers = new Thread[workerCount];
+        this.engines = new KadaneAlgorithm[workerCount];
+        // long-lived: aggregate into LiveMetrics only, no per-call records or lock
+        this.tracker = new PerformanceTracker("KadaneServer", 0);
+        for (int i = 0; i < workerCount; i++) {
+            engines[i] = new KadaneAlgorithm(tracker);
+        }
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        for (int i = 0; i < workers.length; i++) {
+            KadaneAlgorithm engine = engines[i];
+            workers[i] = new Thread(() -> workerLoop(engine), "kadane-batch-worker-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    public synchronized void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            if (worker != null) worker.interrupt();
+        }
+    }
+
+    /**
+     * @return false if the queue is full, in requests or in elements, and the
+     *         request was not accepted
+     */
+    public boolean submit(Pending pending) {
+        if (!running) {
+            return false;
+        }
+        int elements = pending.nums.length;
+        long queued;
+        do {
+            queued = queuedElements.get();
+            if (queued + elements > maxQueuedElements) {
+                return false;
+            }
+        } while (!queuedElements.compareAndSet(queued, queued + elements));
+        if (!queue.offer(pending)) {
+            queuedElements.addAndGet(-elements);
+            return false;
+        }
+        return true;
+    }
+
+    private void workerLoop(KadaneAlgorithm engine) {
+        List<Pending> batch = new ArrayList<>();
+        while (running) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queuedElements.addAndGet(-collectBatch(batch, first.nums.length));
+                batches.incrementAndGet();
+                batchedRequests.addAndGet(batch.size());
+                for (Pending pending : batch) {
+                    runOne(engine, pending);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * @return elements in the whole batch
+     */
+    private int collectBatch(List<Pending> batch, int elements) throws InterruptedException {
+        long deadline = batch.get(0).enqueuedNs + maxBatchDelayNs;
+        while (elements < maxBatchElements) {
+            Pending next = queue.peek();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) break;
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) break;
+            } else if (elements + next.nums.length > maxBatchElements) {
+                break;
+            } else {
+                next = queue.poll();
+                if (next == null) continue;
+            }
+            batch.add(next);
+            elements += next.nums.length;
+        }
+        return elements;
+    }
+
+    private static void runOne(KadaneAlgorithm engine, Pending pending) {
+        try {
+            pending.callback.complete(pending, engine.findMaximumSubarray(pending.nums), null);
+        } catch (RuntimeException e) {
+            pending.callback.complete(pending, null, e);
+        }
+    }
+
+    /**
+     * Tracker shared by all worker engines
+     */
+    public PerformanceTracker getTracker() {
+        return tracker;
+    }
+
+    public long getBatchCount() { return batches.get(); }
+    public long getBatchedRequestCount() { return batchedRequests.get(); }
+    public int getQueueDepth() { return queue.size(); }
+    public long getQueuedElements() { return queuedElements.get(); }
+}
@@ -0,0 +1,62 @@
+package server;
+
+import models.SubarrayResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Blocking client for {@link SubarrayServer}; one request in flight at a time
+ */
+public class SubarrayClient implements Closeable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final int[] responseFields = new int[7];
+    private int nextRequestId;
+
+    public SubarrayClient(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+    }
+
+    /**
+     * Sends the array and waits for its result
+     *
+     * @throws RejectedExecutionException if the server queue was full
+     */
+    public SubarrayResult compute(int[] nums) throws IOException {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        int requestId = nextRequestId++;
+        FrameCodec.writeRequest(out, requestId, nums);
+        out.flush();
+
+        FrameCodec.readResponse(in, responseFields);
+        if (responseFields[0] != requestId) {
+            throw new IOException("Response id " + responseFields[0] + " does not match request " + requestId);
+        }
+        switch (responseFields[1]) {
+            case FrameCodec.STATUS_OK:
+                return FrameCodec.toResult(responseFields);
+            case FrameCodec.STATUS_BUSY:
+                throw new RejectedExecutionException("Server busy");
+            default:
+                throw new IOException("Server failed to process request " + requestId);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
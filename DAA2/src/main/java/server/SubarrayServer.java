@@ -0,0 +1,175 @@
+package server;
+
+import metrics.MetricsServer;
+import models.SubarrayResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local TCP server computing maximum subarrays for {@link FrameCodec} request frames.
+ * Connections are served by a bounded pool; requests are coalesced into
+ * micro-batches by {@link MicroBatcher}. When the request queue is full, in
+ * requests or in queued elements, the client immediately gets a
+ * {@link FrameCodec#STATUS_BUSY} response.
+ */
+public class SubarrayServer {
+    private final int requestedPort;
+    private final int maxElements;
+    private final MicroBatcher batcher;
+    private final ThreadPoolExecutor connectionPool;
+    private ServerSocket serverSocket;
+    private Thread acceptThread;
+    private volatile boolean running;
+
+    /**
+     * @param maxQueuedElements ints that may wait in the queue at once, at least {@code maxElements}
+     * @param maxElements       largest accepted request
+     */
+    public SubarrayServer(int port, int workers, int maxConnections, int queueCapacity, long maxQueuedElements,
+                          int maxBatchElements, long maxBatchDelayNs, int maxElements) {
+        if (maxConnections <= 0 || maxElements <= 0 || maxQueuedElements < maxElements) {
+            throw new IllegalArgumentException("Invalid server configuration");
+        }
+        this.requestedPort = port;
+        this.maxElements = maxElements;
+        this.batcher = new MicroBatcher(workers, queueCapacity, maxQueuedElements, maxBatchElements,
+                maxBatchDelayNs);
+        this.connectionPool = new ThreadPoolExecutor(0, maxConnections, 30, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, "kadane-connection");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Server with defaults suited to a single machine: one worker per core,
+     * up to 1,024 queued requests holding at most 32M ints (128 MiB),
+     * 64K-element batches and a 200µs batching window
+     */
+    public SubarrayServer(int port) {
+        this(port, Runtime.getRuntime().availableProcessors(), 256, 1024, 32L * 1024 * 1024,
+                64 * 1024, TimeUnit.MICROSECONDS.toNanos(200), 16 * 1024 * 1024);
+    }
+
+    public void start() throws IOException {
+        if (running) {
+            throw new IllegalStateException("Server already started");
+        }
+        serverSocket = new ServerSocket(requestedPort, 128, InetAddress.getLoopbackAddress());
+        running = true;
+        batcher.start();
+        acceptThread = new Thread(this::acceptLoop, "kadane-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            if (serverSocket != null) serverSocket.close();
+        } catch (IOException e) {
+            System.err.println("Error closing server socket: " + e.getMessage());
+        }
+        batcher.stop();
+        connectionPool.shutdownNow();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public MicroBatcher getBatcher() {
+        return batcher;
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                try {
+                    connectionPool.execute(() -> serveConnection(socket));
+                } catch (RejectedExecutionException e) {
+                    socket.close(); // connection limit reached
+                }
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serveConnection(Socket socket) {
+        try (Socket s = socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 64 * 1024));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+
+            MicroBatcher.Callback callback = (pending, result, error) ->
+                    respond(out, pending.requestId, error == null ? FrameCodec.STATUS_OK : FrameCodec.STATUS_ERROR, result);
+
+            while (running) {
+                FrameCodec.Request request;
+                try {
+                    request = FrameCodec.readRequest(in, maxElements);
+                } catch (EOFException e) {
+                    return;
+                }
+                MicroBatcher.Pending pending = new MicroBatcher.Pending(request.requestId, request.nums, callback);
+                if (!batcher.submit(pending)) {
+                    respond(out, request.requestId, FrameCodec.STATUS_BUSY, null);
+                }
+            }
+        } catch (SocketException e) {
+            // client went away
+        } catch (IOException e) {
+            System.err.println("Connection error: " + e.getMessage());
+        }
+    }
+
+    private static void respond(DataOutputStream out, int requestId, int status, SubarrayResult result) {
+        synchronized (out) {
+            try {
+                FrameCodec.writeResponse(out, requestId, status, result);
+                out.flush();
+            } catch (IOException e) {
+                // connection closed before the response could be written
+            }
+        }
+    }
+
+    /**
+     * Usage: SubarrayServer [port] [metricsPort]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 9090;
+        SubarrayServer server = new SubarrayServer(port);
+        server.start();
+        System.out.println("Max-subarray server listening on 127.0.0.1:" + server.getPort());
+
+        if (args.length > 1) {
+            MetricsServer metrics = new MetricsServer(Integer.parseInt(args[1]));
+            metrics.register(server.getBatcher().getTracker());
+            metrics.start();
+            System.out.println("Metrics at http://127.0.0.1:" + metrics.getPort() + "/metrics");
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.acceptThread.join();
+    }
+}
@@ -0,0 +1,41 @@
+package storage;
+
+/**
+ * {@link IntSource} over a range of an existing array (not copied)
+ */
+public class ArrayIntSource implements IntSource {
+    private final int[] values;
+    private final int end;
+    private int position;
+
+    public ArrayIntSource(int[] values) {
+        this(values, 0, values == null ? 0 : values.length);
+    }
+
+    public ArrayIntSource(int[] values, int from, int to) {
+        if (values == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (from < 0 || to > values.length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ")");
+        }
+        this.values = values;
+        this.position = from;
+        this.end = to;
+    }
+
+    @Override
+    public int read(int[] dst, int off, int len) {
+        IntSource.checkRange(dst, off, len);
+        if (position == end) return len == 0 ? 0 : -1;
+        int count = Math.min(len, end - position);
+        System.arraycopy(values, position, dst, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long remaining() {
+        return end - position;
+    }
+}
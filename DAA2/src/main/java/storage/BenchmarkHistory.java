@@ -0,0 +1,515 @@
+package storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of benchmark runs, indexed in memory by series
+ * (engine, input size, distribution) and by git commit.
+ *
+ * <pre>
+ * file header (16 bytes): magic, version, reserved (long)
+ * per record            : payloadBytes (int), payload, CRC32 of payload (int)
+ * payload               : timestamp (long), inputSize, iterations (int),
+ *                         meanNs, stdDevNs, ciHalfWidthNs, minNs, bytesPerOp (double),
+ *                         engine, distribution, commit (u16 length + UTF-8)
+ * </pre>
+ *
+ * Opening reads the whole file in one pass, so thousands of runs load in
+ * milliseconds. A record that fails its CRC is skipped if intact records
+ * follow it (corruption in place); with nothing intact after it, it is a torn
+ * tail from a crash mid-append and is truncated away. Appends and the
+ * truncating load hold an exclusive file lock, so several processes can
+ * share one history. All integers are little-endian.
+ */
+public class BenchmarkHistory implements Closeable {
+    /** History shared by the report generator and forked benchmark runs */
+    public static final String DEFAULT_FILE = "reports/benchmark_history.bin";
+
+    static final int MAGIC = 0x4B424853; // "KBHS"
+    static final int VERSION = 1;
+    static final int FILE_HEADER_BYTES = 16;
+    /** Fixed-width part of a payload, before the three strings */
+    private static final int FIXED_PAYLOAD_BYTES = 8 + 4 + 4 + 5 * 8;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    private static final int MAX_PAYLOAD_BYTES = FIXED_PAYLOAD_BYTES + 3 * (Short.BYTES + MAX_STRING_BYTES);
+
+    /**
+     * One measured benchmark configuration
+     */
+    public static class Run {
+        public final long timestamp;
+        public final String commit;
+        public final String engine;
+        public final String distribution;
+        public final int inputSize;
+        public final int iterations;
+        public final double meanNs;
+        public final double stdDevNs;
+        /** 95% CI half-width, -1 if the run used a fixed iteration count */
+        public final double ciHalfWidthNs;
+        public final double minNs;
+        /** -1 if allocation was not measured */
+        public final double bytesPerOp;
+
+        public Run(long timestamp, String commit, String engine, String distribution, int inputSize,
+                   int iterations, double meanNs, double stdDevNs, double ciHalfWidthNs,
+                   double minNs, double bytesPerOp) {
+            this.timestamp = timestamp;
+            this.commit = Objects.requireNonNull(commit, "commit");
+            this.engine = Objects.requireNonNull(engine, "engine");
+            this.distribution = Objects.requireNonNull(distribution, "distribution");
+            this.inputSize = inputSize;
+            this.iterations = iterations;
+            this.meanNs = meanNs;
+            this.stdDevNs = stdDevNs;
+            this.ciHalfWidthNs = ciHalfWidthNs;
+            this.minNs = minNs;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        public String seriesKey() {
+            return BenchmarkHistory.seriesKey(engine, inputSize, distribution);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%tF %<tT  %-10s %-28s %,12.1f ns%s", timestamp, commit, seriesKey(), meanNs,
+                    ciHalfWidthNs >= 0 ? String.format(" ± %,.1f", ciHalfWidthNs) : "");
+        }
+    }
+
+    /**
+     * Least-squares trend of mean time over a series' most recent runs
+     */
+    public static class Trend {
+        public final String series;
+        public final List<Run> runs;
+        /** Fitted change in mean time per run, in ns */
+        public final double slopeNsPerRun;
+        /** Fitted change from the first to the last run, relative to the first */
+        public final double relativeDrift;
+
+        Trend(String series, List<Run> runs, double slopeNsPerRun, double relativeDrift) {
+            this.series = series;
+            this.runs = runs;
+            this.slopeNsPerRun = slopeNsPerRun;
+            this.relativeDrift = relativeDrift;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s %4d runs  slope %+,10.1f ns/run  drift %+7.1f%%",
+                    series, runs.size(), slopeNsPerRun, relativeDrift * 100);
+        }
+    }
+
+    private final FileChannel channel;
+    private final boolean readOnly;
+    private final List<Run> runs = new ArrayList<>();
+    private final Map<String, List<Run>> bySeries = new LinkedHashMap<>();
+    private final Map<String, List<Run>> byCommit = new LinkedHashMap<>();
+    private long skippedBytes;
+
+    private BenchmarkHistory(FileChannel channel, boolean readOnly) {
+        this.channel = channel;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Opens (creating if necessary) a history file and loads every intact run
+     */
+    public static BenchmarkHistory open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return open(file, false, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Opens an existing history file for queries only: nothing is created or
+     * truncated, and {@link #append(Run)} is rejected
+     */
+    public static BenchmarkHistory openReadOnly(Path file) throws IOException {
+        return open(file, true, StandardOpenOption.READ);
+    }
+
+    private static BenchmarkHistory open(Path file, boolean readOnly, StandardOpenOption... options)
+            throws IOException {
+        FileChannel channel = FileChannel.open(file, options);
+        try {
+            BenchmarkHistory history = new BenchmarkHistory(channel, readOnly);
+            // shared lock for readers so a concurrent append is never seen half-written
+            FileLock lock = channel.lock(0, Long.MAX_VALUE, readOnly);
+            try {
+                history.load(file);
+            } finally {
+                lock.release();
+            }
+            return history;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void load(Path file) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            if (readOnly) return;
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(0).flip();
+            writeFully(header, 0);
+            return;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("History file too large: " + file);
+        }
+        ByteBuffer data = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        while (data.hasRemaining()) {
+            if (channel.read(data, data.position()) < 0) break;
+        }
+        data.flip();
+        if (data.limit() < FILE_HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IOException("Not a benchmark history file: " + file);
+        }
+
+        int position = FILE_HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        while (position < data.limit()) {
+            Run run = readRecord(data, position, crc);
+            if (run != null) {
+                index(run);
+                position = recordEnd(data, position);
+                continue;
+            }
+            int next = nextIntactRecord(data, position + 1, crc);
+            if (next < 0) break;
+            skippedBytes += next - position;
+            position = next;
+        }
+        // only a torn tail is left: drop it so the next append starts at a record boundary
+        if (position < size && !readOnly) {
+            channel.truncate(position);
+        }
+    }
+
+    /**
+     * Decodes the record starting at {@code position}, or returns null if its
+     * framing, CRC or strings are invalid. The CRC is only computed once the
+     * string lengths add up to the payload length, which random bytes almost
+     * never do, so resyncing over corrupt data stays linear.
+     */
+    private static Run readRecord(ByteBuffer data, int position, CRC32 crc) {
+        if (position + Integer.BYTES > data.limit()) return null;
+        int payloadBytes = data.getInt(position);
+        if (payloadBytes < FIXED_PAYLOAD_BYTES || payloadBytes > MAX_PAYLOAD_BYTES) return null;
+        long end = (long) position + Integer.BYTES + payloadBytes + Integer.BYTES;
+        if (end > data.limit() || !stringsFit(data, position + Integer.BYTES, payloadBytes)) return null;
+
+        ByteBuffer payload = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        payload.position(position + Integer.BYTES).limit(position + Integer.BYTES + payloadBytes);
+        crc.reset();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != data.getInt((int) end - Integer.BYTES)) return null;
+        try {
+            return decode(payload);
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    /**
+     * True if the three length-prefixed strings end exactly at the payload end
+     */
+    private static boolean stringsFit(ByteBuffer data, int payloadStart, int payloadBytes) {
+        int payloadEnd = payloadStart + payloadBytes;
+        int position = payloadStart + FIXED_PAYLOAD_BYTES;
+        for (int s = 0; s < 3; s++) {
+            if (position + Short.BYTES > payloadEnd) return false;
+            position += Short.BYTES + (data.getShort(position) & 0xFFFF);
+        }
+        return position == payloadEnd;
+    }
+
+    private static int recordEnd(ByteBuffer data, int position) {
+        return position + Integer.BYTES + data.getInt(position) + Integer.BYTES;
+    }
+
+    /**
+     * Scans forward byte by byte for the next record that passes its checks,
+     * since the length of a corrupt record cannot be trusted
+     *
+     * @return its position, or -1 if none follows
+     */
+    private static int nextIntactRecord(ByteBuffer data, int from, CRC32 crc) {
+        for (int position = from; position + Integer.BYTES <= data.limit(); position++) {
+            if (readRecord(data, position, crc) != null) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends one run at the end of the file and makes it visible to queries.
+     * Runs appended by other processes since this history was opened are
+     * kept in the file but not indexed here.
+     *
+     * @throws IllegalStateException if the history was opened read-only
+     */
+    public synchronized void append(Run run) throws IOException {
+        if (readOnly) {
+            throw new IllegalStateException("History was opened read-only");
+        }
+        byte[] engine = utf8(run.engine);
+        byte[] distribution = utf8(run.distribution);
+        byte[] commit = utf8(run.commit);
+        int payloadBytes = FIXED_PAYLOAD_BYTES + 3 * Short.BYTES + engine.length + distribution.length + commit.length;
+
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + payloadBytes + Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        record.putInt(payloadBytes);
+        record.putLong(run.timestamp).putInt(run.inputSize).putInt(run.iterations);
+        record.putDouble(run.meanNs).putDouble(run.stdDevNs).putDouble(run.ciHalfWidthNs)
+                .putDouble(run.minNs).putDouble(run.bytesPerOp);
+        putString(record, engine);
+        putString(record, distribution);
+        putString(record, commit);
+
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), Integer.BYTES, payloadBytes);
+        record.putInt((int) crc.getValue());
+        record.flip();
+
+        FileLock lock = channel.lock();
+        try {
+            writeFully(record, channel.size());
+        } finally {
+            lock.release();
+        }
+        index(run);
+    }
+
+    /**
+     * @return every run in append order
+     */
+    public synchronized List<Run> runs() {
+        return Collections.unmodifiableList(new ArrayList<>(runs));
+    }
+
+    /**
+     * @return series keys in order of first appearance
+     */
+    public synchronized List<String> series() {
+        return new ArrayList<>(bySeries.keySet());
+    }
+
+    /**
+     * @return runs of one series in append order
+     */
+    public synchronized List<Run> query(String engine, int inputSize, String distribution) {
+        return copyOf(bySeries.get(seriesKey(engine, inputSize, distribution)));
+    }
+
+    public synchronized List<Run> byCommit(String commit) {
+        return copyOf(byCommit.get(commit));
+    }
+
+    /**
+     * @return the last {@code n} runs of a series, oldest first
+     */
+    public synchronized List<Run> lastRuns(String series, int n) {
+        List<Run> all = bySeries.getOrDefault(series, Collections.emptyList());
+        return new ArrayList<>(all.subList(Math.max(0, all.size() - n), all.size()));
+    }
+
+    /**
+     * @return up to {@code n} runs with the lowest mean time, fastest first
+     */
+    public synchronized List<Run> best(String series, int n) {
+        return ranked(series, n, Comparator.comparingDouble(run -> run.meanNs));
+    }
+
+    /**
+     * @return up to {@code n} runs with the highest mean time, slowest first
+     */
+    public synchronized List<Run> worst(String series, int n) {
+        return ranked(series, n, Comparator.comparingDouble((Run run) -> run.meanNs).reversed());
+    }
+
+    /**
+     * Fits mean time against run number over the last {@code n} runs of a series
+     */
+    public synchronized Trend trend(String series, int n) {
+        List<Run> recent = lastRuns(series, n);
+        int k = recent.size();
+        if (k < 2) {
+            return new Trend(series, recent, 0, 0);
+        }
+        double meanX = (k - 1) / 2.0;
+        double meanY = 0;
+        for (Run run : recent) {
+            meanY += run.meanNs;
+        }
+        meanY /= k;
+        double sxy = 0;
+        double sxx = 0;
+        for (int i = 0; i < k; i++) {
+            sxy += (i - meanX) * (recent.get(i).meanNs - meanY);
+            sxx += (i - meanX) * (i - meanX);
+        }
+        double slope = sxy / sxx;
+        double fittedFirst = meanY - slope * meanX;
+        double drift = fittedFirst > 0 ? slope * (k - 1) / fittedFirst : 0;
+        return new Trend(series, recent, slope, drift);
+    }
+
+    /**
+     * Trends of every series, largest absolute drift first
+     */
+    public synchronized List<Trend> drift(int n) {
+        List<Trend> trends = new ArrayList<>();
+        for (String series : bySeries.keySet()) {
+            trends.add(trend(series, n));
+        }
+        trends.sort(Comparator.comparingDouble((Trend t) -> Math.abs(t.relativeDrift)).reversed());
+        return trends;
+    }
+
+    public synchronized int size() {
+        return runs.size();
+    }
+
+    public static String seriesKey(String engine, int inputSize, String distribution) {
+        return new StringBuilder(engine.length() + distribution.length() + 14)
+                .append(engine).append('/').append(distribution).append("/n=").append(inputSize).toString();
+    }
+
+    /**
+     * Short hash of the checked-out git commit, or "unknown" outside a work tree
+     */
+    public static String currentCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                    .redirectErrorStream(true).start();
+            String output;
+            try (InputStream in = process.getInputStream()) {
+                output = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+            if (process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0 && !output.isEmpty()) {
+                return output;
+            }
+        } catch (IOException e) {
+            // git not installed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unknown";
+    }
+
+    /**
+     * @return bytes of corrupt records skipped while loading
+     */
+    public synchronized long skippedBytes() {
+        return skippedBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private List<Run> ranked(String series, int n, Comparator<Run> order) {
+        List<Run> sorted = new ArrayList<>(bySeries.getOrDefault(series, Collections.emptyList()));
+        sorted.sort(order);
+        return new ArrayList<>(sorted.subList(0, Math.min(n, sorted.size())));
+    }
+
+    private void index(Run run) {
+        runs.add(run);
+        indexUnder(bySeries, run.seriesKey(), run);
+        indexUnder(byCommit, run.commit, run);
+    }
+
+    // plain get/put rather than computeIfAbsent with a lambda: the lambda
+    // bootstrap alone costs tens of milliseconds on a cold JVM
+    private static void indexUnder(Map<String, List<Run>> index, String key, Run run) {
+        List<Run> list = index.get(key);
+        if (list == null) {
+            list = new ArrayList<>();
+            index.put(key, list);
+        }
+        list.add(run);
+    }
+
+    private static Run decode(ByteBuffer payload) {
+        long timestamp = payload.getLong();
+        int inputSize = payload.getInt();
+        int iterations = payload.getInt();
+        double meanNs = payload.getDouble();
+        double stdDevNs = payload.getDouble();
+        double ciHalfWidthNs = payload.getDouble();
+        double minNs = payload.getDouble();
+        double bytesPerOp = payload.getDouble();
+        String engine = getString(payload);
+        String distribution = getString(payload);
+        String commit = getString(payload);
+        return new Run(timestamp, commit, engine, distribution, inputSize, iterations,
+                meanNs, stdDevNs, ciHalfWidthNs, minNs, bytesPerOp);
+    }
+
+    private static List<Run> copyOf(List<Run> list) {
+        return list == null ? new ArrayList<>() : new ArrayList<>(list);
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String field longer than " + MAX_STRING_BYTES + " bytes");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        int position = buffer.position();
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        buffer.position(position + length);
+        // decode straight from the backing array, no intermediate copy
+        return new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
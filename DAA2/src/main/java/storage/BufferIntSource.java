@@ -0,0 +1,56 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link IntSource} over an {@link IntBuffer}, heap, direct or memory-mapped.
+ * Reads advance a private duplicate, so the caller's buffer position is untouched.
+ */
+public class BufferIntSource implements IntSource {
+    private final IntBuffer buffer;
+
+    public BufferIntSource(IntBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+        this.buffer = buffer.duplicate();
+    }
+
+    /**
+     * Maps a file of little-endian ints, the layout read by {@link OffHeapIntArray#map}.
+     * Files of 2 GiB or more need {@link OffHeapIntArray} instead.
+     */
+    public static BufferIntSource map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IOException("File size " + size + " is not a multiple of " + Integer.BYTES);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map as one buffer: " + file);
+            }
+            // the mapping stays valid after the channel is closed
+            return new BufferIntSource(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer());
+        }
+    }
+
+    @Override
+    public int read(int[] dst, int off, int len) {
+        IntSource.checkRange(dst, off, len);
+        if (!buffer.hasRemaining()) return len == 0 ? 0 : -1;
+        int count = Math.min(len, buffer.remaining());
+        buffer.get(dst, off, count);
+        return count;
+    }
+
+    @Override
+    public long remaining() {
+        return buffer.remaining();
+    }
+}
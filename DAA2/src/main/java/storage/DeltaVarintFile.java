@@ -0,0 +1,189 @@
+package storage;
+
+import models.KadaneSummary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader for the compact block format written by {@link DeltaVarintWriter}.
+ *
+ * <pre>
+ * file header  (32 bytes): magic, version, blockSize, reserved, length (long), blockCount (long)
+ * per block    (72 bytes): payloadBytes, count, then the block's {@link KadaneSummary}
+ *                          (total, bestPrefix, prefixEnd, bestSuffix, suffixStart, best, bestStart, bestEnd)
+ * block payload          : zigzag(value - previous) as LEB128 varints, previous = 0 at block start
+ * </pre>
+ *
+ * Opening reads only the block headers, so summaries of whole blocks are
+ * available without decoding any payload. Every block decodes independently.
+ * All integers are little-endian; positional reads make the reader thread-safe.
+ */
+public class DeltaVarintFile implements Closeable {
+    static final int MAGIC = 0x4B44565A; // "KDVZ"
+    static final int VERSION = 1;
+    static final int FILE_HEADER_BYTES = 32;
+    static final int BLOCK_HEADER_BYTES = 72;
+    /** Worst-case varint size of a zigzag-encoded 33-bit delta */
+    static final int MAX_VARINT_BYTES = 5;
+
+    private final FileChannel channel;
+    private final int blockSize;
+    private final long length;
+    private final long[] payloadPositions;
+    private final int[] payloadBytes;
+    private final KadaneSummary[] summaries;
+
+    private DeltaVarintFile(FileChannel channel, int blockSize, long length, long[] payloadPositions,
+                            int[] payloadBytes, KadaneSummary[] summaries) {
+        this.channel = channel;
+        this.blockSize = blockSize;
+        this.length = length;
+        this.payloadPositions = payloadPositions;
+        this.payloadBytes = payloadBytes;
+        this.summaries = summaries;
+    }
+
+    public static DeltaVarintFile open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a delta-varint series file: " + file);
+            }
+            int blockSize = header.getInt(8);
+            long length = header.getLong(16);
+            long blockCount = header.getLong(24);
+            if (blockSize <= 0 || length < 0 || blockCount != (length + blockSize - 1) / blockSize) {
+                throw new IOException("Corrupt file header in " + file);
+            }
+
+            int blocks = (int) blockCount;
+            long[] positions = new long[blocks];
+            int[] bytes = new int[blocks];
+            KadaneSummary[] summaries = new KadaneSummary[blocks];
+            ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long position = FILE_HEADER_BYTES;
+            for (int b = 0; b < blocks; b++) {
+                blockHeader.clear();
+                readFully(channel, blockHeader, position);
+                int payload = blockHeader.getInt(0);
+                int count = blockHeader.getInt(4);
+                long expectedCount = Math.min(blockSize, length - (long) b * blockSize);
+                if (count != expectedCount || payload < count || payload > count * MAX_VARINT_BYTES) {
+                    throw new IOException("Corrupt header of block " + b + " in " + file);
+                }
+                summaries[b] = new KadaneSummary((long) b * blockSize, count,
+                        blockHeader.getLong(8), blockHeader.getLong(16), blockHeader.getLong(24),
+                        blockHeader.getLong(32), blockHeader.getLong(40), blockHeader.getLong(48),
+                        blockHeader.getLong(56), blockHeader.getLong(64));
+                positions[b] = position + BLOCK_HEADER_BYTES;
+                bytes[b] = payload;
+                position += BLOCK_HEADER_BYTES + payload;
+            }
+            if (position != channel.size()) {
+                throw new IOException("Trailing or missing data in " + file);
+            }
+            return new DeltaVarintFile(channel, blockSize, length, positions, bytes, summaries);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Summary stored in the header of block {@code block}, with absolute indices
+     */
+    public KadaneSummary getBlockSummary(int block) {
+        return summaries[block];
+    }
+
+    /**
+     * Reads the raw payload of a block into {@code dst}, which is cleared and
+     * flipped; reuse one buffer of {@link #maxPayloadBytes()} per thread
+     */
+    public ByteBuffer readPayload(int block, ByteBuffer dst) throws IOException {
+        dst.clear().limit(payloadBytes[block]);
+        readFully(channel, dst, payloadPositions[block]);
+        return dst;
+    }
+
+    /**
+     * Decodes block {@code block} into {@code dst} starting at 0
+     *
+     * @return the number of values decoded
+     */
+    public int decodeBlock(int block, int[] dst, ByteBuffer scratch) throws IOException {
+        ByteBuffer payload = readPayload(block, scratch);
+        int count = getBlockLength(block);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unzigzag(readVarLong(payload));
+            dst[i] = (int) previous;
+        }
+        return count;
+    }
+
+    /**
+     * Reads one unsigned LEB128 varint
+     */
+    public static long readVarLong(ByteBuffer in) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return result;
+    }
+
+    public static long unzigzag(long encoded) {
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    public static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public int getBlockCount() { return summaries.length; }
+    public int getBlockSize() { return blockSize; }
+    /** Number of values in block {@code block} */
+    public int getBlockLength(int block) { return (int) summaries[block].length; }
+    public long getBlockStart(int block) { return (long) block * blockSize; }
+    public long length() { return length; }
+    /** Scratch buffer capacity sufficient for any block */
+    public int maxPayloadBytes() { return blockSize * MAX_VARINT_BYTES; }
+
+    /**
+     * On-disk size, for comparing against the raw 4 bytes per value
+     */
+    public long sizeInBytes() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Fills dst from its position to its limit, then flips it
+     */
+    private static void readFully(FileChannel channel, ByteBuffer dst, long position) throws IOException {
+        while (dst.hasRemaining()) {
+            int n = channel.read(dst, position + dst.position());
+            if (n < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        dst.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,157 @@
+package storage;
+
+import algorithms.KadaneState;
+import models.KadaneSummary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming writer for the {@link DeltaVarintFile} format. Values are
+ * appended one block at a time; each block is delta/zigzag/varint encoded and
+ * written with a header holding its {@link KadaneSummary}, computed in the same
+ * pass. The file header is patched with the final length on {@link #close()}.
+ */
+public class DeltaVarintWriter implements Closeable {
+    /** Default block: 64 Ki values, large enough to amortize the 72-byte header */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final int blockSize;
+    private final int[] pending;
+    private final ByteBuffer block;
+    private int pendingCount;
+    private long length;
+    private long blockCount;
+    private boolean closed;
+
+    public DeltaVarintWriter(Path file) throws IOException {
+        this(file, DEFAULT_BLOCK_SIZE);
+    }
+
+    public DeltaVarintWriter(Path file, int blockSize) throws IOException {
+        if (blockSize <= 0 || blockSize > (Integer.MAX_VALUE - DeltaVarintFile.BLOCK_HEADER_BYTES)
+                / DeltaVarintFile.MAX_VARINT_BYTES) {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.pending = new int[blockSize];
+        this.block = ByteBuffer.allocate(DeltaVarintFile.BLOCK_HEADER_BYTES
+                + blockSize * DeltaVarintFile.MAX_VARINT_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        writeFileHeader();
+        channel.position(DeltaVarintFile.FILE_HEADER_BYTES);
+    }
+
+    /**
+     * Writes {@code nums} to {@code file} in one call
+     */
+    public static void write(Path file, int[] nums, int blockSize) throws IOException {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        try (DeltaVarintWriter writer = new DeltaVarintWriter(file, blockSize)) {
+            writer.append(nums, 0, nums.length);
+        }
+    }
+
+    public void append(int value) throws IOException {
+        pending[pendingCount++] = value;
+        if (pendingCount == blockSize) {
+            flushBlock();
+        }
+    }
+
+    public void append(int[] values, int off, int len) throws IOException {
+        while (len > 0) {
+            int n = Math.min(len, blockSize - pendingCount);
+            System.arraycopy(values, off, pending, pendingCount, n);
+            pendingCount += n;
+            off += n;
+            len -= n;
+            if (pendingCount == blockSize) {
+                flushBlock();
+            }
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        KadaneState state = new KadaneState(length);
+        state.accept(pending, 0, pendingCount);
+        KadaneSummary summary = state.toSummary();
+
+        block.clear();
+        block.position(DeltaVarintFile.BLOCK_HEADER_BYTES);
+        long previous = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            long delta = DeltaVarintFile.zigzag(pending[i] - previous);
+            while ((delta & ~0x7FL) != 0) {
+                block.put((byte) ((delta & 0x7F) | 0x80));
+                delta >>>= 7;
+            }
+            block.put((byte) delta);
+            previous = pending[i];
+        }
+        int payload = block.position() - DeltaVarintFile.BLOCK_HEADER_BYTES;
+        block.putInt(0, payload)
+                .putInt(4, pendingCount)
+                .putLong(8, summary.total)
+                .putLong(16, summary.bestPrefix)
+                .putLong(24, summary.prefixEnd)
+                .putLong(32, summary.bestSuffix)
+                .putLong(40, summary.suffixStart)
+                .putLong(48, summary.best)
+                .putLong(56, summary.bestStart)
+                .putLong(64, summary.bestEnd);
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+
+        length += pendingCount;
+        blockCount++;
+        pendingCount = 0;
+    }
+
+    private void writeFileHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(DeltaVarintFile.FILE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(DeltaVarintFile.MAGIC)
+                .putInt(DeltaVarintFile.VERSION)
+                .putInt(blockSize)
+                .putInt(0)
+                .putLong(length)
+                .putLong(blockCount)
+                .flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    /**
+     * @return number of values appended so far
+     */
+    public long length() {
+        return length + pendingCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            if (pendingCount > 0) {
+                flushBlock();
+            }
+            writeFileHeader();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package storage;
+
+import java.util.function.LongToIntFunction;
+
+/**
+ * {@link IntSource} producing {@code length} values from a function of the
+ * index, e.g. synthetic benchmark inputs far larger than the heap
+ */
+public class GeneratedIntSource implements IntSource {
+    private final long length;
+    private final LongToIntFunction generator;
+    private long position;
+
+    public GeneratedIntSource(long length, LongToIntFunction generator) {
+        if (length < 0 || generator == null) {
+            throw new IllegalArgumentException("Length must be non-negative and generator non-null");
+        }
+        this.length = length;
+        this.generator = generator;
+    }
+
+    @Override
+    public int read(int[] dst, int off, int len) {
+        IntSource.checkRange(dst, off, len);
+        if (position == length) return len == 0 ? 0 : -1;
+        int count = (int) Math.min(len, length - position);
+        for (int i = 0; i < count; i++) {
+            dst[off + i] = generator.applyAsInt(position + i);
+        }
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long remaining() {
+        return length - position;
+    }
+}
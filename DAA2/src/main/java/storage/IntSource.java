@@ -0,0 +1,39 @@
+package storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sequential bulk source of int values, read in caller-sized chunks so an
+ * engine can scan arrays, buffers, mapped files, streams and generators
+ * without first materializing them into an {@code int[]}.
+ */
+public interface IntSource extends Closeable {
+    /**
+     * Reads up to {@code len} values into {@code dst[off..off+len)}
+     *
+     * @return number of values read, at least 1 when {@code len > 0}, or -1
+     * once the source is exhausted
+     */
+    int read(int[] dst, int off, int len) throws IOException;
+
+    /**
+     * @return values left to read, or -1 if unknown (e.g. streams)
+     */
+    default long remaining() {
+        return -1;
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    static void checkRange(int[] dst, int off, int len) {
+        if (dst == null) {
+            throw new IllegalArgumentException("Destination array cannot be null");
+        }
+        if (off < 0 || len < 0 || off > dst.length - len) {
+            throw new IndexOutOfBoundsException("Invalid range [" + off + ", " + ((long) off + len) + ")");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Long-indexed int array stored outside the Java heap as a sequence of direct
+ * (or memory-mapped) {@link ByteBuffer} chunks. Lengths are not limited to
+ * {@code Integer.MAX_VALUE} and the data is invisible to the garbage collector.
+ *
+ * Elements are 32-bit little-endian, which is also the on-disk layout used by
+ * {@link #map(Path)}.
+ */
+public class OffHeapIntArray {
+    /** Default chunk size: 2^26 ints = 256 MiB per buffer */
+    public static final int DEFAULT_CHUNK_SHIFT = 26;
+
+    private final long length;
+    private final int chunkShift;
+    private final int chunkMask;
+    private final IntBuffer[] chunks;
+
+    private OffHeapIntArray(long length, int chunkShift, IntBuffer[] chunks) {
+        this.length = length;
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Allocates a zero-filled off-heap array of the given length
+     */
+    public static OffHeapIntArray allocate(long length) {
+        return allocate(length, DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * @param chunkShift log2 of the number of ints per chunk (1..28)
+     */
+    public static OffHeapIntArray allocate(long length, int chunkShift) {
+        validate(length, chunkShift);
+        int chunkCount = chunkCount(length, chunkShift);
+        IntBuffer[] chunks = new IntBuffer[chunkCount];
+        long remaining = length;
+        for (int c = 0; c < chunkCount; c++) {
+            int ints = (int) Math.min(remaining, 1L << chunkShift);
+            chunks[c] = ByteBuffer.allocateDirect(ints * Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            remaining -= ints;
+        }
+        return new OffHeapIntArray(length, chunkShift, chunks);
+    }
+
+    /**
+     * Copies an on-heap array into a new off-heap array
+     */
+    public static OffHeapIntArray fromArray(int[] nums, int chunkShift) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        OffHeapIntArray array = allocate(nums.length, chunkShift);
+        array.write(0, nums, 0, nums.length);
+        return array;
+    }
+
+    /**
+     * Maps a file of little-endian int32 values read-only
+     */
+    public static OffHeapIntArray map(Path file) throws IOException {
+        return map(file, DEFAULT_CHUNK_SHIFT);
+    }
+
+    public static OffHeapIntArray map(Path file, int chunkShift) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IOException("File size is not a multiple of 4 bytes: " + file);
+            }
+            long length = size / Integer.BYTES;
+            validate(length, chunkShift);
+            int chunkCount = chunkCount(length, chunkShift);
+            IntBuffer[] chunks = new IntBuffer[chunkCount];
+            long position = 0;
+            for (int c = 0; c < chunkCount; c++) {
+                long bytes = Math.min(size - position, (long) Integer.BYTES << chunkShift);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, position, bytes)
+                        .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                position += bytes;
+            }
+            return new OffHeapIntArray(length, chunkShift, chunks);
+        }
+    }
+
+    private static void validate(long length, int chunkShift) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be negative");
+        }
+        if (chunkShift < 1 || chunkShift > 28) {
+            throw new IllegalArgumentException("Chunk shift must be between 1 and 28");
+        }
+    }
+
+    private static int chunkCount(long length, int chunkShift) {
+        long count = (length + (1L << chunkShift) - 1) >>> chunkShift;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many chunks for length " + length);
+        }
+        return (int) count;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int get(long index) {
+        checkIndex(index);
+        return chunks[(int) (index >>> chunkShift)].get((int) (index & chunkMask));
+    }
+
+    public void set(long index, int value) {
+        checkIndex(index);
+        chunks[(int) (index >>> chunkShift)].put((int) (index & chunkMask), value);
+    }
+
+    /**
+     * Bulk-copies up to {@code len} values starting at {@code index} into {@code dst}.
+     * A single call never crosses a chunk boundary.
+     *
+     * @return number of values copied
+     */
+    public int read(long index, int[] dst, int off, int len) {
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        if (index == length || len == 0) return 0;
+        IntBuffer view = chunks[(int) (index >>> chunkShift)].duplicate();
+        int pos = (int) (index & chunkMask);
+        int count = Math.min(len, view.limit() - pos);
+        view.position(pos);
+        view.get(dst, off, count);
+        return count;
+    }
+
+    /**
+     * Bulk-copies {@code len} values from {@code src} into this array at {@code index}
+     */
+    public void write(long index, int[] src, int off, int len) {
+        if (index < 0 || index + len > length) {
+            throw new IndexOutOfBoundsException("Write of " + len + " at " + index + " exceeds length " + length);
+        }
+        while (len > 0) {
+            IntBuffer view = chunks[(int) (index >>> chunkShift)].duplicate();
+            int pos = (int) (index & chunkMask);
+            int count = Math.min(len, view.limit() - pos);
+            view.position(pos);
+            view.put(src, off, count);
+            index += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package storage;
+
+import java.util.Arrays;
+
+/**
+ * Reusable 64-bit prefix-sum index: {@code P[0] = 0}, {@code P[i + 1] = P[i] + nums[i]}.
+ * Built once per dataset (with a parallel scan for large inputs) and shared by
+ * every query that needs range sums, so the O(n) setup is not repeated per query.
+ * Appends extend the index in O(1) amortized time.
+ *
+ * Not thread-safe for concurrent appends; concurrent reads are safe once built.
+ */
+public class PrefixSumIndex {
+    /** Inputs at or above this size are built with {@link Arrays#parallelPrefix} */
+    static final int PARALLEL_BUILD_THRESHOLD = 1 << 16;
+
+    private long[] prefix;
+    private int length;
+
+    /**
+     * Creates an empty index with room for {@code capacity} values before growing
+     */
+    public PrefixSumIndex(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        this.prefix = new long[capacity + 1];
+    }
+
+    private PrefixSumIndex(long[] prefix, int length) {
+        this.prefix = prefix;
+        this.length = length;
+    }
+
+    public static PrefixSumIndex build(int[] nums) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        long[] prefix = new long[nums.length + 1];
+        if (nums.length >= PARALLEL_BUILD_THRESHOLD) {
+            Arrays.parallelSetAll(prefix, i -> i == 0 ? 0 : nums[i - 1]);
+            Arrays.parallelPrefix(prefix, Long::sum);
+        } else {
+            for (int i = 0; i < nums.length; i++) {
+                prefix[i + 1] = prefix[i] + nums[i];
+            }
+        }
+        return new PrefixSumIndex(prefix, nums.length);
+    }
+
+    public void append(int value) {
+        ensureCapacity(length + 1);
+        prefix[length + 1] = prefix[length] + value;
+        length++;
+    }
+
+    public void append(int[] values, int off, int len) {
+        if (values == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        if (off < 0 || len < 0 || off + len > values.length) {
+            throw new IndexOutOfBoundsException("Invalid range [" + off + ", " + (off + len) + ")");
+        }
+        ensureCapacity((long) length + len);
+        long running = prefix[length];
+        for (int k = 0; k < len; k++) {
+            running += values[off + k];
+            prefix[length + 1 + k] = running;
+        }
+        length += len;
+    }
+
+    /**
+     * @return number of indexed values
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return sum of the first {@code i} values
+     */
+    public long prefix(int i) {
+        if (i < 0 || i > length) {
+            throw new IndexOutOfBoundsException("Prefix " + i + " outside [0, " + length + "]");
+        }
+        return prefix[i];
+    }
+
+    /**
+     * @return sum of values in [from, to)
+     */
+    public long rangeSum(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ")");
+        }
+        return prefix[to] - prefix[from];
+    }
+
+    public long total() {
+        return prefix[length];
+    }
+
+    /**
+     * Backing array, not copied; entries [0, length()] are valid. Callers must
+     * not modify it, and an append may replace it.
+     */
+    public long[] getPrefixArray() {
+        return prefix;
+    }
+
+    private void ensureCapacity(long values) {
+        if (values > Integer.MAX_VALUE - 1) {
+            throw new IllegalStateException("Index cannot hold more than " + (Integer.MAX_VALUE - 1) + " values");
+        }
+        if (values + 1 > prefix.length) {
+            long grown = Math.max(values + 1, Math.max(16, (long) prefix.length * 2));
+            prefix = Arrays.copyOf(prefix, (int) Math.min(grown, Integer.MAX_VALUE));
+        }
+    }
+}
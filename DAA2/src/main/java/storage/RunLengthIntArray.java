@@ -0,0 +1,98 @@
+package storage;
+
+import java.util.Arrays;
+
+/**
+ * Run-length encoded int array: parallel {@code values} and {@code counts},
+ * where run r repeats {@code values[r]} exactly {@code counts[r]} times.
+ * Adjacent runs may hold equal values; {@link #encode(int[])} never produces them.
+ */
+public class RunLengthIntArray {
+    private final int[] values;
+    private final int[] counts;
+    private final int length;
+
+    /**
+     * Wraps existing run arrays (not copied)
+     */
+    public RunLengthIntArray(int[] values, int[] counts) {
+        if (values == null || counts == null) {
+            throw new IllegalArgumentException("Run arrays cannot be null");
+        }
+        if (values.length != counts.length) {
+            throw new IllegalArgumentException("Values and counts must have the same number of runs");
+        }
+        long total = 0;
+        for (int count : counts) {
+            if (count <= 0) {
+                throw new IllegalArgumentException("Run counts must be positive");
+            }
+            total += count;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Decoded length exceeds Integer.MAX_VALUE");
+        }
+        this.values = values;
+        this.counts = counts;
+        this.length = (int) total;
+    }
+
+    private RunLengthIntArray(int[] values, int[] counts, int length) {
+        this.values = values;
+        this.counts = counts;
+        this.length = length;
+    }
+
+    /**
+     * Encodes in two passes: one to count runs, one to fill exactly sized arrays
+     */
+    public static RunLengthIntArray encode(int[] nums) {
+        if (nums == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+        int n = nums.length;
+        if (n == 0) {
+            return new RunLengthIntArray(new int[0], new int[0], 0);
+        }
+        int runs = 1;
+        for (int i = 1; i < n; i++) {
+            if (nums[i] != nums[i - 1]) runs++;
+        }
+
+        int[] values = new int[runs];
+        int[] counts = new int[runs];
+        int run = 0;
+        int runStart = 0;
+        for (int i = 1; i < n; i++) {
+            if (nums[i] != nums[i - 1]) {
+                values[run] = nums[i - 1];
+                counts[run++] = i - runStart;
+                runStart = i;
+            }
+        }
+        values[run] = nums[n - 1];
+        counts[run] = n - runStart;
+        return new RunLengthIntArray(values, counts, n);
+    }
+
+    public int[] decode() {
+        int[] nums = new int[length];
+        int pos = 0;
+        for (int r = 0; r < values.length; r++) {
+            Arrays.fill(nums, pos, pos + counts[r], values[r]);
+            pos += counts[r];
+        }
+        return nums;
+    }
+
+    public int getRunCount() { return values.length; }
+    public int getValue(int run) { return values[run]; }
+    public int getCount(int run) { return counts[run]; }
+    /** Decoded element count */
+    public int length() { return length; }
+
+    @Override
+    public String toString() {
+        return String.format("RunLengthIntArray[%d runs, %d elements]", values.length, length);
+    }
+}
@@ -0,0 +1,163 @@
+package storage;
+
+import models.KadaneSummary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Small memory-mapped file holding the O(1) state of an in-progress scan:
+ * the {@link KadaneSummary} so far, the input byte offset it covers, and a
+ * fingerprint of the input.
+ *
+ * Two fixed slots are written alternately, each with a sequence number and a
+ * CRC32, so a crash in the middle of a write still leaves the previous
+ * checkpoint readable.
+ */
+public class ScanCheckpoint implements Closeable {
+    /**
+     * Whether each save is flushed to the storage device before returning
+     */
+    public enum SyncMode {
+        /** Leave flushing to the OS page cache; survives process crashes only */
+        NONE,
+        /** force() after every save; also survives power loss */
+        FORCE
+    }
+
+    private static final long MAGIC = 0x4B414443_4B505431L; // "KADCKPT1"
+    private static final int PAYLOAD_BYTES = 128;
+    private static final int SLOT_BYTES = PAYLOAD_BYTES + Long.BYTES;
+    private static final int FILE_BYTES = 2 * SLOT_BYTES;
+    private static final int STATUS_IN_PROGRESS = 0;
+    private static final int STATUS_COMPLETE = 1;
+
+    /**
+     * A decoded checkpoint
+     */
+    public static class Snapshot {
+        public final long inputSize;
+        public final long inputModified;
+        public final long byteOffset;
+        public final boolean complete;
+        public final KadaneSummary summary;
+
+        Snapshot(long inputSize, long inputModified, long byteOffset, boolean complete, KadaneSummary summary) {
+            this.inputSize = inputSize;
+            this.inputModified = inputModified;
+            this.byteOffset = byteOffset;
+            this.complete = complete;
+            this.summary = summary;
+        }
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final SyncMode syncMode;
+    private long sequence;
+
+    private ScanCheckpoint(FileChannel channel, MappedByteBuffer buffer, SyncMode syncMode) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.syncMode = syncMode;
+    }
+
+    /**
+     * Opens (creating if necessary) a checkpoint file
+     */
+    public static ScanCheckpoint open(Path file, SyncMode syncMode) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_BYTES);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            ScanCheckpoint checkpoint = new ScanCheckpoint(channel, buffer, syncMode);
+            checkpoint.sequence = Math.max(checkpoint.slotSequence(0), checkpoint.slotSequence(1));
+            return checkpoint;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the newest valid checkpoint, or null if none was ever written
+     */
+    public Snapshot load() {
+        long seq0 = slotSequence(0);
+        long seq1 = slotSequence(1);
+        if (seq0 < 0 && seq1 < 0) return null;
+        int base = (seq0 >= seq1 ? 0 : 1) * SLOT_BYTES;
+
+        long inputSize = buffer.getLong(base + 16);
+        long inputModified = buffer.getLong(base + 24);
+        long byteOffset = buffer.getLong(base + 32);
+        boolean complete = buffer.getInt(base + 40) == STATUS_COMPLETE;
+        long[] v = new long[10];
+        for (int i = 0; i < 10; i++) {
+            v[i] = buffer.getLong(base + 48 + i * Long.BYTES);
+        }
+        KadaneSummary summary = new KadaneSummary(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8], v[9]);
+        return new Snapshot(inputSize, inputModified, byteOffset, complete, summary);
+    }
+
+    /**
+     * Persists a new checkpoint into the older of the two slots
+     */
+    public void save(long inputSize, long inputModified, long byteOffset,
+                     boolean complete, KadaneSummary summary) {
+        sequence++;
+        int base = (int) (sequence & 1) * SLOT_BYTES;
+
+        buffer.putLong(base, MAGIC);
+        buffer.putLong(base + 8, sequence);
+        buffer.putLong(base + 16, inputSize);
+        buffer.putLong(base + 24, inputModified);
+        buffer.putLong(base + 32, byteOffset);
+        buffer.putInt(base + 40, complete ? STATUS_COMPLETE : STATUS_IN_PROGRESS);
+        buffer.putInt(base + 44, 0);
+        long[] v = {summary.offset, summary.length, summary.total, summary.bestPrefix, summary.prefixEnd,
+                summary.bestSuffix, summary.suffixStart, summary.best, summary.bestStart, summary.bestEnd};
+        for (int i = 0; i < 10; i++) {
+            buffer.putLong(base + 48 + i * Long.BYTES, v[i]);
+        }
+        buffer.putLong(base + PAYLOAD_BYTES, crc(base));
+
+        if (syncMode == SyncMode.FORCE) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * @return slot sequence number, or -1 if the slot is empty or corrupt
+     */
+    private long slotSequence(int slot) {
+        int base = slot * SLOT_BYTES;
+        if (buffer.getLong(base) != MAGIC || buffer.getLong(base + PAYLOAD_BYTES) != crc(base)) {
+            return -1;
+        }
+        return buffer.getLong(base + 8);
+    }
+
+    private long crc(int base) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < PAYLOAD_BYTES; i++) {
+            crc.update(buffer.get(base + i));
+        }
+        return crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (syncMode == SyncMode.FORCE) {
+            buffer.force();
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,76 @@
+package storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link IntSource} decoding 4-byte ints from an {@link InputStream} (file,
+ * socket, pipe) through a fixed scratch buffer. Values split across short
+ * reads are reassembled; a stream ending mid-value is an {@link EOFException}.
+ */
+public class StreamIntSource implements IntSource {
+    /** 16 KiB scratch buffer */
+    static final int BUFFER_BYTES = 16 * 1024;
+
+    private final InputStream in;
+    private final ByteBuffer bytes;
+    private boolean eof;
+
+    /**
+     * Little-endian, matching files read by {@link OffHeapIntArray#map}
+     */
+    public StreamIntSource(InputStream in) {
+        this(in, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public StreamIntSource(InputStream in, ByteOrder order) {
+        if (in == null || order == null) {
+            throw new IllegalArgumentException("Stream and byte order cannot be null");
+        }
+        this.in = in;
+        this.bytes = ByteBuffer.allocate(BUFFER_BYTES).order(order);
+        this.bytes.limit(0);
+    }
+
+    @Override
+    public int read(int[] dst, int off, int len) throws IOException {
+        IntSource.checkRange(dst, off, len);
+        if (len == 0) return 0;
+        while (bytes.remaining() < Integer.BYTES && !eof) {
+            fill();
+        }
+        if (bytes.remaining() < Integer.BYTES) {
+            if (bytes.hasRemaining()) {
+                throw new EOFException("Stream ended inside a value (" + bytes.remaining() + " trailing bytes)");
+            }
+            return -1;
+        }
+        int count = Math.min(len, bytes.remaining() / Integer.BYTES);
+        // the int view inherits the byte order and starts at the current position
+        bytes.asIntBuffer().get(dst, off, count);
+        bytes.position(bytes.position() + count * Integer.BYTES);
+        return count;
+    }
+
+    /**
+     * Keeps any partial value and appends one read from the stream
+     */
+    private void fill() throws IOException {
+        bytes.compact();
+        int n = in.read(bytes.array(), bytes.position(), bytes.remaining());
+        if (n < 0) {
+            eof = true;
+        } else {
+            bytes.position(bytes.position() + n);
+        }
+        bytes.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -1,27 +1,40 @@
 package utils;
 
 import algorithms.KadaneAlgorithm;
+import metrics.AdaptiveSampler;
+import metrics.RooflineAnalysis;
+import metrics.WarmupController;
 import models.SubarrayResult;
+import storage.BenchmarkHistory;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Automatically generates comprehensive project reports
  */
 public class ReportGenerator {
+    /** Random inputs rotated through while timing one size */
+    private static final int TIMING_INPUTS = 4;
+
     private final KadaneAlgorithm kadane;
+    private final AdaptiveSampler sampler;
     private final String reportDir;
     private final String timestamp;
+    private final String commit;
 
     public ReportGenerator() {
         this.kadane = new KadaneAlgorithm();
+        this.sampler = new AdaptiveSampler(0.02, 10, 10_000, 500, 100_000);
         this.timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
         this.reportDir = "reports/" + timestamp + "/";
+        this.commit = BenchmarkHistory.currentCommit();
 
         // Create reports directory
         try {
@@ -39,6 +52,7 @@ public class ReportGenerator {
         generatePerformanceReport();
         generateBenchmarkReport();
         generateComplexityAnalysisReport();
+        generateRooflineReport();
         generateProjectSummary();
         generateReadmeWithResults();
 
@@ -99,34 +113,19 @@ public class ReportGenerator {
             writer.write("Kadane's Algorithm demonstrates **O(n) time complexity** and **O(1) space complexity** as expected.\n\n");
 
             writer.write("## Benchmark Results\n\n");
-            writer.write("| Input Size | Avg Time (ns) | Comparisons | Array Accesses |\n");
-            writer.write("|------------|---------------|-------------|----------------|\n");
+            writer.write("| Input Size | Avg Time (ns) | 95% CI (ns) | Comparisons | Array Accesses |\n");
+            writer.write("|------------|---------------|-------------|-------------|----------------|\n");
 
             // Run quick benchmark and record results
             int[] sizes = {100, 1000, 5000};
             for (int size : sizes) {
-                long totalTime = 0;
-                int totalComparisons = 0;
-                int totalAccesses = 0;
-                int iterations = 2;
-
-                for (int i = 0; i < iterations; i++) {
-                    int[] nums = generateRandomArray(size, -100, 100);
-                    long startTime = System.nanoTime();
-                    SubarrayResult result = kadane.findMaximumSubarray(nums);
-                    long endTime = System.nanoTime();
-
-                    totalTime += (endTime - startTime);
-                    totalComparisons += result.getComparisons();
-                    totalAccesses += result.getArrayAccesses();
-                }
-
-                long avgTime = totalTime / iterations;
-                int avgComparisons = totalComparisons / iterations;
-                int avgAccesses = totalAccesses / iterations;
-
-                writer.write(String.format("| %,d | %,d | %,d | %,d |\n",
-                        size, avgTime, avgComparisons, avgAccesses));
+                int[][] inputs = generateTimingInputs(size);
+                SubarrayResult result = kadane.findMaximumSubarray(inputs[0]);
+                AdaptiveSampler.Estimate estimate = measure(inputs);
+
+                writer.write(String.format("| %,d | %,.0f | ± %,.1f | %,d | %,d |\n",
+                        size, estimate.meanNs, estimate.halfWidthNs,
+                        result.getComparisons(), result.getArrayAccesses()));
             }
 
             writer.write("\n## Complexity Verification\n\n");
@@ -155,35 +154,31 @@ public class ReportGenerator {
             writer.write("- **Timestamp**: " + new Date() + "\n\n");
 
             writer.write("## Detailed Results\n\n");
-            writer.write("| Size | Avg Time (ns) | Time/n | Comparisons/n | Accesses/n |\n");
-            writer.write("|------|---------------|--------|---------------|------------|\n");
+            writer.write("| Size | Avg Time (ns) | 95% CI (ns) | Time/n | Comparisons/n | Accesses/n | Samples |\n");
+            writer.write("|------|---------------|-------------|--------|---------------|------------|---------|\n");
 
+            List<BenchmarkHistory.Run> runs = new ArrayList<>();
             int[] sizes = {100, 500, 1000};
             for (int size : sizes) {
-                long totalTime = 0;
-                int totalComparisons = 0;
-                int totalAccesses = 0;
-                int iterations = 2;
-
-                for (int i = 0; i < iterations; i++) {
-                    int[] nums = generateRandomArray(size, -100, 100);
-                    long startTime = System.nanoTime();
-                    SubarrayResult result = kadane.findMaximumSubarray(nums);
-                    long endTime = System.nanoTime();
-
-                    totalTime += (endTime - startTime);
-                    totalComparisons += result.getComparisons();
-                    totalAccesses += result.getArrayAccesses();
-                }
-
-                long avgTime = totalTime / iterations;
-                double timePerElement = (double) avgTime / size;
-                double comparisonsPerElement = (double) totalComparisons / iterations / size;
-                double accessesPerElement = (double) totalAccesses / iterations / size;
-
-                writer.write(String.format("| %,d | %,d | %.2f | %.2f | %.2f |\n",
-                        size, avgTime, timePerElement, comparisonsPerElement, accessesPerElement));
+                int[][] inputs = generateTimingInputs(size);
+                SubarrayResult result = kadane.findMaximumSubarray(inputs[0]);
+                AdaptiveSampler.Estimate estimate = measure(inputs);
+                runs.add(new BenchmarkHistory.Run(System.currentTimeMillis(), commit, "standard", "random", size,
+                        (int) Math.min(estimate.totalCalls(), Integer.MAX_VALUE), estimate.meanNs,
+                        estimate.stdDevNs, estimate.halfWidthNs, estimate.minNs, -1));
+
+                double timePerElement = estimate.meanNs / size;
+                double comparisonsPerElement = (double) result.getComparisons() / size;
+                double accessesPerElement = (double) result.getArrayAccesses() / size;
+
+                writer.write(String.format("| %,d | %,.0f | ± %,.1f | %.2f | %.2f | %.2f | %d × %d%s |\n",
+                        size, estimate.meanNs, estimate.halfWidthNs, timePerElement,
+                        comparisonsPerElement, accessesPerElement, estimate.samples,
+                        estimate.callsPerSample, estimate.converged ? "" : " (budget)"));
             }
+            writer.write("\nTimes are means over batched samples, taken after warmup until the 95% "
+                    + "confidence interval is within 2% of the mean or 500 ms have elapsed.\n");
+            appendToHistory(runs);
 
             System.out.println("📄 Generated: " + filename);
 
@@ -226,6 +221,35 @@ public class ReportGenerator {
         }
     }
 
+    private void generateRooflineReport() {
+        String filename = reportDir + "ROOFLINE_ANALYSIS.md";
+
+        try (FileWriter writer = new FileWriter(filename)) {
+            writer.write("# 🏔️ Memory Bandwidth Roofline\n\n");
+            writer.write("Peak is the best rate of a STREAM-like sum kernel over the same working set ");
+            writer.write("(all threads for parallel engines). Near 100% the engine is memory-bound; ");
+            writer.write("well below it, compute-bound.\n\n");
+            writer.write("| Engine | Size | Working Set | GB/s | Peak GB/s | % of Peak | Bound |\n");
+            writer.write("|--------|------|-------------|------|-----------|-----------|-------|\n");
+
+            int[] sizes = {1 << 10, 1 << 13, 1 << 16, 1 << 20, 1 << 22};
+            List<RooflineAnalysis.Point> points = new RooflineAnalysis(sizes, 50,
+                    Runtime.getRuntime().availableProcessors()).run();
+            for (RooflineAnalysis.Point point : points) {
+                writer.write(String.format("| %s | %,d | %,d KiB | %.2f | %.2f | %.1f%% | %s |\n",
+                        point.engine, point.size, point.size * 4L / 1024, point.achievedGBs,
+                        point.peakGBs, point.fractionOfPeak() * 100, point.bound()));
+            }
+
+            System.out.println("📄 Generated: " + filename);
+
+        } catch (IOException e) {
+            System.err.println("❌ Error generating roofline report: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void generateProjectSummary() {
         String filename = reportDir + "PROJECT_SUMMARY.md";
 
@@ -259,6 +283,7 @@ public class ReportGenerator {
             writer.write("- `PERFORMANCE_REPORT.md` - Performance analysis and metrics\n");
             writer.write("- `BENCHMARK_RESULTS.md` - Comprehensive benchmarking data\n");
             writer.write("- `COMPLEXITY_ANALYSIS.md` - Theoretical and empirical complexity analysis\n");
+            writer.write("- `ROOFLINE_ANALYSIS.md` - Achieved vs. peak memory bandwidth per working-set size\n");
             writer.write("- `PROJECT_SUMMARY.md` - This summary document\n");
             writer.write("- `README_WITH_RESULTS.md` - Complete project documentation with results\n");
 
@@ -320,6 +345,42 @@ public class ReportGenerator {
         }
     }
 
+    private void appendToHistory(List<BenchmarkHistory.Run> runs) {
+        try (BenchmarkHistory history = BenchmarkHistory.open(Paths.get(BenchmarkHistory.DEFAULT_FILE))) {
+            for (BenchmarkHistory.Run run : runs) {
+                history.append(run);
+            }
+            System.out.println("📈 Appended " + runs.size() + " runs to " + BenchmarkHistory.DEFAULT_FILE);
+        } catch (IOException e) {
+            System.err.println("❌ Error appending to benchmark history: " + e.getMessage());
+        }
+    }
+
+    private int[][] generateTimingInputs(int size) {
+        int[][] inputs = new int[TIMING_INPUTS][];
+        for (int i = 0; i < TIMING_INPUTS; i++) {
+            inputs[i] = generateRandomArray(size, -100, 100);
+        }
+        return inputs;
+    }
+
+    /**
+     * Warms up, then times Kadane on the rotating inputs until the sampler's
+     * confidence interval target or budget is reached
+     */
+    private AdaptiveSampler.Estimate measure(int[][] inputs) {
+        int[] cursor = {0};
+        Runnable call = () -> kadane.findMaximumSubarray(inputs[cursor[0]++ % TIMING_INPUTS]);
+        WarmupController warmup = new WarmupController(20);
+        long time;
+        do {
+            long start = System.nanoTime();
+            call.run();
+            time = System.nanoTime() - start;
+        } while (!warmup.record(time));
+        return sampler.measure(call, () -> kadane.getPerformanceTracker().clear());
+    }
+
     private int[] generateRandomArray(int size, int min, int max) {
         int[] array = new int[size];
         for (int i = 0; i < size; i++) {
@@ -0,0 +1,137 @@
+package algorithms;
+
+import models.KadaneSummary;
+import models.LongSubarrayResult;
+import models.SubarrayResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.ScanCheckpoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for checkpointed file and stream scans
+ */
+class CheckpointedScanTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void testFileScanMatchesKadane() throws IOException {
+        int[] nums = randomArray(50_000, 35);
+        Path input = dir.resolve("input.bin");
+        Files.write(input, toBytes(nums));
+
+        CheckpointedScan scan = new CheckpointedScan(dir.resolve("scan.ckpt"), 1_000, ScanCheckpoint.SyncMode.NONE);
+        LongSubarrayResult result = scan.scanFile(input);
+
+        SubarrayResult expected = new KadaneAlgorithm().findMaximumSubarray(nums);
+        assertEquals(expected.getMaxSum(), result.getMaxSum());
+        assertEquals(0, scan.getResumedFromOffset());
+
+        // a completed checkpoint is reused without rescanning
+        assertEquals(result, scan.scanFile(input));
+        assertEquals(Files.size(input), scan.getResumedFromOffset());
+    }
+
+    @Test
+    void testStreamResumesAfterCrash() throws IOException {
+        int[] nums = randomArray(100_000, 350);
+        byte[] bytes = toBytes(nums);
+        Path checkpointFile = dir.resolve("stream.ckpt");
+        CheckpointedScan scan = new CheckpointedScan(checkpointFile, 4_096, ScanCheckpoint.SyncMode.FORCE);
+
+        assertThrows(IOException.class, () -> scan.scanStream(new FailingStream(bytes, 250_000)));
+
+        LongSubarrayResult resumed = scan.scanStream(new ByteArrayInputStream(bytes));
+
+        assertTrue(scan.getResumedFromOffset() > 0);
+        assertTrue(scan.getResumedFromOffset() <= 250_000);
+        LongSubarrayResult fresh = new CheckpointedScan(dir.resolve("fresh.ckpt"), 4_096,
+                ScanCheckpoint.SyncMode.NONE).scanStream(new ByteArrayInputStream(bytes));
+        assertEquals(fresh, resumed);
+        assertEquals(new KadaneAlgorithm().findMaximumSubarray(nums).getMaxSum(), resumed.getMaxSum());
+    }
+
+    @Test
+    void testModifiedFileStartsOver() throws IOException {
+        Path input = dir.resolve("input.bin");
+        Files.write(input, toBytes(new int[]{1, 2, 3}));
+        CheckpointedScan scan = new CheckpointedScan(dir.resolve("scan.ckpt"), 1, ScanCheckpoint.SyncMode.NONE);
+        assertEquals(6, scan.scanFile(input).getMaxSum());
+
+        Files.write(input, toBytes(new int[]{-1, 5, -1, 7}));
+        assertEquals(11, scan.scanFile(input).getMaxSum());
+        assertEquals(0, scan.getResumedFromOffset());
+    }
+
+    @Test
+    void testCorruptSlotFallsBackToPreviousCheckpoint() throws IOException {
+        Path file = dir.resolve("corrupt.ckpt");
+        try (ScanCheckpoint checkpoint = ScanCheckpoint.open(file, ScanCheckpoint.SyncMode.NONE)) {
+            checkpoint.save(-1, -1, 8, false, KadaneSummary.single(0, 5).merge(KadaneSummary.single(1, 2)));
+            checkpoint.save(-1, -1, 12, false, KadaneSummary.single(0, 9));
+        }
+        // flip a byte in the newest slot's payload (the second of two 136-byte slots)
+        byte[] raw = Files.readAllBytes(file);
+        raw[136 + 40] ^= 1;
+        Files.write(file, raw);
+
+        try (ScanCheckpoint checkpoint = ScanCheckpoint.open(file, ScanCheckpoint.SyncMode.NONE)) {
+            ScanCheckpoint.Snapshot snapshot = checkpoint.load();
+            assertEquals(8, snapshot.byteOffset);
+            assertEquals(7, snapshot.summary.best);
+        }
+    }
+
+    private static byte[] toBytes(int[] nums) {
+        ByteBuffer bytes = ByteBuffer.allocate(nums.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asIntBuffer().put(nums);
+        return bytes.array();
+    }
+
+    private static int[] randomArray(int n, long seed) {
+        Random random = new Random(seed);
+        int[] nums = new int[n];
+        for (int i = 0; i < n; i++) nums[i] = random.nextInt(2001) - 1000;
+        return nums;
+    }
+
+    /**
+     * Serves bytes in small reads and fails once {@code failAt} bytes were delivered
+     */
+    private static class FailingStream extends InputStream {
+        private final byte[] data;
+        private final int failAt;
+        private int position;
+
+        FailingStream(byte[] data, int failAt) {
+            this.data = data;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= failAt) throw new IOException("simulated crash");
+            int count = Math.min(Math.min(len, 1000), failAt - position);
+            System.arraycopy(data, position, b, off, count);
+            position += count;
+            return count;
+        }
+    }
+}
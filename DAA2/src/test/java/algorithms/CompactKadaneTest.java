@@ -0,0 +1,162 @@
+package algorithms;
+
+import metrics.AllocationMeter;
+import metrics.PerformanceTracker;
+import models.LongSubarrayResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.DeltaVarintFile;
+import storage.DeltaVarintWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the delta/varint block format and its skip-merge scans
+ */
+class CompactKadaneTest {
+    @TempDir
+    Path dir;
+
+    private CompactKadane compact;
+
+    @BeforeEach
+    void setUp() {
+        compact = new CompactKadane();
+    }
+
+    @Test
+    void testRoundTripIncludingExtremeDeltas() throws IOException {
+        int[] nums = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, 1, Integer.MIN_VALUE, 42};
+        Path file = dir.resolve("extreme.kdz");
+        DeltaVarintWriter.write(file, nums, 3);
+
+        try (DeltaVarintFile series = DeltaVarintFile.open(file)) {
+            assertEquals(7, series.length());
+            assertEquals(3, series.getBlockCount());
+            int[] decoded = new int[3];
+            ByteBuffer scratch = ByteBuffer.allocate(series.maxPayloadBytes());
+            assertEquals(3, series.decodeBlock(1, decoded, scratch));
+            assertArrayEquals(new int[]{-1, 1, Integer.MIN_VALUE}, decoded);
+            assertEquals(1, series.decodeBlock(2, decoded, scratch));
+            assertEquals(42, decoded[0]);
+        }
+    }
+
+    @Test
+    void testAllScansMatchKadane() throws IOException {
+        int[] nums = smoothSeries(100_000, 41);
+        Path file = dir.resolve("series.kdz");
+        DeltaVarintWriter.write(file, nums, 1024);
+
+        long expected = new KadaneAlgorithm().findMaximumSubarray(nums).getMaxSum();
+        try (DeltaVarintFile series = DeltaVarintFile.open(file)) {
+            LongSubarrayResult fromHeaders = compact.findMaximumSubarray(series);
+            assertEquals(expected, fromHeaders.getMaxSum());
+            assertEquals(expected, rangeSum(nums, fromHeaders));
+            assertEquals(fromHeaders, compact.findMaximumSubarrayDecoding(series));
+            assertEquals(fromHeaders, compact.findMaximumSubarrayParallel(series, 4));
+        }
+    }
+
+    @Test
+    void testRangeQueriesAcrossBlockBoundaries() throws IOException {
+        int[] nums = smoothSeries(5_000, 42);
+        Path file = dir.resolve("ranges.kdz");
+        DeltaVarintWriter.write(file, nums, 128);
+
+        Random random = new Random(42);
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        try (DeltaVarintFile series = DeltaVarintFile.open(file)) {
+            for (int trial = 0; trial < 100; trial++) {
+                int from = random.nextInt(nums.length);
+                int to = from + 1 + random.nextInt(nums.length - from);
+                int[] slice = Arrays.copyOfRange(nums, from, to);
+
+                LongSubarrayResult result = compact.findMaximumSubarray(series, from, to);
+                assertEquals(kadane.findMaximumSubarray(slice).getMaxSum(), result.getMaxSum());
+                assertTrue(result.getStartIndex() >= from && result.getEndIndex() < to);
+                assertEquals(result.getMaxSum(), rangeSum(nums, result));
+            }
+            assertTrue(compact.findMaximumSubarray(series, 10, 10).isEmptySubarray());
+        }
+    }
+
+    @Test
+    void testBlockAlignedQueryAllocatesNoScratch() throws IOException {
+        assumeTrue(AllocationMeter.isSupported(), "JVM has no per-thread allocation counter");
+        int[] nums = smoothSeries(20_000, 44);
+        Path file = dir.resolve("aligned.kdz");
+        DeltaVarintWriter.write(file, nums, 1024);
+
+        try (DeltaVarintFile series = DeltaVarintFile.open(file)) {
+            for (int i = 0; i < 5; i++) {
+                compact.findMaximumSubarray(series, 1024, 8 * 1024);
+                compact.findMaximumSubarray(series, 1000, 8 * 1024);
+            }
+            List<PerformanceTracker.PerformanceRecord> records = compact.getPerformanceTracker().getRecords();
+            long aligned = records.get(records.size() - 2).memoryUsed;
+            long unaligned = records.get(records.size() - 1).memoryUsed;
+            assertTrue(aligned < series.maxPayloadBytes(), "aligned query allocated " + aligned);
+            assertTrue(unaligned >= series.maxPayloadBytes(), "unaligned query allocated " + unaligned);
+        }
+    }
+
+    @Test
+    void testCompactOnSmoothData() throws IOException {
+        int[] nums = smoothSeries(100_000, 43);
+        Path file = dir.resolve("size.kdz");
+        DeltaVarintWriter.write(file, nums, DeltaVarintWriter.DEFAULT_BLOCK_SIZE);
+
+        // small deltas take one or two bytes instead of four
+        assertTrue(Files.size(file) < nums.length * 2L, "size " + Files.size(file));
+    }
+
+    @Test
+    void testStreamingAppendAndRejectsCorruptFile() throws IOException {
+        Path file = dir.resolve("stream.kdz");
+        try (DeltaVarintWriter writer = new DeltaVarintWriter(file, 4)) {
+            for (int v : new int[]{-2, 1, -3, 4, -1, 2, 1, -5, 4}) {
+                writer.append(v);
+            }
+        }
+        try (DeltaVarintFile series = DeltaVarintFile.open(file)) {
+            LongSubarrayResult result = compact.findMaximumSubarray(series);
+            assertEquals(6, result.getMaxSum());
+            assertEquals(3, result.getStartIndex());
+            assertEquals(6, result.getEndIndex());
+        }
+
+        Path truncated = dir.resolve("truncated.kdz");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> DeltaVarintFile.open(truncated));
+    }
+
+    private static int[] smoothSeries(int n, long seed) {
+        Random random = new Random(seed);
+        int[] nums = new int[n];
+        int value = 0;
+        for (int i = 0; i < n; i++) {
+            value += random.nextInt(21) - 10;
+            value = Math.max(-500, Math.min(500, value));
+            nums[i] = value;
+        }
+        return nums;
+    }
+
+    private static long rangeSum(int[] nums, LongSubarrayResult result) {
+        long sum = 0;
+        for (long i = result.getStartIndex(); i <= result.getEndIndex(); i++) sum += nums[(int) i];
+        return sum;
+    }
+}
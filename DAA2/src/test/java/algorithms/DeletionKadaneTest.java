@@ -0,0 +1,147 @@
+package algorithms;
+
+import models.DeletionSubarrayResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for maximum subarray with up to K deletions
+ */
+class DeletionKadaneTest {
+    private DeletionKadane engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new DeletionKadane();
+    }
+
+    @Test
+    void testSingleDeletion() {
+        int[] nums = {1, -2, 0, 3};
+        DeletionSubarrayResult result = engine.findMaximumSubarray(nums, 1);
+
+        assertEquals(4, result.getMaxSum());
+        assertEquals(0, result.getStartIndex());
+        assertEquals(3, result.getEndIndex());
+        assertArrayEquals(new int[]{1}, result.getDeletedIndices());
+    }
+
+    @Test
+    void testZeroDeletionsIsKadane() {
+        int[] nums = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+        DeletionSubarrayResult result = engine.findMaximumSubarray(nums, 0);
+
+        assertEquals(6, result.getMaxSum());
+        assertEquals(3, result.getStartIndex());
+        assertEquals(6, result.getEndIndex());
+        assertEquals(0, result.getDeletionCount());
+    }
+
+    @Test
+    void testTwoDeletions() {
+        int[] nums = {5, -10, 5, -10, 5, -1, -100};
+        DeletionSubarrayResult result = engine.findMaximumSubarray(nums, 2);
+
+        assertEquals(15, result.getMaxSum());
+        assertEquals(0, result.getStartIndex());
+        assertEquals(4, result.getEndIndex());
+        assertArrayEquals(new int[]{1, 3}, result.getDeletedIndices());
+    }
+
+    @Test
+    void testSumBeyondIntRangeThrows() {
+        int[] nums = {Integer.MAX_VALUE, -1, Integer.MAX_VALUE};
+        assertThrows(ArithmeticException.class, () -> engine.findMaximumSubarray(nums, 1));
+    }
+
+    @Test
+    void testAllNegativeKeepsOneElement() {
+        DeletionSubarrayResult result = engine.findMaximumSubarray(new int[]{-5, -1, -3}, 2);
+
+        assertEquals(-1, result.getMaxSum());
+        assertEquals(1, result.getStartIndex());
+        assertEquals(0, result.getDeletionCount());
+    }
+
+    @Test
+    void testEqualResultsHaveEqualHashCodes() {
+        int[] nums = {5, -10, 5, -10, 5};
+        DeletionSubarrayResult first = engine.findMaximumSubarray(nums, 2);
+        DeletionSubarrayResult second = engine.findMaximumSubarray(nums.clone(), 2);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, engine.findMaximumSubarray(nums, 1));
+    }
+
+    @Test
+    void testDeletionBudgetBeyondLengthIsClamped() {
+        int[] nums = {1, -2, 3};
+        DeletionSubarrayResult twoDeletions = engine.findMaximumSubarray(nums, 2);
+
+        for (int k : new int[]{3, 100, Integer.MAX_VALUE}) {
+            DeletionSubarrayResult result = engine.findMaximumSubarray(nums, k);
+            assertEquals(twoDeletions, result, "k=" + k);
+            assertEquals(4, result.getMaxSum());
+            assertArrayEquals(new int[]{1}, result.getDeletedIndices());
+        }
+        assertEquals(-1, engine.findMaximumSubarray(new int[]{-1}, Integer.MAX_VALUE).getMaxSum());
+        assertNotNull(engine.getPerformanceTracker().getLiveMetrics().getEngineMetrics("deletions-k"));
+        assertNull(engine.getPerformanceTracker().getLiveMetrics().getEngineMetrics("deletions-" + Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> engine.findMaximumSubarray(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> engine.findMaximumSubarray(new int[]{1}, -1));
+        assertTrue(engine.findMaximumSubarray(new int[0], 3).isEmptySubarray());
+    }
+
+    @Test
+    void testMatchesBruteForceOnRandomInputs() {
+        Random random = new Random(32);
+        for (int trial = 0; trial < 400; trial++) {
+            int n = 1 + random.nextInt(40);
+            int[] nums = new int[n];
+            for (int i = 0; i < n; i++) {
+                nums[i] = random.nextInt(41) - 25;
+            }
+            int k = random.nextInt(4);
+
+            DeletionSubarrayResult result = engine.findMaximumSubarray(nums, k);
+
+            assertEquals(bruteForce(nums, k), result.getMaxSum(), "k=" + k + " " + Arrays.toString(nums));
+            assertTrue(result.getDeletionCount() <= k);
+            assertEquals(result.getMaxSum(), keptSum(nums, result));
+        }
+    }
+
+    private static long bruteForce(int[] nums, int k) {
+        long best = Long.MIN_VALUE;
+        for (int i = 0; i < nums.length; i++) {
+            for (int j = i; j < nums.length; j++) {
+                int[] segment = Arrays.copyOfRange(nums, i, j + 1);
+                Arrays.sort(segment);
+                long sum = 0;
+                for (int v : segment) sum += v;
+                for (int d = 0; d < k && d < segment.length - 1 && segment[d] < 0; d++) {
+                    sum -= segment[d];
+                }
+                best = Math.max(best, sum);
+            }
+        }
+        return best;
+    }
+
+    private static long keptSum(int[] nums, DeletionSubarrayResult result) {
+        long sum = 0;
+        for (int i = result.getStartIndex(); i <= result.getEndIndex(); i++) sum += nums[i];
+        for (int d : result.getDeletedIndices()) sum -= nums[d];
+        return sum;
+    }
+}
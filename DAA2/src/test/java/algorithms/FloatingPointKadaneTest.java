@@ -0,0 +1,129 @@
+package algorithms;
+
+import models.DoubleSubarrayResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the double and float specialized engines
+ */
+class FloatingPointKadaneTest {
+    private FloatingPointKadane engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new FloatingPointKadane();
+    }
+
+    @Test
+    void testStandardCaseDouble() {
+        double[] nums = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+        DoubleSubarrayResult result = engine.findMaximumSubarray(nums);
+
+        assertEquals(6.0, result.getMaxSum());
+        assertEquals(3, result.getStartIndex());
+        assertEquals(6, result.getEndIndex());
+        assertEquals(result, engine.findMaximumSubarrayKahan(nums));
+    }
+
+    @Test
+    void testStandardCaseFloat() {
+        float[] nums = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+        DoubleSubarrayResult result = engine.findMaximumSubarray(nums);
+
+        assertEquals(6.0, result.getMaxSum());
+        assertEquals(3, result.getStartIndex());
+        assertEquals(6, result.getEndIndex());
+        assertEquals(result, engine.findMaximumSubarrayKahan(nums));
+    }
+
+    @Test
+    void testEmptyAndNull() {
+        assertTrue(engine.findMaximumSubarray(new double[0]).isEmptySubarray());
+        assertThrows(IllegalArgumentException.class, () -> engine.findMaximumSubarray((double[]) null));
+        assertThrows(IllegalArgumentException.class, () -> engine.findMaximumSubarrayKahan((float[]) null));
+    }
+
+    @Test
+    void testAllNegative() {
+        DoubleSubarrayResult result = engine.findMaximumSubarray(new double[]{-5.5, -4.5, -0.5, -2});
+
+        assertEquals(-0.5, result.getMaxSum());
+        assertEquals(2, result.getStartIndex());
+        assertEquals(2, result.getEndIndex());
+    }
+
+    @Test
+    void testNaNBreaksSegment() {
+        double[] nums = {3, 4, Double.NaN, 5, 1};
+        DoubleSubarrayResult result = engine.findMaximumSubarray(nums);
+
+        assertEquals(7.0, result.getMaxSum());
+        assertEquals(0, result.getStartIndex());
+        assertEquals(1, result.getEndIndex());
+    }
+
+    @Test
+    void testAllNaN() {
+        DoubleSubarrayResult result = engine.findMaximumSubarray(new float[]{Float.NaN, Float.NaN});
+
+        assertTrue(Double.isNaN(result.getMaxSum()));
+        assertTrue(result.isEmptySubarray());
+    }
+
+    @Test
+    void testInfinities() {
+        double[] nums = {1, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 2};
+        DoubleSubarrayResult result = engine.findMaximumSubarray(nums);
+        assertEquals(Double.POSITIVE_INFINITY, result.getMaxSum());
+        assertEquals(0, result.getStartIndex());
+        assertEquals(1, result.getEndIndex());
+
+        DoubleSubarrayResult negative = engine.findMaximumSubarray(
+                new double[]{Double.NaN, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY});
+        assertEquals(Double.NEGATIVE_INFINITY, negative.getMaxSum());
+        assertEquals(1, negative.getStartIndex());
+        assertEquals(1, negative.getEndIndex());
+    }
+
+    @Test
+    void testKahanImprovesPrecisionDouble() {
+        double[] nums = new double[10_001];
+        Arrays.fill(nums, 1e-16);
+        nums[0] = 1.0;
+
+        DoubleSubarrayResult plain = engine.findMaximumSubarray(nums);
+        DoubleSubarrayResult kahan = engine.findMaximumSubarrayKahan(nums);
+
+        double exact = 1.0 + 10_000 * 1e-16;
+        assertEquals(1.0, plain.getMaxSum());
+        assertEquals(exact, kahan.getMaxSum(), 1e-15);
+        assertEquals(nums.length - 1, kahan.getEndIndex());
+    }
+
+    @Test
+    void testKahanImprovesPrecisionFloat() {
+        float[] nums = new float[1_001];
+        Arrays.fill(nums, 1e-8f);
+        nums[0] = 1.0f;
+
+        DoubleSubarrayResult plain = engine.findMaximumSubarray(nums);
+        DoubleSubarrayResult kahan = engine.findMaximumSubarrayKahan(nums);
+
+        assertEquals(1.0, plain.getMaxSum());
+        assertEquals(1.00001, kahan.getMaxSum(), 1e-6);
+    }
+
+    @Test
+    void testMetricsRecorded() {
+        engine.findMaximumSubarray(new double[]{1, 2, 3});
+        engine.findMaximumSubarrayKahan(new float[]{1, 2, 3});
+
+        assertEquals(2, engine.getPerformanceTracker().getRecords().size());
+        assertEquals("float-kahan", engine.getPerformanceTracker().getRecords().get(1).testCase);
+    }
+}
@@ -0,0 +1,116 @@
+package algorithms;
+
+import models.LongSubarrayResult;
+import models.SubarrayResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the keyed multi-series engine
+ */
+class KeyedKadaneTest {
+
+    @Test
+    void testIndependentSeries() {
+        KeyedKadane keyed = new KeyedKadane(4, 16);
+        int[] a = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+        int[] b = {-3, -1, -2};
+        for (int i = 0; i < a.length; i++) {
+            keyed.accept(7L, a[i]);
+            if (i < b.length) keyed.accept(-7L, b[i]);
+        }
+
+        assertEquals(new LongSubarrayResult(6, 3, 6), keyed.query(7L));
+        assertEquals(new LongSubarrayResult(-1, 1, 1), keyed.query(-7L));
+        assertNull(keyed.query(8L));
+        assertEquals(9, keyed.count(7L));
+        assertEquals(2, keyed.size());
+    }
+
+    @Test
+    void testBatchesMatchPerKeyKadane() {
+        Random random = new Random(43);
+        int keys = 5_000;
+        KeyedKadane keyed = new KeyedKadane(8, 100);
+        Map<Long, List<Integer>> series = new HashMap<>();
+
+        long[] batchKeys = new long[1_000];
+        int[] batchValues = new int[1_000];
+        for (int batch = 0; batch < 200; batch++) {
+            for (int i = 0; i < batchKeys.length; i++) {
+                batchKeys[i] = random.nextInt(keys) * 1_000_003L;
+                batchValues[i] = random.nextInt(201) - 100;
+                series.computeIfAbsent(batchKeys[i], k -> new ArrayList<>()).add(batchValues[i]);
+            }
+            keyed.accept(batchKeys, batchValues, 0, batchKeys.length);
+        }
+
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        assertEquals(series.size(), keyed.size());
+        for (Map.Entry<Long, List<Integer>> entry : series.entrySet()) {
+            int[] values = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            SubarrayResult expected = kadane.findMaximumSubarray(values);
+            LongSubarrayResult actual = keyed.query(entry.getKey());
+            assertEquals(expected.getMaxSum(), actual.getMaxSum());
+            assertEquals(expected.getStartIndex(), actual.getStartIndex());
+            assertEquals(expected.getEndIndex(), actual.getEndIndex());
+        }
+    }
+
+    @Test
+    void testConcurrentIngestion() throws Exception {
+        KeyedKadane keyed = new KeyedKadane(16, 1_000);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final long base = t * 1_000L;
+            futures.add(pool.submit(() -> {
+                for (int round = 0; round < 100; round++) {
+                    for (long key = base; key < base + 1_000; key++) {
+                        keyed.accept(key, round % 10 == 0 ? -50 : 1);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        pool.shutdown();
+
+        assertEquals(threads * 1_000L, keyed.size());
+        // each series: -50, then 9 x 1 repeated; best run is 9 ones
+        LongSubarrayResult result = keyed.query(4_321L);
+        assertEquals(9, result.getMaxSum());
+        assertEquals(100, keyed.count(4_321L));
+    }
+
+    @Test
+    void testRemoveKeepsProbeChains() {
+        KadaneStateTable table = new KadaneStateTable(0);
+        for (long key = 0; key < 10_000; key++) {
+            table.accept(key, (int) key);
+        }
+        for (long key = 0; key < 10_000; key += 2) {
+            assertTrue(table.remove(key));
+        }
+        assertEquals(5_000, table.size());
+        for (long key = 0; key < 10_000; key++) {
+            LongSubarrayResult result = table.query(key);
+            if (key % 2 == 0) {
+                assertNull(result);
+            } else {
+                assertEquals(key, result.getMaxSum());
+            }
+        }
+        assertFalse(table.remove(0));
+    }
+}
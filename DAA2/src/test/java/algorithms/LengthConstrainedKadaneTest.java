@@ -0,0 +1,190 @@
+package algorithms;
+
+import models.SubarrayResult;
+import storage.PrefixSumIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the length-constrained maximum subarray engine
+ */
+class LengthConstrainedKadaneTest {
+    private LengthConstrainedKadane engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new LengthConstrainedKadane();
+    }
+
+    @Test
+    void testUnconstrainedMatchesKadane() {
+        int[] nums = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+        SubarrayResult result = engine.findMaximumSubarray(nums, 1, nums.length);
+
+        assertEquals(6, result.getMaxSum());
+        assertEquals(3, result.getStartIndex());
+        assertEquals(6, result.getEndIndex());
+    }
+
+    @Test
+    void testMaxLengthLimitsSegment() {
+        int[] nums = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+        SubarrayResult result = engine.findMaximumSubarray(nums, 1, 2);
+
+        assertEquals(4, result.getMaxSum());
+        assertTrue(result.getSubarrayLength() <= 2);
+    }
+
+    @Test
+    void testMinLengthForcesLongerSegment() {
+        int[] nums = {10, -20, 1, 1, 1};
+        SubarrayResult result = engine.findMaximumSubarray(nums, 3, 5);
+
+        assertEquals(3, result.getMaxSum());
+        assertEquals(2, result.getStartIndex());
+        assertEquals(4, result.getEndIndex());
+    }
+
+    @Test
+    void testArrayShorterThanMinLength() {
+        assertTrue(engine.findMaximumSubarray(new int[]{1, 2}, 3, 4).isEmptySubarray());
+    }
+
+    @Test
+    void testInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> engine.findMaximumSubarray(new int[]{1}, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> engine.findMaximumSubarray(new int[]{1}, 3, 2));
+        assertThrows(IllegalArgumentException.class, () -> engine.findMaximumSubarray((int[]) null, 1, 1));
+    }
+
+    @Test
+    void testSumBeyondIntRangeThrows() {
+        int[] nums = {Integer.MAX_VALUE, Integer.MAX_VALUE};
+        assertThrows(ArithmeticException.class, () -> engine.findMaximumSubarray(nums, 2, 2));
+        assertThrows(ArithmeticException.class,
+                () -> engine.findMaximumSubarray(PrefixSumIndex.build(nums), 2, 2));
+    }
+
+    @Test
+    void testMatchesBruteForceOnRandomInputs() {
+        Random random = new Random(31);
+        for (int trial = 0; trial < 300; trial++) {
+            int n = 1 + random.nextInt(120);
+            int[] nums = new int[n];
+            for (int i = 0; i < n; i++) {
+                nums[i] = random.nextInt(41) - 20;
+            }
+            int minLength = 1 + random.nextInt(n);
+            int maxLength = minLength + random.nextInt(n - minLength + 3);
+
+            long expected = bruteForce(nums, minLength, maxLength);
+            SubarrayResult sequential = engine.findMaximumSubarray(nums, minLength, maxLength);
+            SubarrayResult parallel = engine.findMaximumSubarrayParallel(nums, minLength, maxLength, 3);
+
+            assertEquals(expected, sequential.getMaxSum());
+            assertEquals(sequential, parallel);
+            assertTrue(sequential.getSubarrayLength() >= minLength);
+            assertTrue(sequential.getSubarrayLength() <= maxLength);
+            assertEquals(expected, rangeSum(nums, sequential));
+        }
+    }
+
+    @Test
+    void testParallelSplitsLargeInput() {
+        Random random = new Random(7);
+        int[] nums = new int[200_000];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = random.nextInt(2001) - 1000;
+        }
+
+        assertEquals(engine.findMaximumSubarray(nums, 5, 50),
+                engine.findMaximumSubarrayParallel(nums, 5, 50, 4));
+    }
+
+    @Test
+    void testChunksNarrowerThanWindowMatchSequential() {
+        Random random = new Random(155);
+        for (int trial = 0; trial < 100; trial++) {
+            int n = 1 + random.nextInt(300);
+            int[] nums = new int[n];
+            for (int i = 0; i < n; i++) {
+                // small range so equal prefix sums exercise the tie-breaking
+                nums[i] = random.nextInt(7) - 3;
+            }
+            int minLength = 1 + random.nextInt(Math.min(n, 20));
+            int maxLength = minLength + random.nextInt(n);
+            SubarrayResult sequential = engine.findMaximumSubarray(nums, minLength, maxLength);
+
+            // chunks below four windows use block minima, wider ones the deque
+            for (int chunk : new int[]{1, 2, 7, 33, 4 * n + 4}) {
+                assertEquals(sequential, engine.findMaximumSubarrayParallel(nums, minLength, maxLength, 3, chunk),
+                        "n=" + n + " [" + minLength + ", " + maxLength + "] chunk=" + chunk);
+            }
+        }
+    }
+
+    @Test
+    void testIndexedQueriesMatchArrayQueries() {
+        Random random = new Random(47);
+        int[] nums = new int[100_000];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = random.nextInt(2001) - 1000;
+        }
+        PrefixSumIndex index = PrefixSumIndex.build(nums);
+
+        assertEquals(engine.findMaximumSubarray(nums, 5, 50), engine.findMaximumSubarray(index, 5, 50));
+        assertEquals(engine.findMaximumSubarray(nums, 1, 3), engine.findMaximumSubarrayParallel(index, 1, 3, 4));
+        assertEquals(LengthConstrainedKadane.prefixSums(nums)[nums.length], index.total());
+    }
+
+    @Test
+    void testIndexAppendMatchesRebuild() {
+        int[] nums = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+        PrefixSumIndex index = new PrefixSumIndex(0);
+        index.append(nums[0]);
+        index.append(nums, 1, nums.length - 1);
+
+        PrefixSumIndex built = PrefixSumIndex.build(nums);
+        assertEquals(nums.length, index.length());
+        for (int i = 0; i <= nums.length; i++) {
+            assertEquals(built.prefix(i), index.prefix(i));
+        }
+        assertEquals(6, index.rangeSum(3, 7));
+        assertEquals(engine.findMaximumSubarray(nums, 2, 4), engine.findMaximumSubarray(index, 2, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.rangeSum(3, 10));
+    }
+
+    @Test
+    void testAverageCheck() {
+        int[] nums = {1, 12, -5, -6, 50, 3};
+        PrefixSumIndex index = PrefixSumIndex.build(nums);
+
+        // best average over length >= 4 is (12 - 5 - 6 + 50) / 4 = 12.75
+        assertTrue(engine.hasAverageAtLeast(index, 4, 12.75));
+        assertFalse(engine.hasAverageAtLeast(index, 4, 12.76));
+        assertTrue(engine.hasAverageAtLeast(index, 1, 50));
+        assertFalse(engine.hasAverageAtLeast(index, 7, -100));
+    }
+
+    private static long bruteForce(int[] nums, int minLength, int maxLength) {
+        long best = Long.MIN_VALUE;
+        for (int i = 0; i < nums.length; i++) {
+            long sum = 0;
+            for (int j = i; j < nums.length && j - i + 1 <= maxLength; j++) {
+                sum += nums[j];
+                if (j - i + 1 >= minLength && sum > best) best = sum;
+            }
+        }
+        return best;
+    }
+
+    private static long rangeSum(int[] nums, SubarrayResult result) {
+        long sum = 0;
+        for (int i = result.getStartIndex(); i <= result.getEndIndex(); i++) sum += nums[i];
+        return sum;
+    }
+}
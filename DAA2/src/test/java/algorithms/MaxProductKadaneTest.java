@@ -0,0 +1,141 @@
+package algorithms;
+
+import models.ProductSubarrayResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the maximum product subarray engine
+ */
+class MaxProductKadaneTest {
+    private MaxProductKadane engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new MaxProductKadane();
+    }
+
+    @Test
+    void testStandardCase() {
+        ProductSubarrayResult result = engine.findMaximumProductSubarray(new int[]{2, 3, -2, 4});
+
+        assertTrue(result.isExact());
+        assertEquals(6, result.getProduct());
+        assertEquals(0, result.getStartIndex());
+        assertEquals(1, result.getEndIndex());
+    }
+
+    @Test
+    void testNegativePairs() {
+        ProductSubarrayResult result = engine.findMaximumProductSubarray(new int[]{-2, 0, -3, -4, 1});
+
+        // [-3, -4] and [-3, -4, 1] tie; the first one found is kept
+        assertEquals(12, result.getProduct());
+        assertEquals(2, result.getStartIndex());
+        assertEquals(3, result.getEndIndex());
+    }
+
+    @Test
+    void testSingleNegative() {
+        ProductSubarrayResult result = engine.findMaximumProductSubarray(new int[]{-7});
+        assertEquals(-7, result.getProduct());
+        assertEquals(0, result.getStartIndex());
+    }
+
+    @Test
+    void testEmptyAndNull() {
+        assertTrue(engine.findMaximumProductSubarray(new int[0]).isEmptySubarray());
+        assertThrows(IllegalArgumentException.class, () -> engine.findMaximumProductSubarray(null));
+    }
+
+    @Test
+    void testEqualResultsHaveEqualHashCodes() {
+        int[] small = {2, 3, -2, 4};
+        assertEquals(engine.findMaximumProductSubarray(small), engine.findMaximumProductSubarray(small.clone()));
+        assertEquals(engine.findMaximumProductSubarray(small).hashCode(),
+                engine.findMaximumProductSubarray(small.clone()).hashCode());
+
+        int[] huge = new int[10];
+        Arrays.fill(huge, 1000);
+        ProductSubarrayResult first = engine.findMaximumProductSubarray(huge);
+        ProductSubarrayResult second = engine.findMaximumProductSubarray(huge.clone());
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void testOverflowSwitchesToLogMagnitude() {
+        int[] nums = new int[10];
+        Arrays.fill(nums, 1000); // 10^30
+
+        ProductSubarrayResult result = engine.findMaximumProductSubarray(nums);
+
+        assertFalse(result.isExact());
+        assertEquals(1, result.getSign());
+        assertEquals(30 * Math.log(10) / Math.log(2), result.getLog2Magnitude(), 1e-9);
+        assertEquals(Integer.MAX_VALUE, result.getMaxSum());
+        assertEquals(0, result.getStartIndex());
+        assertEquals(9, result.getEndIndex());
+        assertThrows(ArithmeticException.class, result::getProduct);
+    }
+
+    @Test
+    void testExactAfterOverflowStretch() {
+        // -1000^7 overflows, but the best segment (six elements, 10^18) fits in a long
+        int[] nums = {-1000, -1000, -1000, -1000, -1000, -1000, -1000, 0, 5};
+        ProductSubarrayResult result = engine.findMaximumProductSubarray(nums);
+
+        assertTrue(result.isExact());
+        assertEquals(1_000_000_000_000_000_000L, result.getProduct());
+        assertEquals(6, result.getSubarrayLength());
+    }
+
+    @Test
+    void testMatchesBigIntegerOnRandomInputs() {
+        Random random = new Random(33);
+        for (int trial = 0; trial < 400; trial++) {
+            int n = 1 + random.nextInt(25);
+            int[] nums = new int[n];
+            int bound = trial % 2 == 0 ? 5 : 100_000;
+            for (int i = 0; i < n; i++) {
+                nums[i] = random.nextInt(2 * bound + 1) - bound;
+            }
+
+            BigInteger expected = bruteForce(nums);
+            ProductSubarrayResult result = engine.findMaximumProductSubarray(nums);
+            BigInteger actual = product(nums, result.getStartIndex(), result.getEndIndex());
+
+            assertEquals(expected, actual, Arrays.toString(nums));
+            if (expected.bitLength() <= 63) {
+                assertTrue(result.isExact());
+                assertEquals(expected.longValueExact(), result.getProduct());
+            } else {
+                assertFalse(result.isExact());
+                assertEquals(expected.signum(), result.getSign());
+            }
+        }
+    }
+
+    private static BigInteger bruteForce(int[] nums) {
+        BigInteger best = null;
+        for (int i = 0; i < nums.length; i++) {
+            for (int j = i; j < nums.length; j++) {
+                BigInteger p = product(nums, i, j);
+                if (best == null || p.compareTo(best) > 0) best = p;
+            }
+        }
+        return best;
+    }
+
+    private static BigInteger product(int[] nums, int from, int to) {
+        BigInteger p = BigInteger.ONE;
+        for (int i = from; i <= to; i++) p = p.multiply(BigInteger.valueOf(nums[i]));
+        return p;
+    }
+}
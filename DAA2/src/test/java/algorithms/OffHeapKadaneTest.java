@@ -0,0 +1,142 @@
+package algorithms;
+
+import models.KadaneSummary;
+import models.LongSubarrayResult;
+import models.SubarrayResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.OffHeapIntArray;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the off-heap engine and Kadane summary merging
+ */
+class OffHeapKadaneTest {
+    private final OffHeapKadane engine = new OffHeapKadane();
+
+    @Test
+    void testStandardCaseAcrossChunks() {
+        int[] nums = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+        OffHeapIntArray data = OffHeapIntArray.fromArray(nums, 1); // 2 ints per chunk
+
+        LongSubarrayResult result = engine.findMaximumSubarray(data);
+
+        assertEquals(6, result.getMaxSum());
+        assertEquals(3, result.getStartIndex());
+        assertEquals(6, result.getEndIndex());
+    }
+
+    @Test
+    void testEmptyArray() {
+        LongSubarrayResult result = engine.findMaximumSubarray(OffHeapIntArray.allocate(0));
+        assertTrue(result.isEmptySubarray());
+        assertEquals(0, result.getMaxSum());
+    }
+
+    @Test
+    void testAllNegative() {
+        OffHeapIntArray data = OffHeapIntArray.fromArray(new int[]{-5, -4, -3, -2, -1}, 2);
+        LongSubarrayResult result = engine.findMaximumSubarray(data);
+
+        assertEquals(-1, result.getMaxSum());
+        assertEquals(4, result.getStartIndex());
+        assertEquals(4, result.getEndIndex());
+    }
+
+    @Test
+    void testSumDoesNotOverflow() {
+        int[] nums = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+        LongSubarrayResult result = engine.findMaximumSubarray(OffHeapIntArray.fromArray(nums, 4));
+        assertEquals(3L * Integer.MAX_VALUE, result.getMaxSum());
+    }
+
+    @Test
+    void testMatchesKadaneOnRandomInputs() {
+        Random random = new Random(29);
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        for (int trial = 0; trial < 200; trial++) {
+            int[] nums = new int[1 + random.nextInt(300)];
+            for (int i = 0; i < nums.length; i++) {
+                nums[i] = random.nextInt(201) - 100;
+            }
+            SubarrayResult expected = kadane.findMaximumSubarray(nums);
+            OffHeapIntArray data = OffHeapIntArray.fromArray(nums, 3);
+
+            LongSubarrayResult sequential = engine.findMaximumSubarray(data);
+            LongSubarrayResult parallel = engine.findMaximumSubarrayParallel(data, 4);
+
+            assertEquals(expected.getMaxSum(), sequential.getMaxSum());
+            assertEquals(expected.getMaxSum(), parallel.getMaxSum());
+            assertEquals(expected.getMaxSum(), rangeSum(nums, sequential));
+        }
+    }
+
+    @Test
+    void testParallelSplitsMatchSequentialScan() {
+        Random random = new Random(41);
+        for (int n : new int[]{1, 7, 256, 1000}) {
+            int[] nums = new int[n];
+            for (int i = 0; i < n; i++) {
+                nums[i] = random.nextInt(201) - 100;
+            }
+            // 16-int chunks: halving 256 lands every split on a chunk edge, 1000 mostly off one
+            OffHeapIntArray data = OffHeapIntArray.fromArray(nums, 4);
+            LongSubarrayResult sequential = engine.findMaximumSubarray(data);
+
+            for (long threshold : new long[]{1, 3, 16, 33}) {
+                LongSubarrayResult parallel = engine.findMaximumSubarrayParallel(data, 4, threshold);
+                String context = "n=" + n + " threshold=" + threshold;
+                assertEquals(sequential.getMaxSum(), parallel.getMaxSum(), context);
+                assertEquals(sequential.getMaxSum(), rangeSum(nums, parallel), context);
+            }
+        }
+    }
+
+    @Test
+    void testSummaryMergeAtEverySplit() {
+        int[] nums = {3, -4, 5, -1, -2, 6, -9, 2, 2, -1};
+        OffHeapIntArray data = OffHeapIntArray.fromArray(nums, 2);
+        KadaneSummary whole = OffHeapKadane.summarize(data, 0, nums.length);
+
+        for (int split = 0; split <= nums.length; split++) {
+            KadaneSummary merged = OffHeapKadane.summarize(data, 0, split)
+                    .merge(OffHeapKadane.summarize(data, split, nums.length));
+            assertEquals(whole.total, merged.total);
+            assertEquals(whole.best, merged.best);
+            assertEquals(whole.bestPrefix, merged.bestPrefix);
+            assertEquals(whole.bestSuffix, merged.bestSuffix);
+            assertEquals(whole.best, rangeSum(nums, merged.toResult()));
+        }
+    }
+
+    @Test
+    void testMappedFile(@TempDir Path dir) throws IOException {
+        int[] nums = {1, -3, 2, 2, -1, 4, -10, 3};
+        ByteBuffer bytes = ByteBuffer.allocate(nums.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asIntBuffer().put(nums);
+        Path file = dir.resolve("data.bin");
+        Files.write(file, bytes.array());
+
+        LongSubarrayResult result = engine.findMaximumSubarray(OffHeapIntArray.map(file, 2));
+
+        assertEquals(7, result.getMaxSum());
+        assertEquals(2, result.getStartIndex());
+        assertEquals(5, result.getEndIndex());
+    }
+
+    private static long rangeSum(int[] nums, LongSubarrayResult result) {
+        long sum = 0;
+        for (long i = result.getStartIndex(); i <= result.getEndIndex(); i++) {
+            sum += nums[(int) i];
+        }
+        return sum;
+    }
+}
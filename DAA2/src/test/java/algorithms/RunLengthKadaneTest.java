@@ -0,0 +1,103 @@
+package algorithms;
+
+import models.SubarrayResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import storage.RunLengthIntArray;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the run-length encoded engine
+ */
+class RunLengthKadaneTest {
+    private RunLengthKadane rle;
+    private KadaneAlgorithm kadane;
+
+    @BeforeEach
+    void setUp() {
+        rle = new RunLengthKadane();
+        kadane = new KadaneAlgorithm();
+    }
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        int[] nums = {3, 3, 3, -1, -1, 0, 7, 7};
+        RunLengthIntArray encoded = RunLengthIntArray.encode(nums);
+
+        assertEquals(4, encoded.getRunCount());
+        assertEquals(8, encoded.length());
+        assertEquals(-1, encoded.getValue(1));
+        assertEquals(2, encoded.getCount(1));
+        assertArrayEquals(nums, encoded.decode());
+    }
+
+    @Test
+    void testElementLevelIndices() {
+        // runs: [2 x4] [-10 x3] [5 x2] [-1 x1] [6 x3]
+        RunLengthIntArray data = new RunLengthIntArray(
+                new int[]{2, -10, 5, -1, 6}, new int[]{4, 3, 2, 1, 3});
+        SubarrayResult result = rle.findMaximumSubarray(data);
+
+        assertEquals(27, result.getMaxSum());
+        assertEquals(7, result.getStartIndex());
+        assertEquals(12, result.getEndIndex());
+    }
+
+    @Test
+    void testAllNegativeRunsPickSingleElement() {
+        RunLengthIntArray data = new RunLengthIntArray(new int[]{-5, -2, -9}, new int[]{3, 4, 2});
+        SubarrayResult result = rle.findMaximumSubarray(data);
+
+        assertEquals(-2, result.getMaxSum());
+        assertEquals(result.getStartIndex(), result.getEndIndex());
+        assertTrue(result.getStartIndex() >= 3 && result.getStartIndex() <= 6);
+    }
+
+    @Test
+    void testSumBeyondIntRangeThrows() {
+        RunLengthIntArray data = new RunLengthIntArray(new int[]{Integer.MAX_VALUE}, new int[]{2});
+        assertThrows(ArithmeticException.class, () -> rle.findMaximumSubarray(data));
+    }
+
+    @Test
+    void testMatchesKadaneOnRepetitiveData() {
+        Random random = new Random(40);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 1 + random.nextInt(300);
+            int[] nums = new int[n];
+            for (int i = 0; i < n; ) {
+                int value = random.nextInt(41) - 20;
+                int run = 1 + random.nextInt(12);
+                for (int k = 0; k < run && i < n; k++) nums[i++] = value;
+            }
+
+            SubarrayResult result = rle.findMaximumSubarray(nums);
+            assertEquals(kadane.findMaximumSubarray(nums).getMaxSum(), result.getMaxSum());
+            int sum = 0;
+            for (int i = result.getStartIndex(); i <= result.getEndIndex(); i++) sum += nums[i];
+            assertEquals(result.getMaxSum(), sum);
+        }
+    }
+
+    @Test
+    void testWorkScalesWithRuns() {
+        RunLengthIntArray data = new RunLengthIntArray(new int[]{1, -3, 2}, new int[]{1_000_000, 10, 5_000_000});
+        SubarrayResult result = rle.findMaximumSubarray(data);
+
+        assertEquals(10_999_970, result.getMaxSum());
+        assertEquals(0, result.getStartIndex());
+        assertEquals(6_000_009, result.getEndIndex());
+        assertEquals(6, result.getArrayAccesses());
+    }
+
+    @Test
+    void testEmptyAndInvalidInput() {
+        assertTrue(rle.findMaximumSubarray(new int[0]).isEmptySubarray());
+        assertThrows(IllegalArgumentException.class, () -> rle.findMaximumSubarray((RunLengthIntArray) null));
+        assertThrows(IllegalArgumentException.class, () -> new RunLengthIntArray(new int[]{1}, new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> new RunLengthIntArray(new int[]{1, 2}, new int[]{1}));
+    }
+}
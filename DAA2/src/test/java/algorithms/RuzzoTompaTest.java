@@ -0,0 +1,115 @@
+package algorithms;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for all maximal scoring segments
+ */
+class RuzzoTompaTest {
+    private RuzzoTompa ruzzoTompa;
+
+    @BeforeEach
+    void setUp() {
+        ruzzoTompa = new RuzzoTompa();
+    }
+
+    @Test
+    void testPaperExample() {
+        // Ruzzo & Tompa's example: maximal segments 4, -1, 3 | 5
+        int[] nums = {4, -5, 3, -3, 1, 2, -2, 2, -2, 1, 5};
+        int[] packed = ruzzoTompa.findMaximalSegments(nums);
+
+        assertArrayEquals(new int[]{0, 0, 4, 2, 2, 3, 4, 10, 7}, packed);
+    }
+
+    @Test
+    void testNoPositiveElements() {
+        assertEquals(0, ruzzoTompa.findMaximalSegments(new int[]{-1, 0, -3}).length);
+        assertEquals(0, ruzzoTompa.findMaximalSegments(new int[0]).length);
+    }
+
+    @Test
+    void testMatchesRecursiveKadaneDecomposition() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 300; trial++) {
+            int[] nums = new int[1 + random.nextInt(200)];
+            for (int i = 0; i < nums.length; i++) {
+                nums[i] = random.nextInt(2_000_001) - 1_000_000;
+            }
+
+            List<long[]> expected = new ArrayList<>();
+            decompose(nums, 0, nums.length, expected);
+            expected.sort((a, b) -> Long.compare(a[0], b[0]));
+
+            int[] packed = ruzzoTompa.findMaximalSegments(nums);
+            assertEquals(expected.size() * 3, packed.length);
+            for (int s = 0; s < expected.size(); s++) {
+                assertEquals(expected.get(s)[0], packed[3 * s]);
+                assertEquals(expected.get(s)[1], packed[3 * s + 1]);
+                assertEquals(expected.get(s)[2], packed[3 * s + 2]);
+            }
+        }
+    }
+
+    @Test
+    void testStreamingEmitsEarlyAndInOrder() {
+        List<long[]> seen = new ArrayList<>();
+        RuzzoTompa.Scanner scanner = new RuzzoTompa.Scanner((start, end, sum) -> seen.add(new long[]{start, end, sum}));
+
+        scanner.accept(new int[]{3, -1, 2}, 0, 3);
+        scanner.accept(-10);
+        assertTrue(seen.isEmpty());
+        scanner.accept(1); // starts below every listed segment: [0, 2] is final
+        assertEquals(1, seen.size());
+        assertArrayEquals(new long[]{0, 2, 4}, seen.get(0));
+
+        scanner.finish();
+        assertEquals(2, scanner.getEmittedCount());
+        assertArrayEquals(new long[]{4, 4, 1}, seen.get(1));
+    }
+
+    @Test
+    void testLinearOnAdversarialStaircase() {
+        // rising steps force repeated merges; comparisons must stay O(n)
+        int n = 200_000;
+        int[] nums = new int[n];
+        for (int i = 0; i < n; i++) {
+            nums[i] = i % 2 == 0 ? 2 : -1;
+        }
+        int[] packed = ruzzoTompa.findMaximalSegments(nums);
+
+        assertArrayEquals(new int[]{0, n - 2, n / 2 + 1}, packed);
+        int comparisons = ruzzoTompa.getPerformanceTracker().getRecords().get(0).comparisons;
+        assertTrue(comparisons < 5 * n, "comparisons " + comparisons);
+    }
+
+    /**
+     * Reference definition: the best segment, then recurse on both sides
+     */
+    private static void decompose(int[] nums, int from, int to, List<long[]> out) {
+        long best = 0;
+        int bestStart = -1, bestEnd = -1;
+        for (int i = from; i < to; i++) {
+            long sum = 0;
+            for (int j = i; j < to; j++) {
+                sum += nums[j];
+                if (sum > best) {
+                    best = sum;
+                    bestStart = i;
+                    bestEnd = j;
+                }
+            }
+        }
+        if (bestStart < 0) return;
+        out.add(new long[]{bestStart, bestEnd, best});
+        decompose(nums, from, bestStart, out);
+        decompose(nums, bestEnd + 1, to, out);
+    }
+}
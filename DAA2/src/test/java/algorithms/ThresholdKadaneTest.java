@@ -0,0 +1,113 @@
+package algorithms;
+
+import models.LongSubarrayResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the early-exit threshold engine
+ */
+class ThresholdKadaneTest {
+    private ThresholdKadane engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ThresholdKadane();
+    }
+
+    @Test
+    void testFindsEarliestEndingSegment() {
+        int[] nums = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+
+        LongSubarrayResult result = engine.findSegmentAtLeast(nums, 5);
+
+        assertEquals(5, result.getMaxSum());
+        assertEquals(3, result.getStartIndex());
+        assertEquals(5, result.getEndIndex());
+    }
+
+    @Test
+    void testNotFoundWhenThresholdExceedsMaximum() {
+        int[] nums = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+
+        assertTrue(engine.findSegmentAtLeast(nums, 7).isEmptySubarray());
+        assertTrue(engine.exists(nums, 6));
+        assertFalse(engine.exists(nums, 7));
+        assertTrue(engine.findSegmentAtLeast(new int[0], 0).isEmptySubarray());
+    }
+
+    @Test
+    void testStopsAtAnswer() {
+        int[] nums = new int[100_000];
+        nums[10] = 50;
+
+        engine.findSegmentAtLeast(nums, 50);
+
+        assertEquals(11, engine.getPerformanceTracker().getRecords().get(0).arrayAccesses);
+    }
+
+    @Test
+    void testParallelFindsSegmentSpanningChunks() {
+        // each chunk alone peaks at 3; only the segment across all three reaches 7
+        int[] nums = {-9, -9, 3, 1, 1, 1, 3, -9};
+
+        LongSubarrayResult result = engine.findSegmentAtLeastParallel(nums, 7, 3, 3);
+
+        assertEquals(9, result.getMaxSum());
+        assertEquals(2, result.getStartIndex());
+        assertEquals(6, result.getEndIndex());
+    }
+
+    @Test
+    void testAgreesWithBruteForceOnRandomInputs() {
+        Random random = new Random(46);
+        for (int trial = 0; trial < 300; trial++) {
+            int[] nums = new int[1 + random.nextInt(60)];
+            for (int i = 0; i < nums.length; i++) {
+                nums[i] = random.nextInt(21) - 10;
+            }
+            long threshold = random.nextInt(41) - 10;
+
+            int earliestEnd = bruteForceEarliestEnd(nums, threshold);
+            LongSubarrayResult sequential = engine.findSegmentAtLeast(nums, threshold);
+            LongSubarrayResult parallel = engine.findSegmentAtLeastParallel(nums, threshold, 4, 1 + random.nextInt(8));
+
+            assertEquals(earliestEnd, sequential.getEndIndex(), "trial " + trial);
+            assertEquals(earliestEnd < 0, parallel.isEmptySubarray(), "trial " + trial);
+            if (earliestEnd >= 0) {
+                assertQualifies(nums, threshold, sequential);
+                assertQualifies(nums, threshold, parallel);
+            }
+        }
+    }
+
+    @Test
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> engine.findSegmentAtLeast(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> engine.findSegmentAtLeastParallel(new int[1], 1, 0));
+    }
+
+    private static void assertQualifies(int[] nums, long threshold, LongSubarrayResult result) {
+        long sum = 0;
+        for (long i = result.getStartIndex(); i <= result.getEndIndex(); i++) {
+            sum += nums[(int) i];
+        }
+        assertEquals(sum, result.getMaxSum());
+        assertTrue(sum >= threshold);
+    }
+
+    private static int bruteForceEarliestEnd(int[] nums, long threshold) {
+        for (int end = 0; end < nums.length; end++) {
+            long sum = 0;
+            for (int start = end; start >= 0; start--) {
+                sum += nums[start];
+                if (sum >= threshold) return end;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,43 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the pools shared by the parallel engines
+ */
+class WorkerPoolsTest {
+
+    @Test
+    void testPoolIsReusedPerParallelism() {
+        int parallelism = ForkJoinPool.commonPool().getParallelism() + 1;
+        assumeTrue(parallelism <= WorkerPools.MAX_PARALLELISM);
+        ForkJoinPool pool = WorkerPools.forParallelism(parallelism);
+
+        assertSame(pool, WorkerPools.forParallelism(parallelism));
+        assertEquals(parallelism, pool.getParallelism());
+        assertFalse(pool.isShutdown());
+    }
+
+    @Test
+    void testMatchingParallelismUsesCommonPool() {
+        int common = ForkJoinPool.commonPool().getParallelism();
+        assertSame(ForkJoinPool.commonPool(), WorkerPools.forParallelism(common));
+    }
+
+    @Test
+    void testParallelismIsCappedAtProcessorCount() {
+        ForkJoinPool capped = WorkerPools.forParallelism(WorkerPools.MAX_PARALLELISM);
+        assertSame(capped, WorkerPools.forParallelism(WorkerPools.MAX_PARALLELISM + 1));
+        assertSame(capped, WorkerPools.forParallelism(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testRejectsNonPositiveParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> WorkerPools.forParallelism(0));
+    }
+}
@@ -0,0 +1,115 @@
+package distributed;
+
+import algorithms.KadaneAlgorithm;
+import algorithms.OffHeapKadane;
+import models.KadaneSummary;
+import models.LongSubarrayResult;
+import models.SubarrayResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.OffHeapIntArray;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for partitioned computation and worker retries
+ */
+class PartitionCoordinatorTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void testInProcessPartitionsMatchKadane() throws Exception {
+        int[] nums = randomArray(10_000, 34);
+        Path file = writeFile(nums);
+
+        PartitionCoordinator coordinator = new PartitionCoordinator(inProcessLauncher(), 7, 3, 1);
+        LongSubarrayResult result = coordinator.findMaximumSubarray(file);
+
+        SubarrayResult expected = new KadaneAlgorithm().findMaximumSubarray(nums);
+        assertEquals(expected.getMaxSum(), result.getMaxSum());
+    }
+
+    @Test
+    void testFailedWorkerIsRetried() throws Exception {
+        Path file = writeFile(new int[]{-2, 1, -3, 4, -1, 2, 1, -5, 4});
+        AtomicInteger calls = new AtomicInteger();
+        WorkerLauncher flaky = (f, from, to) -> {
+            if (from == 0 && calls.getAndIncrement() == 0) {
+                throw new IOException("simulated crash");
+            }
+            return inProcessLauncher().summarize(f, from, to);
+        };
+
+        LongSubarrayResult result = new PartitionCoordinator(flaky, 3, 3, 2).findMaximumSubarray(file);
+
+        assertEquals(6, result.getMaxSum());
+        assertEquals(3, result.getStartIndex());
+        assertEquals(6, result.getEndIndex());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() throws Exception {
+        Path file = writeFile(new int[]{1, 2, 3});
+        WorkerLauncher broken = (f, from, to) -> {
+            throw new IOException("always fails");
+        };
+
+        assertThrows(IOException.class,
+                () -> new PartitionCoordinator(broken, 2, 2, 3).findMaximumSubarray(file));
+    }
+
+    @Test
+    void testForkedWorkerProcesses() throws Exception {
+        int[] nums = randomArray(5_000, 340);
+        Path file = writeFile(nums);
+
+        PartitionCoordinator coordinator = new PartitionCoordinator(
+                new LocalProcessLauncher(Collections.singletonList("-Xmx64m"), 60_000), 2, 2, 2);
+        LongSubarrayResult result = coordinator.findMaximumSubarray(file);
+
+        assertEquals(new KadaneAlgorithm().findMaximumSubarray(nums).getMaxSum(), result.getMaxSum());
+    }
+
+    @Test
+    void testSplitCoversRange() {
+        long covered = 0;
+        for (long[] range : PartitionCoordinator.split(10, 4)) {
+            assertEquals(covered, range[0]);
+            covered = range[1];
+        }
+        assertEquals(10, covered);
+        assertEquals(3, PartitionCoordinator.split(3, 8).size());
+    }
+
+    private static WorkerLauncher inProcessLauncher() {
+        return (file, from, to) -> {
+            KadaneSummary summary = OffHeapKadane.summarize(OffHeapIntArray.map(file), from, to);
+            return KadaneSummary.parse(summary.toCompactString());
+        };
+    }
+
+    private Path writeFile(int[] nums) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(nums.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asIntBuffer().put(nums);
+        Path file = Files.createTempFile(dir, "input", ".bin");
+        Files.write(file, bytes.array());
+        return file;
+    }
+
+    private static int[] randomArray(int n, long seed) {
+        Random random = new Random(seed);
+        int[] nums = new int[n];
+        for (int i = 0; i < n; i++) nums[i] = random.nextInt(2001) - 1000;
+        return nums;
+    }
+}
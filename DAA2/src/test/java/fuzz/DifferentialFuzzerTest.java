@@ -0,0 +1,64 @@
+package fuzz;
+
+import models.LongSubarrayResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the differential fuzzer and its shrinker
+ */
+class DifferentialFuzzerTest {
+
+    @Test
+    void testAllEnginesAgreeWithOracle() throws InterruptedException {
+        DifferentialFuzzer fuzzer = new DifferentialFuzzer(DifferentialFuzzer::defaultEngines, 4, 512);
+        DifferentialFuzzer.Report report = fuzzer.run(20240601L, 20_000, 3_000);
+
+        assertTrue(report.failures.isEmpty(), report.toString());
+        assertTrue(report.iterations > 0);
+    }
+
+    @Test
+    void testShrinksBuggyEngineToMinimalInput() throws InterruptedException {
+        // Bug: ignores the last element
+        DifferentialFuzzer.Engine buggy = DifferentialFuzzer.engine("drops-last", nums -> {
+            long best = Long.MIN_VALUE, current = 0;
+            int start = 0, bestStart = -1, bestEnd = -1;
+            for (int i = 0; i < nums.length - 1; i++) {
+                if (current <= 0) { current = nums[i]; start = i; } else { current += nums[i]; }
+                if (current > best) { best = current; bestStart = start; bestEnd = i; }
+            }
+            return bestEnd < 0 ? new LongSubarrayResult(0, -1, -1) : new LongSubarrayResult(best, bestStart, bestEnd);
+        });
+
+        DifferentialFuzzer fuzzer = new DifferentialFuzzer(() -> Collections.singletonList(buggy), 2, 64);
+        DifferentialFuzzer.Report report = fuzzer.run(7L, 10_000, 5_000);
+
+        assertFalse(report.failures.isEmpty());
+        DifferentialFuzzer.Failure failure = report.failures.get(0);
+        assertEquals("drops-last", failure.engine);
+        assertEquals(1, failure.input.length);
+        assertNotNull(DifferentialFuzzer.check(buggy, failure.input));
+    }
+
+    @Test
+    void testDefaultEnginesCoverSpecializedScans() {
+        List<String> names = new ArrayList<>();
+        for (DifferentialFuzzer.Engine engine : DifferentialFuzzer.defaultEngines()) {
+            names.add(engine.name());
+        }
+        assertTrue(names.containsAll(List.of("threshold", "threshold-parallel", "compact", "compact-range",
+                "ruzzo-tompa", "keyed", "deletions-1", "deletions-3")), names.toString());
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DifferentialFuzzer(DifferentialFuzzer::defaultEngines, 0, 10));
+    }
+}
@@ -0,0 +1,89 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for confidence-interval driven sampling
+ */
+class AdaptiveSamplerTest {
+    private static long sink;
+
+    @Test
+    void testBatchesSmallCallsAndConverges() {
+        AdaptiveSampler sampler = new AdaptiveSampler(0.05, 10, 100_000, 2_000, 50_000);
+        int[] data = new int[64];
+
+        AdaptiveSampler.Estimate estimate = sampler.measure(() -> {
+            long sum = 0;
+            for (int value : data) sum += value;
+            sink += sum;
+        });
+
+        assertTrue(estimate.callsPerSample > 1, estimate.toString());
+        assertTrue(estimate.samples >= 10, estimate.toString());
+        assertTrue(estimate.meanNs > 0 && estimate.minNs <= estimate.meanNs && estimate.meanNs <= estimate.maxNs);
+        if (estimate.converged) {
+            assertTrue(estimate.relativeError() <= 0.05, estimate.toString());
+        }
+    }
+
+    @Test
+    void testStopsAtBudgetWhenTargetIsUnreachable() {
+        AdaptiveSampler sampler = new AdaptiveSampler(1e-12, 2, Integer.MAX_VALUE, 50, 10_000);
+
+        long start = System.nanoTime();
+        AdaptiveSampler.Estimate estimate = sampler.measure(() -> sink += System.nanoTime() % 7);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(estimate.converged);
+        assertTrue(elapsedMs < 2_000, "took " + elapsedMs + " ms");
+        assertTrue(Double.isFinite(estimate.halfWidthNs));
+    }
+
+    @Test
+    void testBetweenSamplesHookRunsOncePerSample() {
+        AdaptiveSampler sampler = new AdaptiveSampler(1e-12, 2, 25, 5_000, 0);
+        int[] hooks = {0};
+
+        AdaptiveSampler.Estimate estimate = sampler.measure(() -> sink++, () -> hooks[0]++);
+
+        assertEquals(25, estimate.samples);
+        // one extra run after calibration
+        assertEquals(26, hooks[0]);
+    }
+
+    @Test
+    void testTQuantile() {
+        assertEquals(12.706, AdaptiveSampler.tQuantile(1), 1e-9);
+        assertEquals(2.042, AdaptiveSampler.tQuantile(30), 1e-9);
+        assertEquals(2.000, AdaptiveSampler.tQuantile(60), 0.003);
+        assertEquals(1.96, AdaptiveSampler.tQuantile(100_000), 0.001);
+    }
+
+    @Test
+    void testAdaptiveBenchmarkAttachesEstimate() {
+        PerformanceTracker tracker = new PerformanceTracker("Kadane");
+        tracker.runAdaptiveBenchmark(new int[]{1_000}, () -> new WarmupController(20, 300, 10, 0.2),
+                new AdaptiveSampler(0.05, 5, 1_000, 200, 20_000));
+
+        List<PerformanceTracker.BenchmarkResult> results = tracker.getBenchmarkResults();
+        assertEquals(1, results.size());
+        PerformanceTracker.BenchmarkResult result = results.get(0);
+        assertNotNull(result.estimate);
+        assertNotNull(result.warmup);
+        assertEquals(result.estimate.meanNs, result.avgTimeNs);
+        assertTrue(result.iterations >= 5);
+        assertTrue(result.avgComparisons > 0);
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(0, 10, 100, 100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(0.01, 1, 100, 100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(0.01, 10, 5, 100, 0));
+    }
+}
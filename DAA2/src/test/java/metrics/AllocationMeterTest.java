@@ -0,0 +1,87 @@
+package metrics;
+
+import algorithms.DeletionKadane;
+import algorithms.KadaneAlgorithm;
+import algorithms.RuzzoTompa;
+import algorithms.ThresholdKadane;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for per-thread allocation measurement
+ */
+class AllocationMeterTest {
+    private static long[] sink;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(AllocationMeter.isSupported(), "JVM has no per-thread allocation counter");
+    }
+
+    @Test
+    void testMeasuresArrayAllocation() {
+        long before = AllocationMeter.currentThreadAllocatedBytes();
+        sink = new long[1024];
+        long allocated = AllocationMeter.allocatedSince(before);
+
+        assertTrue(allocated >= 1024 * 8, "allocated " + allocated);
+        assertTrue(allocated < 64 * 1024, "allocated " + allocated);
+    }
+
+    @Test
+    void testKadaneScanIsAllocationFree() {
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        int[] nums = new int[100_000];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = (i * 31 % 201) - 100;
+        }
+        for (int i = 0; i < 20; i++) {
+            kadane.findMaximumSubarray(nums);
+        }
+
+        List<PerformanceTracker.PerformanceRecord> records = kadane.getPerformanceTracker().getRecords();
+        assertEquals(0, records.get(records.size() - 1).memoryUsed);
+    }
+
+    @Test
+    void testSpecializedEnginesMeasureAllocation() {
+        int[] nums = new int[10_000];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = (i * 31 % 201) - 100;
+        }
+        DeletionKadane deletion = new DeletionKadane();
+        deletion.findMaximumSubarray(nums, 3);
+        // the DP keeps K + 1 running sums and returns the deleted indices
+        assertTrue(deletion.getPerformanceTracker().getRecords().get(0).memoryUsed > 0);
+
+        ThresholdKadane threshold = new ThresholdKadane();
+        threshold.findSegmentAtLeast(nums, Long.MAX_VALUE);
+        threshold.findSegmentAtLeastParallel(nums, Long.MAX_VALUE, 2);
+        List<PerformanceTracker.PerformanceRecord> records = threshold.getPerformanceTracker().getRecords();
+        assertTrue(records.get(0).memoryUsed >= 0);
+        // parallel workers allocate on other threads, so the sequential counter reports unknown
+        assertEquals(-1, records.get(1).memoryUsed);
+
+        RuzzoTompa ruzzoTompa = new RuzzoTompa();
+        ruzzoTompa.findMaximalSegments(nums, (start, end, sum) -> { });
+        // the scanner and its candidate arrays are allocated per call
+        assertTrue(ruzzoTompa.getPerformanceTracker().getRecords().get(0).memoryUsed > 0);
+    }
+
+    @Test
+    void testBenchmarkResultCarriesBytesPerOp() {
+        PerformanceTracker tracker = new PerformanceTracker("alloc");
+        tracker.runComprehensiveBenchmark(new int[]{1_000}, 1, 3);
+
+        PerformanceTracker.BenchmarkResult result = tracker.getBenchmarkResults().get(0);
+        assertTrue(result.avgBytesPerOp >= 0);
+        // The reused engine allocates its result, its per-call record and, until escape
+        // analysis removes it, the JFR event object: about 150 bytes, not per-engine setup
+        assertTrue(result.avgBytesPerOp <= 256, "bytes/op " + result.avgBytesPerOp);
+    }
+}
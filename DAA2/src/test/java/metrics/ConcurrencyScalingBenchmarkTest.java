@@ -0,0 +1,57 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the concurrency scaling suite
+ */
+class ConcurrencyScalingBenchmarkTest {
+
+    @Test
+    void testThreadLevels() {
+        assertEquals(Arrays.asList(1, 2, 4, 6), ConcurrencyScalingBenchmark.threadLevels(6));
+        assertEquals(Arrays.asList(1, 2, 4, 8), ConcurrencyScalingBenchmark.threadLevels(8));
+        assertEquals(Arrays.asList(1), ConcurrencyScalingBenchmark.threadLevels(1));
+    }
+
+    @Test
+    void testRunsAllLevels() throws InterruptedException {
+        ConcurrencyScalingBenchmark benchmark = new ConcurrencyScalingBenchmark(new int[]{1_000, 5_000}, 100);
+        ConcurrencyScalingBenchmark.ScalingReport report = benchmark.run(2,
+                ConcurrencyScalingBenchmark.ThreadMode.PLATFORM, ConcurrencyScalingBenchmark.ThreadMode.VIRTUAL);
+
+        int modes = ConcurrencyScalingBenchmark.virtualThreadsAvailable() ? 2 : 1;
+        assertEquals(modes * 2 * 2, report.levels.size());
+        for (ConcurrencyScalingBenchmark.Level level : report.levels) {
+            assertTrue(level.operations > 0);
+            assertTrue(level.p99Ns >= level.p50Ns);
+            assertTrue(level.worstThreadP99Ns > 0);
+            if (level.threads == 1) {
+                assertEquals(1.0, level.efficiency);
+            }
+        }
+    }
+
+    @Test
+    void testFlagsSharedTrackerContention() {
+        ConcurrencyScalingBenchmark.Level shared = level(ConcurrencyScalingBenchmark.TrackerSharing.SHARED, 4_000, 0.2);
+        ConcurrencyScalingBenchmark.Level independent = level(ConcurrencyScalingBenchmark.TrackerSharing.PER_THREAD, 10_000, 0);
+
+        List<String> hotspots = ConcurrencyScalingBenchmark.findHotspots(Arrays.asList(shared, independent));
+
+        assertEquals(2, hotspots.size());
+        assertTrue(hotspots.get(0).contains("shared PerformanceTracker"));
+        assertTrue(hotspots.get(1).contains("blocked"));
+    }
+
+    private static ConcurrencyScalingBenchmark.Level level(ConcurrencyScalingBenchmark.TrackerSharing sharing,
+                                                           double opsPerSecond, double blocked) {
+        return new ConcurrencyScalingBenchmark.Level(ConcurrencyScalingBenchmark.ThreadMode.PLATFORM, sharing, 4,
+                1000, opsPerSecond, 100, 200, 300, 0.5, blocked);
+    }
+}
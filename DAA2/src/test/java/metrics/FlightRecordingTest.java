@@ -0,0 +1,73 @@
+package metrics;
+
+import algorithms.KadaneAlgorithm;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import models.SubarrayResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that engine and benchmark events reach a Flight Recorder dump
+ */
+class FlightRecordingTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void testEventsAreRecordedWithFields() throws IOException {
+        int[] nums = {-2, 1, -3, 4, -1, 2, 1, -5, 4};
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        Path file = dir.resolve("kadane.jfr");
+
+        SubarrayResult result;
+        try (Recording recording = new Recording()) {
+            recording.enable(SubarrayExecutionEvent.class);
+            recording.enable(BenchmarkPhaseEvent.class);
+            recording.start();
+
+            result = kadane.findMaximumSubarray(nums);
+            BenchmarkPhaseEvent phase = PerformanceTracker.beginPhase("test", "measurement", nums.length, 3);
+            for (int i = 0; i < 3; i++) {
+                kadane.findMaximumSubarray(nums);
+            }
+            PerformanceTracker.endPhase(phase);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> executions = new ArrayList<>();
+        List<RecordedEvent> phases = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String name = event.getEventType().getName();
+            if ("kadane.SubarrayExecution".equals(name)) {
+                executions.add(event);
+            } else if ("kadane.BenchmarkPhase".equals(name)) {
+                phases.add(event);
+            }
+        }
+
+        assertEquals(4, executions.size());
+        RecordedEvent execution = executions.get(0);
+        assertEquals("standard", execution.getString("engine"));
+        assertEquals(nums.length, execution.getLong("inputSize"));
+        assertEquals(result.getComparisons(), execution.getLong("comparisons"));
+        assertEquals(4, execution.getLong("resultLength"));
+
+        assertEquals(1, phases.size());
+        RecordedEvent phase = phases.get(0);
+        assertEquals("test", phase.getString("benchmark"));
+        assertEquals("measurement", phase.getString("phase"));
+        assertEquals(nums.length, phase.getLong("inputSize"));
+        assertEquals(3, phase.getInt("iterations"));
+    }
+}
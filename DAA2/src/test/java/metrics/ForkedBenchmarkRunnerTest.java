@@ -0,0 +1,90 @@
+package metrics;
+
+import metrics.PerformanceTracker.BenchmarkResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for forked-JVM benchmark isolation
+ */
+class ForkedBenchmarkRunnerTest {
+
+    @Test
+    void testForksReportIntoSharedModel() throws Exception {
+        ForkedBenchmarkRunner runner = new ForkedBenchmarkRunner(2,
+                Arrays.asList("-Xmx64m", "-XX:+UseSerialGC"), 5, 20, 60_000);
+        PerformanceTracker tracker = new PerformanceTracker("forked");
+
+        List<ForkedBenchmarkRunner.ForkedResult> results = runner.runAll(Collections.singletonList(
+                new ForkedBenchmarkRunner.Trial("standard", 1_000, "random")), tracker);
+
+        ForkedBenchmarkRunner.ForkedResult result = results.get(0);
+        assertEquals(2, result.forks.size());
+        assertEquals(40, result.aggregate.iterations);
+        assertEquals(1_000, result.aggregate.inputSize);
+        assertEquals("standard/random", result.aggregate.inputType);
+        assertTrue(result.aggregate.avgComparisons > 0);
+        for (BenchmarkResult fork : result.forks) {
+            assertNotNull(fork.warmup);
+            assertTrue(fork.warmup.iterations >= 5);
+        }
+        assertEquals(1, tracker.getBenchmarkResults().size());
+    }
+
+    @Test
+    void testEveryForkOfATrialUsesTheTrialSeed() {
+        ForkedBenchmarkRunner runner = new ForkedBenchmarkRunner(2, Arrays.asList("-Xmx64m"), 5, 20, 60_000);
+        ForkedBenchmarkRunner.Trial seeded = new ForkedBenchmarkRunner.Trial("standard", 100, "random", 7);
+
+        List<String> command = runner.forkCommand(seeded);
+        assertEquals("7", command.get(command.size() - 1));
+        assertEquals(command, runner.forkCommand(seeded));
+
+        ForkedBenchmarkRunner.Trial unseeded = new ForkedBenchmarkRunner.Trial("standard", 100, "random");
+        assertEquals(ForkedBenchmarkRunner.Trial.DEFAULT_SEED, unseeded.seed);
+        List<String> defaulted = runner.forkCommand(unseeded);
+        assertEquals(Long.toString(ForkedBenchmarkRunner.Trial.DEFAULT_SEED), defaulted.get(defaulted.size() - 1));
+    }
+
+    @Test
+    void testAggregateSeparatesBetweenForkVariance() {
+        ForkedBenchmarkRunner.Trial trial = new ForkedBenchmarkRunner.Trial("standard", 100, "random");
+        List<BenchmarkResult> forks = Arrays.asList(
+                new BenchmarkResult(100, 1000, 10, 980, 1020, 198, 396, 10, "random", 0),
+                new BenchmarkResult(100, 2000, 10, 1980, 2020, 198, 396, 10, "random", 0));
+
+        ForkedBenchmarkRunner.ForkedResult result = ForkedBenchmarkRunner.aggregate(trial, forks);
+
+        assertEquals(1500, result.aggregate.avgTimeNs, 1e-9);
+        assertEquals(Math.sqrt(500_000), result.betweenForkStdDevNs, 1e-6);
+        assertEquals(10, result.withinForkStdDevNs, 1e-9);
+        assertTrue(result.isForkDominated());
+        assertEquals(980, result.aggregate.minTimeNs);
+        assertEquals(2020, result.aggregate.maxTimeNs);
+    }
+
+    @Test
+    void testResultLineRoundTrip() {
+        BenchmarkResult result = BenchmarkFork.run("deletions-1", 256, "alternating",
+                new WarmupController(2, 20, 5, 0.5), 5, 1L);
+        BenchmarkResult parsed = BenchmarkFork.parse(BenchmarkFork.format(result));
+
+        assertEquals(result.avgTimeNs, parsed.avgTimeNs);
+        assertEquals(result.inputType, parsed.inputType);
+        assertEquals(result.warmup.iterations, parsed.warmup.iterations);
+        assertEquals(result.warmup.steady, parsed.warmup.steady);
+    }
+
+    @Test
+    void testUnknownEngineAndDistribution() {
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkFork.engine("quantum"));
+        assertThrows(IllegalArgumentException.class,
+                () -> BenchmarkFork.generate("gaussian", 10, new Random()));
+    }
+}
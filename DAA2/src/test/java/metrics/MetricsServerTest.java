@@ -0,0 +1,116 @@
+package metrics;
+
+import algorithms.KadaneAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the embedded Prometheus metrics endpoint
+ */
+class MetricsServerTest {
+    private KadaneAlgorithm kadane;
+    private MetricsServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        kadane = new KadaneAlgorithm();
+        server = new MetricsServer(0).register(kadane.getPerformanceTracker());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void testScrapeOverHttp() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            kadane.findMaximumSubarray(new int[]{-2, 1, -3, 4, -1, 2, 1, -5, 4});
+        }
+
+        HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getPort() + "/metrics").openConnection();
+        assertEquals(200, connection.getResponseCode());
+        assertTrue(connection.getContentType().startsWith("text/plain"));
+
+        String body;
+        try (InputStream in = connection.getInputStream()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        String labels = "algorithm=\"KadaneAlgorithm\",engine=\"standard\"";
+        assertTrue(body.contains("kadane_executions_total{" + labels + "} 10"));
+        assertTrue(body.contains("kadane_elements_processed_total{" + labels + "} 90"));
+        assertTrue(body.contains("kadane_execution_latency_seconds_count{" + labels + "} 10"));
+        assertTrue(body.contains("kadane_input_size_elements_bucket{" + labels + ",le=\"10\"} 10"));
+        assertTrue(body.contains("# TYPE kadane_execution_latency_seconds histogram"));
+    }
+
+    @Test
+    void testFamiliesAreContiguousAcrossTrackers() {
+        KadaneAlgorithm other = new KadaneAlgorithm(new PerformanceTracker("Other"));
+        server.register(other.getPerformanceTracker());
+        int[] nums = {3, -1, 2};
+        kadane.findMaximumSubarray(nums);
+        kadane.findMaximumSubarrayWithMetrics(nums);
+        other.findMaximumSubarray(nums);
+        other.findMaximumSubarrayWithMetrics(nums);
+
+        String body = server.scrape();
+        Set<String> seen = new HashSet<>();
+        String family = null;
+        for (String line : body.split("\n")) {
+            if (line.startsWith("# TYPE ")) {
+                family = line.split(" ")[2];
+                assertTrue(seen.add(family), "family " + family + " split across the scrape");
+            } else if (!line.startsWith("#")) {
+                String name = line.substring(0, line.indexOf(line.contains("{") ? '{' : ' '));
+                assertNotNull(family);
+                assertTrue(name.equals(family) || name.matches(family + "_(bucket|sum|count)"),
+                        name + " outside its family " + family);
+            }
+        }
+        assertTrue(seen.contains("kadane_execution_latency_quantile_seconds"));
+        assertTrue(body.contains("algorithm=\"Other\",engine=\"detailed\",q=\"0.99\""));
+        assertFalse(body.contains("quantile=\""));
+    }
+
+    @Test
+    void testRejectsDuplicateTrackerNames() {
+        PerformanceTracker sameName = new KadaneAlgorithm().getPerformanceTracker();
+        assertThrows(IllegalArgumentException.class, () -> server.register(sameName));
+    }
+
+    @Test
+    void testRejectsNonGet() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getPort() + "/metrics").openConnection();
+        connection.setRequestMethod("POST");
+        assertEquals(405, connection.getResponseCode());
+    }
+
+    @Test
+    void testHistogramQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram(new long[]{10, 20, 30, 40});
+        for (int i = 1; i <= 40; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(40, histogram.getCount());
+        assertEquals(820, histogram.getSum());
+        assertEquals(20.0, histogram.quantile(0.5), 1e-9);
+        assertEquals(36.0, histogram.quantile(0.9), 1e-9);
+    }
+}
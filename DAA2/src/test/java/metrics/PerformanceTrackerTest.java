@@ -0,0 +1,57 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded per-call record window
+ */
+class PerformanceTrackerTest {
+
+    @Test
+    void testKeepsMostRecentRecordsOldestFirst() {
+        PerformanceTracker tracker = new PerformanceTracker("test", 3);
+        for (int i = 1; i <= 5; i++) {
+            tracker.recordExecution(i, 100, 0, 0, -1, "case");
+        }
+
+        List<PerformanceTracker.PerformanceRecord> records = tracker.getRecords();
+        assertEquals(3, records.size());
+        assertEquals(3, records.get(0).inputSize);
+        assertEquals(4, records.get(1).inputSize);
+        assertEquals(5, records.get(2).inputSize);
+        assertEquals(5, tracker.getLiveMetrics().getEngineMetrics("case").executions.sum());
+    }
+
+    @Test
+    void testZeroCapacityFeedsOnlyLiveMetrics() {
+        PerformanceTracker tracker = new PerformanceTracker("test", 0);
+        tracker.recordExecution(10, 100, 0, 0, -1, "case");
+        tracker.recordExecution(20, 100, 0, 0, -1, "case");
+
+        assertTrue(tracker.getRecords().isEmpty());
+        assertEquals(2, tracker.getLiveMetrics().getEngineMetrics("case").executions.sum());
+        assertEquals(30, tracker.getLiveMetrics().getEngineMetrics("case").elements.sum());
+    }
+
+    @Test
+    void testClearEmptiesTheWindow() {
+        PerformanceTracker tracker = new PerformanceTracker("test", 2);
+        tracker.recordExecution(1, 100, 0, 0, -1, "case");
+        tracker.recordExecution(2, 100, 0, 0, -1, "case");
+        tracker.recordExecution(3, 100, 0, 0, -1, "case");
+        tracker.clear();
+        tracker.recordExecution(4, 100, 0, 0, -1, "case");
+
+        assertEquals(1, tracker.getRecords().size());
+        assertEquals(4, tracker.getRecords().get(0).inputSize);
+    }
+
+    @Test
+    void testRejectsNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new PerformanceTracker("test", -1));
+    }
+}
@@ -0,0 +1,62 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bandwidth probe and roofline classification
+ */
+class RooflineAnalysisTest {
+
+    @Test
+    void testProbeReportsPositiveBandwidth() throws InterruptedException {
+        assertTrue(BandwidthProbe.measureReadBandwidth(1 << 12, 20) > 0);
+        assertTrue(BandwidthProbe.measureParallelReadBandwidth(1 << 12, 2, 20) > 0);
+    }
+
+    @Test
+    void testRunProducesPointPerEngineAndSize() throws InterruptedException {
+        List<RooflineAnalysis.Point> points = new RooflineAnalysis(new int[]{1 << 10, 1 << 14}, 10, 2).run();
+
+        assertEquals(6, points.size());
+        for (RooflineAnalysis.Point point : points) {
+            assertTrue(point.achievedGBs > 0, point.toString());
+            assertTrue(point.peakGBs > 0, point.toString());
+            assertTrue(point.overheadNs > 0, point.toString());
+            assertTrue(Double.isFinite(point.fractionOfPeak()), point.toString());
+        }
+    }
+
+    @Test
+    void testBoundClassification() {
+        // 4096 bytes in 1000 ns = 4.096 GB/s
+        assertEquals("memory-bound", new RooflineAnalysis.Point("e", 1024, 1000, 4.5).bound());
+        assertEquals("mixed", new RooflineAnalysis.Point("e", 1024, 1000, 6.0).bound());
+        assertEquals("compute-bound", new RooflineAnalysis.Point("e", 1024, 1000, 20.0).bound());
+    }
+
+    @Test
+    void testPerCallOverheadIsNotCalledComputeBound() {
+        // half of the 1000 ns call is fixed cost, so the low GB/s is not a compute limit
+        RooflineAnalysis.Point point = new RooflineAnalysis.Point("e", 1024, 1000, 500, 20.0);
+        assertTrue(point.isOverheadDominated());
+        assertEquals("overhead-dominated", point.bound());
+        assertEquals("compute-bound", new RooflineAnalysis.Point("e", 1024, 1000, 100, 20.0).bound());
+    }
+
+    @Test
+    void testWorkingSetFormatting() {
+        assertEquals("4 KiB", RooflineAnalysis.workingSet(1 << 10));
+        assertEquals("64 MiB", RooflineAnalysis.workingSet(1 << 24));
+        assertEquals("40 B", RooflineAnalysis.workingSet(10));
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new RooflineAnalysis(new int[0], 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RooflineAnalysis(new int[]{16}, 0, 1));
+    }
+}
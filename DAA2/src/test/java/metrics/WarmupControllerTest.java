@@ -0,0 +1,88 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for steady-state warmup detection
+ */
+class WarmupControllerTest {
+
+    @Test
+    void testStopsOnceTimesAreStable() {
+        // JIT clock held still so only the window CV decides
+        WarmupController controller = new WarmupController(5, 1000, 5, 0.05, () -> 0L);
+        long[] times = {5000, 3000, 2000, 1200, 1000, 1000, 1000, 1000, 1000};
+        // window {1200, 1000 x4} at iteration 8 still has CV 0.077; all 1000 at 9
+        for (int i = 0; i < times.length - 1; i++) {
+            assertFalse(controller.record(times[i]), "stopped early at iteration " + (i + 1));
+        }
+        assertTrue(controller.record(times[times.length - 1]));
+
+        WarmupController.WarmupResult result = controller.finish();
+        assertTrue(result.steady);
+        assertEquals(9, result.iterations);
+        assertEquals(0.0, result.finalCv);
+        assertEquals(16_200, result.warmupTimeNs);
+        assertEquals(0, result.suspectedDeoptimizations);
+    }
+
+    @Test
+    void testCompilationInWindowDelaysSteadyState() {
+        // constant times settle at iteration 5, but JIT time ticks during iteration 3,
+        // so the window is not quiet again until 3 + 4
+        long[] calls = {0};
+        WarmupController controller = new WarmupController(5, 1000, 5, 0.05,
+                () -> calls[0]++ < 3 ? 0L : 5L);
+        int iterations = 0;
+        do {
+            iterations++;
+        } while (!controller.record(1000));
+
+        WarmupController.WarmupResult result = controller.finish();
+        assertTrue(result.steady);
+        assertEquals(7, iterations);
+        assertEquals(5, result.compilationMs);
+    }
+
+    @Test
+    void testGivesUpAtIterationCap() {
+        WarmupController controller = new WarmupController(0, 50, 5, 0.01);
+        int fed = 0;
+        while (!controller.record(fed % 2 == 0 ? 1000 : 3000)) {
+            fed++;
+        }
+        WarmupController.WarmupResult result = controller.finish();
+        assertFalse(result.steady);
+        assertEquals(50, result.iterations);
+        assertTrue(result.finalCv > 0.01);
+    }
+
+    @Test
+    void testRespectsMinimumIterations() {
+        WarmupController controller = new WarmupController(40, 100, 5, 0.5);
+        int fed = 0;
+        while (!controller.record(1000)) {
+            fed++;
+        }
+        assertTrue(controller.getIterations() >= 40);
+    }
+
+    @Test
+    void testBenchmarkRecordsWarmup() {
+        PerformanceTracker tracker = new PerformanceTracker("warmup");
+        tracker.runComprehensiveBenchmark(new int[]{2_000}, () -> new WarmupController(20, 300, 10, 0.2), 5);
+
+        PerformanceTracker.BenchmarkResult result = tracker.getBenchmarkResults().get(0);
+        assertNotNull(result.warmup);
+        assertTrue(result.warmup.iterations >= 20 && result.warmup.iterations <= 300);
+        assertTrue(result.warmup.suspectedDeoptimizations >= 0);
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new WarmupController(10, 5, 5, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> new WarmupController(1, 5, 1, 0.05));
+    }
+}
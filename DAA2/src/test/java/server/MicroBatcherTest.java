@@ -0,0 +1,64 @@
+package server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for request coalescing and queue bounds
+ */
+class MicroBatcherTest {
+    private final CountDownLatch working = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final MicroBatcher.Callback held = (pending, result, error) -> {
+        working.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    };
+    private MicroBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        batcher.stop();
+    }
+
+    @Test
+    void testQueueIsBoundedInElements() throws InterruptedException {
+        batcher = new MicroBatcher(1, 100, 10, 4096, 0);
+        batcher.start();
+        assertTrue(batcher.submit(new MicroBatcher.Pending(1, new int[4], held)));
+        assertTrue(working.await(5, TimeUnit.SECONDS));
+        assertEquals(0, batcher.getQueuedElements());
+
+        assertTrue(batcher.submit(new MicroBatcher.Pending(2, new int[6], held)));
+        assertTrue(batcher.submit(new MicroBatcher.Pending(3, new int[4], held)));
+        // request slots remain, but one more int would exceed the element bound
+        assertFalse(batcher.submit(new MicroBatcher.Pending(4, new int[1], held)));
+        assertTrue(batcher.submit(new MicroBatcher.Pending(5, new int[0], held)));
+        assertEquals(10, batcher.getQueuedElements());
+        assertEquals(3, batcher.getQueueDepth());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batcher.getQueuedElements() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, batcher.getQueuedElements());
+        assertTrue(batcher.submit(new MicroBatcher.Pending(6, new int[10], held)));
+    }
+
+    @Test
+    void testRejectsWhenNotRunning() {
+        batcher = new MicroBatcher(1, 4, 100, 4096, 0);
+        assertFalse(batcher.submit(new MicroBatcher.Pending(1, new int[1], held)));
+        assertEquals(0, batcher.getQueuedElements());
+    }
+}
@@ -0,0 +1,102 @@
+package server;
+
+import models.SubarrayResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end tests for the batching compute server on localhost
+ */
+class SubarrayServerTest {
+    private SubarrayServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new SubarrayServer(0, 2, 16, 64, 1 << 22, 4096, TimeUnit.MILLISECONDS.toNanos(1), 1 << 20);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void testSingleRequest() throws IOException {
+        try (SubarrayClient client = new SubarrayClient("127.0.0.1", server.getPort())) {
+            SubarrayResult result = client.compute(new int[]{-2, 1, -3, 4, -1, 2, 1, -5, 4});
+
+            assertEquals(6, result.getMaxSum());
+            assertEquals(3, result.getStartIndex());
+            assertEquals(6, result.getEndIndex());
+            assertTrue(result.getComparisons() > 0);
+        }
+    }
+
+    @Test
+    void testEmptyArray() throws IOException {
+        try (SubarrayClient client = new SubarrayClient("127.0.0.1", server.getPort())) {
+            assertTrue(client.compute(new int[0]).isEmptySubarray());
+        }
+    }
+
+    @Test
+    void testConcurrentLoadIsBatched() throws InterruptedException {
+        LoadGenerator.LoadResult result = new LoadGenerator("127.0.0.1", server.getPort(), 8, 200, 32).run();
+
+        assertEquals(0, result.errors);
+        assertEquals(8 * 200, result.completed + result.rejected);
+        assertTrue(result.completed > 0);
+        // eight clients against a 1 ms window: some batches must hold several requests
+        assertTrue(server.getBatcher().getBatchCount() < server.getBatcher().getBatchedRequestCount(),
+                server.getBatcher().getBatchCount() + " batches for "
+                        + server.getBatcher().getBatchedRequestCount() + " requests");
+        assertEquals(result.completed, server.getBatcher().getTracker().getLiveMetrics()
+                .getEngineMetrics("standard").executions.sum());
+    }
+
+    @Test
+    void testFullQueueAnswersBusy() throws Exception {
+        server.stop();
+        // one worker and a single queue slot
+        server = new SubarrayServer(0, 1, 16, 1, 64, 4096, 0, 64);
+        server.start();
+        MicroBatcher batcher = server.getBatcher();
+        CountDownLatch working = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MicroBatcher.Callback held = (pending, result, error) -> {
+            working.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        try (SubarrayClient client = new SubarrayClient("127.0.0.1", server.getPort())) {
+            try {
+                assertTrue(batcher.submit(new MicroBatcher.Pending(1, new int[]{1}, held)));
+                assertTrue(working.await(5, TimeUnit.SECONDS));
+                // the worker is held, so this request occupies the only slot
+                assertTrue(batcher.submit(new MicroBatcher.Pending(2, new int[]{2}, held)));
+
+                assertThrows(RejectedExecutionException.class, () -> client.compute(new int[]{3, -1, 4}));
+            } finally {
+                release.countDown();
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (batcher.getQueueDepth() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(6, client.compute(new int[]{3, -1, 4}).getMaxSum());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the append-only benchmark history store
+ */
+class BenchmarkHistoryTest {
+    @TempDir
+    Path dir;
+
+    private static BenchmarkHistory.Run run(String commit, String engine, int size, double meanNs) {
+        return new BenchmarkHistory.Run(1_700_000_000_000L, commit, engine, "random", size, 100,
+                meanNs, meanNs / 10, meanNs / 50, meanNs * 0.9, -1);
+    }
+
+    @Test
+    void testRunsSurviveReopenWithIndexes() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            history.append(run("abc123", "standard", 1000, 900));
+            history.append(run("abc123", "offheap", 1000, 1200));
+            history.append(run("def456", "standard", 1000, 800));
+        }
+
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            assertEquals(3, history.size());
+            assertEquals(List.of("standard/random/n=1000", "offheap/random/n=1000"), history.series());
+            assertEquals(2, history.query("standard", 1000, "random").size());
+            assertEquals(2, history.byCommit("abc123").size());
+            assertTrue(history.byCommit("none").isEmpty());
+
+            BenchmarkHistory.Run reloaded = history.query("offheap", 1000, "random").get(0);
+            assertEquals(1200, reloaded.meanNs);
+            assertEquals(24, reloaded.ciHalfWidthNs);
+            assertEquals(1_700_000_000_000L, reloaded.timestamp);
+            assertEquals("abc123", reloaded.commit);
+        }
+    }
+
+    @Test
+    void testBestWorstAndTrend() throws IOException {
+        try (BenchmarkHistory history = BenchmarkHistory.open(dir.resolve("history.bin"))) {
+            double[] means = {100, 110, 120, 130, 140};
+            for (double mean : means) {
+                history.append(run("c", "standard", 500, mean));
+            }
+            history.append(run("c", "rle", 500, 50));
+            String series = "standard/random/n=500";
+
+            assertEquals(100, history.best(series, 2).get(0).meanNs);
+            assertEquals(140, history.worst(series, 1).get(0).meanNs);
+            assertEquals(3, history.lastRuns(series, 3).size());
+            assertEquals(120, history.lastRuns(series, 3).get(0).meanNs);
+
+            BenchmarkHistory.Trend trend = history.trend(series, 5);
+            assertEquals(10, trend.slopeNsPerRun, 1e-9);
+            assertEquals(0.4, trend.relativeDrift, 1e-9);
+
+            List<BenchmarkHistory.Trend> drift = history.drift(5);
+            assertEquals(series, drift.get(0).series);
+            assertEquals(0, drift.get(1).relativeDrift);
+        }
+    }
+
+    @Test
+    void testTornTailIsTruncated() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            history.append(run("c", "standard", 10, 1));
+            history.append(run("c", "standard", 10, 2));
+        }
+        long intact = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(intact - 3);
+        }
+
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            assertEquals(1, history.size());
+            history.append(run("c", "standard", 10, 3));
+        }
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            assertEquals(2, history.size());
+            assertEquals(3, history.runs().get(1).meanNs);
+        }
+    }
+
+    @Test
+    void testCorruptRecordMidFileKeepsLaterRuns() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            for (int i = 1; i <= 3; i++) {
+                history.append(run("c", "standard", 10, i));
+            }
+        }
+        long intact = Files.size(file);
+        int recordBytes = (int) (intact - BenchmarkHistory.FILE_HEADER_BYTES) / 3;
+        // flip one payload bit in the middle record
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[BenchmarkHistory.FILE_HEADER_BYTES + recordBytes + 12] ^= 0x10;
+        Files.write(file, bytes);
+
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            assertEquals(2, history.size());
+            assertEquals(1, history.runs().get(0).meanNs);
+            assertEquals(3, history.runs().get(1).meanNs);
+            assertEquals(recordBytes, history.skippedBytes());
+        }
+        assertEquals(intact, Files.size(file));
+    }
+
+    @Test
+    void testResyncSkipsLargeCorruptRegion() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            for (int i = 1; i <= 3; i++) {
+                history.append(run("c", "standard", 10, i));
+            }
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int recordBytes = (bytes.length - BenchmarkHistory.FILE_HEADER_BYTES) / 3;
+        int split = BenchmarkHistory.FILE_HEADER_BYTES + recordBytes;
+        // plausible length fields at every fourth offset, strings that never add up
+        ByteBuffer garbage = ByteBuffer.allocate(1 << 18).order(ByteOrder.LITTLE_ENDIAN);
+        while (garbage.hasRemaining()) {
+            garbage.putInt(1000);
+        }
+        ByteBuffer corrupted = ByteBuffer.allocate(bytes.length + garbage.capacity());
+        corrupted.put(bytes, 0, split).put(garbage.array()).put(bytes, split, bytes.length - split);
+        Files.write(file, corrupted.array());
+
+        try (BenchmarkHistory history = BenchmarkHistory.openReadOnly(file)) {
+            assertEquals(3, history.size());
+            assertEquals(garbage.capacity(), history.skippedBytes());
+        }
+    }
+
+    @Test
+    void testReadOnlyLeavesFileUntouched() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            history.append(run("c", "standard", 10, 1));
+            history.append(run("c", "standard", 10, 2));
+        }
+        long torn = Files.size(file) - 3;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(torn);
+        }
+
+        try (BenchmarkHistory history = BenchmarkHistory.openReadOnly(file)) {
+            assertEquals(1, history.size());
+            assertThrows(IllegalStateException.class, () -> history.append(run("c", "standard", 10, 3)));
+        }
+        assertEquals(torn, Files.size(file));
+        assertThrows(IOException.class, () -> BenchmarkHistory.openReadOnly(dir.resolve("missing.bin")));
+    }
+
+    @Test
+    void testInterleavedAppendersDoNotOverwrite() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (BenchmarkHistory first = BenchmarkHistory.open(file);
+             BenchmarkHistory second = BenchmarkHistory.open(file)) {
+            first.append(run("c", "standard", 10, 1));
+            second.append(run("c", "standard", 10, 2));
+            first.append(run("c", "standard", 10, 3));
+        }
+
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            assertEquals(3, history.size());
+            assertEquals(2, history.runs().get(1).meanNs);
+        }
+    }
+
+    @Test
+    void testRejectsForeignFile() throws IOException {
+        Path file = dir.resolve("other.bin");
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> BenchmarkHistory.open(file));
+    }
+
+    @Test
+    void testLoadsThousandsOfRunsQuickly() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            for (int i = 0; i < 5_000; i++) {
+                history.append(run("c" + (i / 100), "engine" + (i % 5), 1 << (i % 10), i));
+            }
+        }
+        // warm the decode path once, then time a cold open
+        BenchmarkHistory.open(file).close();
+        long start = System.nanoTime();
+        try (BenchmarkHistory history = BenchmarkHistory.open(file)) {
+            assertEquals(5_000, history.size());
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMs < 500, "load took " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,159 @@
+package storage;
+
+import algorithms.KadaneAlgorithm;
+import algorithms.ThresholdKadane;
+import models.LongSubarrayResult;
+import models.SubarrayResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bulk IntSource implementations and the engines that consume them
+ */
+class IntSourceTest {
+    @TempDir
+    Path dir;
+
+    private static int[] randomArray(int n, long seed) {
+        Random random = new Random(seed);
+        int[] nums = new int[n];
+        for (int i = 0; i < n; i++) {
+            nums[i] = random.nextInt(2001) - 1000;
+        }
+        return nums;
+    }
+
+    private static byte[] littleEndian(int[] nums) {
+        ByteBuffer bytes = ByteBuffer.allocate(nums.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asIntBuffer().put(nums);
+        return bytes.array();
+    }
+
+    private static int[] drain(IntSource source, int chunk) throws IOException {
+        int[] out = new int[0];
+        int[] buffer = new int[chunk];
+        int count;
+        while ((count = source.read(buffer, 0, chunk)) > 0) {
+            int[] grown = java.util.Arrays.copyOf(out, out.length + count);
+            System.arraycopy(buffer, 0, grown, out.length, count);
+            out = grown;
+        }
+        return out;
+    }
+
+    /** Returns at most 5 bytes per read, splitting values across reads */
+    private static InputStream trickle(byte[] bytes) {
+        return new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 5));
+            }
+        };
+    }
+
+    @Test
+    void testEverySourceYieldsTheSameValues() throws IOException {
+        int[] nums = randomArray(10_000, 50);
+        Path file = dir.resolve("values.bin");
+        Files.write(file, littleEndian(nums));
+
+        assertArrayEquals(nums, drain(new ArrayIntSource(nums), 777));
+        assertArrayEquals(nums, drain(new BufferIntSource(IntBuffer.wrap(nums)), 777));
+        assertArrayEquals(nums, drain(BufferIntSource.map(file), 4096));
+        assertArrayEquals(nums, drain(new StreamIntSource(trickle(littleEndian(nums))), 333));
+        assertArrayEquals(nums, drain(new GeneratedIntSource(nums.length, i -> nums[(int) i]), 1000));
+    }
+
+    @Test
+    void testBigEndianStreamAndRemaining() throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(12).order(ByteOrder.BIG_ENDIAN);
+        bytes.putInt(1).putInt(-2).putInt(3);
+        assertArrayEquals(new int[]{1, -2, 3},
+                drain(new StreamIntSource(new ByteArrayInputStream(bytes.array()), ByteOrder.BIG_ENDIAN), 2));
+
+        ArrayIntSource source = new ArrayIntSource(new int[]{1, 2, 3, 4, 5}, 1, 4);
+        assertEquals(3, source.remaining());
+        assertEquals(2, source.read(new int[2], 0, 2));
+        assertEquals(1, source.remaining());
+        assertEquals(-1, new GeneratedIntSource(0, i -> 0).read(new int[1], 0, 1));
+    }
+
+    @Test
+    void testTruncatedStreamFails() {
+        StreamIntSource source = new StreamIntSource(new ByteArrayInputStream(new byte[]{1, 0, 0, 0, 2, 0}));
+        assertThrows(EOFException.class, () -> drain(source, 16));
+    }
+
+    @Test
+    void testKadaneOverSourcesMatchesArrayScan() throws IOException {
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        for (int n : new int[]{0, 1, 4095, 4096, 4097, 50_000}) {
+            int[] nums = randomArray(n, n);
+            SubarrayResult expected = kadane.findMaximumSubarray(nums);
+
+            LongSubarrayResult fromStream = kadane.findMaximumSubarrayFrom(new StreamIntSource(trickle(littleEndian(nums))));
+            LongSubarrayResult fromGenerator = kadane.findMaximumSubarrayFrom(
+                    new GeneratedIntSource(n, i -> nums[(int) i]));
+
+            for (LongSubarrayResult actual : new LongSubarrayResult[]{fromStream, fromGenerator}) {
+                assertEquals(expected.getMaxSum(), actual.getMaxSum(), "n=" + n);
+                assertEquals(expected.getStartIndex(), actual.getStartIndex(), "n=" + n);
+                assertEquals(expected.getEndIndex(), actual.getEndIndex(), "n=" + n);
+            }
+        }
+    }
+
+    @Test
+    void testSourceScanRecordsComparisons() throws IOException {
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        kadane.findMaximumSubarrayFrom(new GeneratedIntSource(10_000, i -> (int) (i % 7) - 3));
+
+        assertEquals(30_000, kadane.getLastComparisons());
+        assertEquals(10_000, kadane.getLastArrayAccesses());
+        assertEquals(30_000, kadane.getPerformanceTracker().getRecords().get(0).comparisons);
+    }
+
+    @Test
+    void testAllowEmptyOverSourceMatchesArrayScan() throws IOException {
+        KadaneAlgorithm kadane = new KadaneAlgorithm();
+        int[][] inputs = {{}, {-3, -1, -2}, {0, 1}, {1, -1, 1}, {0, 0, 0}, randomArray(10_000, 7)};
+        for (int[] nums : inputs) {
+            SubarrayResult expected = kadane.findMaximumSubarrayAllowEmpty(nums);
+            LongSubarrayResult actual = kadane.findMaximumSubarrayAllowEmptyFrom(
+                    new StreamIntSource(trickle(littleEndian(nums))));
+
+            String input = "n=" + nums.length;
+            assertEquals(expected.getMaxSum(), actual.getMaxSum(), input);
+            assertEquals(expected.getStartIndex(), actual.getStartIndex(), input);
+            assertEquals(expected.getEndIndex(), actual.getEndIndex(), input);
+            assertEquals(expected.getComparisons(), kadane.getLastComparisons(), input);
+        }
+    }
+
+    @Test
+    void testThresholdStopsReadingAtAnswer() throws IOException {
+        long[] generated = {0};
+        GeneratedIntSource source = new GeneratedIntSource(1L << 40, i -> {
+            generated[0]++;
+            return i == 100_000 ? 500 : 0;
+        });
+
+        LongSubarrayResult result = new ThresholdKadane().findSegmentAtLeastFrom(source, 500);
+
+        assertEquals(100_000, result.getEndIndex());
+        assertTrue(generated[0] < 100_000 + 2 * 4096, "read " + generated[0]);
+    }
+}